@@ -0,0 +1,107 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures the heap usage of a benchmark run.
+ * <p>
+ * The allocated bytes of all threads are sampled periodically, so that the
+ * allocations of worker threads that terminate during the run are counted up
+ * to their last sample. The peak heap is the sum of the peaks of the heap
+ * memory pools. Both values are approximations.
+ */
+public final class AllocationSampler implements AutoCloseable {
+
+    private static final long PERIOD_MILLIS = 20;
+
+    private final com.sun.management.ThreadMXBean threads = //
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Map<Long, Long> start = new HashMap<>();
+    private final Map<Long, Long> latest = new HashMap<>();
+    private final Thread sampler;
+    private volatile boolean running = true;
+
+    /**
+     * Starts sampling.
+     * <p>
+     * The peak usage of the heap pools is reset.
+     */
+    public AllocationSampler() {
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        sample(start);
+        sampler = new Thread(this::run, "allocation-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    private void run() {
+        while (running) {
+            sample(latest);
+            try {
+                Thread.sleep(PERIOD_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private synchronized void sample(Map<Long, Long> samples) {
+        var ids = threads.getAllThreadIds();
+        var bytes = threads.getThreadAllocatedBytes(ids);
+        for (int n = 0; n < ids.length; n++) {
+            if (bytes[n] >= 0) {
+                samples.put(ids[n], bytes[n]);
+            }
+        }
+    }
+
+    /**
+     * Returns the bytes allocated since the sampler was started.
+     *
+     * @return allocated bytes
+     */
+    public synchronized long allocatedBytes() {
+        sample(latest);
+        return latest.entrySet().stream() //
+                .mapToLong(e -> e.getValue() - start.getOrDefault(e.getKey(), 0L)) //
+                .sum();
+    }
+
+    /**
+     * Returns the peak heap usage since the sampler was started.
+     *
+     * @return peak heap usage in bytes
+     */
+    public long peakHeapBytes() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream() //
+                .filter(pool -> pool.getType() == MemoryType.HEAP) //
+                .mapToLong(pool -> pool.getPeakUsage().getUsed()) //
+                .sum();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        sampler.interrupt();
+    }
+}
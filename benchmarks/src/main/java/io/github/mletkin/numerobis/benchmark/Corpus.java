@@ -0,0 +1,138 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic source tree for the scaling benchmark.
+ * <p>
+ * The files are spread over packages of {@value #FILES_PER_PACKAGE} files. The
+ * kinds of product cycle through records, classes with list and set fields,
+ * classes with accessors and classes without any generator annotation. The
+ * unannotated classes don't import the annotations, so the prefilter skips them
+ * without parsing.
+ */
+public final class Corpus {
+
+    /**
+     * Number of files in each package.
+     */
+    public static final int FILES_PER_PACKAGE = 100;
+
+    private static final int KINDS = 4;
+
+    private Corpus() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Writes a source tree.
+     *
+     * @param  root       source root to write to
+     * @param  fileCount  number of java files
+     * @param  firstIndex number of the first file, makes the names unique
+     * @return            the source root
+     */
+    public static Path write(Path root, int fileCount, int firstIndex) {
+        try {
+            for (int n = firstIndex; n < firstIndex + fileCount; n++) {
+                var packageName = String.format("corpus.p%04d", n / FILES_PER_PACKAGE);
+                var className = "Product" + n;
+                var directory = root.resolve(packageName.replace('.', '/'));
+                Files.createDirectories(directory);
+                Files.writeString(directory.resolve(className + ".java"), source(packageName, className, n % KINDS));
+            }
+            return root;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes a source tree.
+     *
+     * @param root root directory of the tree
+     */
+    public static void delete(Path root) {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(Corpus::delete0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete0(Path path) {
+        try {
+            Files.delete(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String source(String packageName, String className, int kind) {
+        var header = "package " + packageName + ";\n\n" //
+                + "import java.util.ArrayList;\n" //
+                + "import java.util.HashSet;\n" //
+                + "import java.util.List;\n" //
+                + "import java.util.Set;\n\n";
+        if (kind < KINDS - 1) {
+            header += "import io.github.mletkin.numerobis.annotation.GenerateAccessors;\n" //
+                    + "import io.github.mletkin.numerobis.annotation.GenerateBuilder;\n\n";
+        }
+        switch (kind) {
+        case 0:
+            return header //
+                    + "@GenerateBuilder\n" //
+                    + "public record " + className + "(String name, int count, List<String> tags) {\n" //
+                    + "}\n";
+        case 1:
+            return header //
+                    + "@GenerateBuilder\n" //
+                    + "public class " + className + " {\n" //
+                    + "    String name;\n" //
+                    + "    long id;\n" //
+                    + "    List<String> lines = new ArrayList<>();\n" //
+                    + "    Set<Integer> codes = new HashSet<>();\n" //
+                    + "}\n";
+        case 2:
+            return header //
+                    + "@GenerateBuilder\n" //
+                    + "@GenerateAccessors\n" //
+                    + "public class " + className + " {\n" //
+                    + "    String name;\n" //
+                    + "    boolean active;\n" //
+                    + "    List<Long> values = new ArrayList<>();\n" //
+                    + "}\n";
+        default:
+            return header //
+                    + "public class " + className + " {\n" //
+                    + "    private String name;\n\n" //
+                    + "    public String name() {\n" //
+                    + "        return name;\n" //
+                    + "    }\n" //
+                    + "}\n";
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+import io.github.mletkin.numerobis.generator.BuilderGenerator;
+import io.github.mletkin.numerobis.plugin.Naming;
+
+/**
+ * Measures the generation of mutator and adder methods depending on the number
+ * of product fields.
+ * <p>
+ * Every invocation works on a fresh copy of the product, the generator only
+ * adds missing methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratorBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int fieldCount;
+
+    private CompilationUnit product;
+    private BuilderGenerator generator;
+
+    @Setup
+    public void parse() {
+        product = Products.unit(fieldCount);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        generator = new BuilderGenerator(product.clone(), Products.PRODUCT) //
+                .withNamingSettings(Naming.DEFAULT) //
+                .withInternalBuilder() //
+                .addProductField();
+    }
+
+    @Benchmark
+    public BuilderGenerator addMutator() {
+        return generator.addMutator(Products.MUTATOR_VARIANTS);
+    }
+
+    @Benchmark
+    public BuilderGenerator addAdder() {
+        return generator.addAdder(Products.ADDER_VARIANTS);
+    }
+}
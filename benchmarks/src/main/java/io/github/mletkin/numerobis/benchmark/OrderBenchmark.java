@@ -0,0 +1,74 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.benchmark;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.javaparser.JavaParser;
+
+import io.github.mletkin.numerobis.plugin.Naming;
+import io.github.mletkin.numerobis.plugin.Order;
+import io.github.mletkin.numerobis.plugin.ParseCache;
+
+/**
+ * Measures the creation of an {@link Order}, which includes parsing the product
+ * file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int fieldCount;
+
+    private Path file;
+    private JavaParser parser;
+    private ParseCache parseCache;
+
+    @Setup
+    public void setup() {
+        file = Products.file(fieldCount);
+        parser = new JavaParser();
+        parseCache = ParseCache.shared(256L * 1024 * 1024);
+    }
+
+    @Benchmark
+    public Order parse() {
+        return new Order(parser, ParseCache.disabled(), file, Naming.DEFAULT, true, true, false);
+    }
+
+    @Benchmark
+    public Order parseCached() {
+        return new Order(parser, parseCache, file, Naming.DEFAULT, true, true, false);
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+
+import io.github.mletkin.numerobis.plugin.PreservingPrinter;
+
+/**
+ * Measures printing a product with a generated builder, the part of writing a
+ * unit that does not depend on the file system.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrintBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int fieldCount;
+
+    private CompilationUnit unit;
+
+    @Setup
+    public void generate() {
+        var source = Products.source(fieldCount);
+        unit = StaticJavaParser.parse(source);
+        PreservingPrinter.attachSource(unit, source);
+        Products.addBuilder(unit);
+    }
+
+    @Benchmark
+    public String pretty() {
+        return unit.toString();
+    }
+
+    @Benchmark
+    public String preserving() {
+        return PreservingPrinter.print(unit);
+    }
+}
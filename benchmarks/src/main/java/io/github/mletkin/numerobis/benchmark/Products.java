@@ -0,0 +1,154 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+
+import io.github.mletkin.numerobis.generator.BuilderGenerator;
+import io.github.mletkin.numerobis.generator.ListMutatorVariant;
+import io.github.mletkin.numerobis.plugin.Naming;
+
+/**
+ * Synthetic product classes for the benchmarks.
+ * <p>
+ * The fields cycle through primitive, object, list and set types, so that
+ * mutators and adders of all kinds are generated.
+ */
+public final class Products {
+
+    /**
+     * Name of the product class.
+     */
+    public static final String PRODUCT = "Product";
+
+    /**
+     * The variants used for list mutators.
+     */
+    public static final ListMutatorVariant[] MUTATOR_VARIANTS = { //
+            ListMutatorVariant.OBJECT, //
+            ListMutatorVariant.VARARG, //
+            ListMutatorVariant.STREAM, //
+            ListMutatorVariant.COLLECTION };
+
+    /**
+     * The variants used for adders.
+     */
+    public static final ListMutatorVariant[] ADDER_VARIANTS = { //
+            ListMutatorVariant.VARARG, //
+            ListMutatorVariant.ITEM, //
+            ListMutatorVariant.STREAM, //
+            ListMutatorVariant.COLLECTION };
+
+    private static final String[] TYPES = { "int", "String", "List<String>", "Set<Integer>" };
+
+    private Products() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Creates the source of a product class.
+     *
+     * @param  fieldCount number of fields of the product
+     * @return            the java source
+     */
+    public static String source(int fieldCount) {
+        var source = new StringBuilder() //
+                .append("package bench;\n\n") //
+                .append("import java.util.ArrayList;\n") //
+                .append("import java.util.HashSet;\n") //
+                .append("import java.util.List;\n") //
+                .append("import java.util.Set;\n\n") //
+                .append("import io.github.mletkin.numerobis.annotation.GenerateBuilder;\n\n") //
+                .append("@GenerateBuilder\n") //
+                .append("public class ").append(PRODUCT).append(" {\n");
+        for (int n = 0; n < fieldCount; n++) {
+            var type = TYPES[n % TYPES.length];
+            source.append("\n    /** field number ").append(n).append(" */\n") //
+                    .append("    ").append(type).append(" field").append(n) //
+                    .append(initializer(type)).append(";\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private static String initializer(String type) {
+        if (type.startsWith("List")) {
+            return " = new ArrayList<>()";
+        }
+        return type.startsWith("Set") ? " = new HashSet<>()" : "";
+    }
+
+    /**
+     * Parses a product class.
+     *
+     * @param  fieldCount number of fields of the product
+     * @return            the compilation unit
+     */
+    public static CompilationUnit unit(int fieldCount) {
+        return StaticJavaParser.parse(source(fieldCount));
+    }
+
+    /**
+     * Parses a product class and adds an embedded builder.
+     *
+     * @param  fieldCount number of fields of the product
+     * @return            the compilation unit with product and builder
+     */
+    public static CompilationUnit withBuilder(int fieldCount) {
+        return addBuilder(unit(fieldCount));
+    }
+
+    /**
+     * Adds an embedded builder to a product class.
+     *
+     * @param  unit compilation unit with the product class
+     * @return      the compilation unit with product and builder
+     */
+    public static CompilationUnit addBuilder(CompilationUnit unit) {
+        new BuilderGenerator(unit, PRODUCT) //
+                .withNamingSettings(Naming.DEFAULT) //
+                .withInternalBuilder() //
+                .addProductField() //
+                .addFactoryMethods() //
+                .addMutator(MUTATOR_VARIANTS) //
+                .addAdder(ADDER_VARIANTS) //
+                .addBuildMethod();
+        return unit;
+    }
+
+    /**
+     * Writes the source of a product class to a temporary directory.
+     *
+     * @param  fieldCount number of fields of the product
+     * @return            the java file
+     */
+    public static Path file(int fieldCount) {
+        try {
+            var directory = Files.createTempDirectory("numerobis");
+            directory.toFile().deleteOnExit();
+            var file = Files.writeString(directory.resolve(PRODUCT + ".java"), source(fieldCount));
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.benchmark;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+
+import io.github.mletkin.numerobis.annotation.GenerateAdder;
+import io.github.mletkin.numerobis.annotation.GenerateListMutator;
+import io.github.mletkin.numerobis.plugin.BuilderMojo;
+import io.github.mletkin.numerobis.plugin.Naming;
+
+/**
+ * Runs the mojo over synthetic source trees of growing size.
+ * <p>
+ * Half of each tree is processed with embedded, the other half with separate
+ * builders. For every size the throughput, the peak heap and the allocated
+ * bytes are reported. Constant time and allocation per file show linear
+ * scaling.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * java -cp benchmarks.jar io.github.mletkin.numerobis.benchmark.ScalingBenchmark [options] [sizes]
+ * </pre>
+ *
+ * The sizes default to 1000, 10000 and 50000 files. Options:
+ * <ul>
+ * <li>{@code --parallelism=n} worker threads of the mojo, default 1
+ * <li>{@code --warmup=n} files of an unreported run to warm up the JIT, default
+ * 1000
+ * <li>{@code --directory=path} where the trees are written, default a temporary
+ * directory
+ * <li>{@code --budget-ms-per-file=x} maximal milliseconds per file
+ * <li>{@code --budget-kb-per-file=x} maximal allocated kilobytes per file
+ * <li>{@code --budget-heap-mb=x} maximal peak heap in megabytes
+ * </ul>
+ * The exit code is 1 if a budget is exceeded.
+ */
+public final class ScalingBenchmark {
+
+    private static final int MB = 1024 * 1024;
+
+    private final List<Integer> sizes = new ArrayList<>();
+    private int parallelism = 1;
+    private int warmup = 1000;
+    private Path directory;
+    private double budgetMillisPerFile = Double.MAX_VALUE;
+    private double budgetKbPerFile = Double.MAX_VALUE;
+    private double budgetHeapMb = Double.MAX_VALUE;
+
+    private ScalingBenchmark(String[] args) throws IOException {
+        for (var arg : args) {
+            if (arg.startsWith("--parallelism=")) {
+                parallelism = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--directory=")) {
+                directory = Path.of(value(arg));
+            } else if (arg.startsWith("--budget-ms-per-file=")) {
+                budgetMillisPerFile = Double.parseDouble(value(arg));
+            } else if (arg.startsWith("--budget-kb-per-file=")) {
+                budgetKbPerFile = Double.parseDouble(value(arg));
+            } else if (arg.startsWith("--budget-heap-mb=")) {
+                budgetHeapMb = Double.parseDouble(value(arg));
+            } else {
+                Stream.of(arg.split(",")).map(Integer::valueOf).forEach(sizes::add);
+            }
+        }
+        if (sizes.isEmpty()) {
+            sizes.addAll(List.of(1000, 10000, 50000));
+        }
+        if (directory == null) {
+            directory = Files.createTempDirectory("numerobis-scaling");
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new ScalingBenchmark(args).run() ? 0 : 1);
+    }
+
+    /**
+     * Runs the benchmark for all sizes.
+     *
+     * @return {@code true} if all budgets are met
+     */
+    private boolean run() throws MojoExecutionException, MojoFailureException {
+        if (warmup > 0) {
+            measure(warmup);
+        }
+        System.out.println(String.format("%8s %10s %10s %10s %12s %12s %12s", //
+                "files", "seconds", "files/s", "ms/file", "peak heap MB", "alloc MB", "alloc KB/file"));
+        var withinBudget = true;
+        for (var size : sizes) {
+            withinBudget &= run(size);
+        }
+        return withinBudget;
+    }
+
+    private boolean run(int size) throws MojoExecutionException, MojoFailureException {
+        var result = measure(size);
+        var millisPerFile = result.seconds() * 1000 / size;
+        var kbPerFile = result.allocatedBytes() / 1024.0 / size;
+        var heapMb = result.peakHeapBytes() / (double) MB;
+        System.out.println(String.format("%8d %10.2f %10.0f %10.3f %12.0f %12.0f %12.1f", //
+                size, result.seconds(), size / result.seconds(), millisPerFile, heapMb,
+                result.allocatedBytes() / (double) MB, kbPerFile));
+        return check("ms per file", millisPerFile, budgetMillisPerFile) //
+                & check("allocated KB per file", kbPerFile, budgetKbPerFile) //
+                & check("peak heap MB", heapMb, budgetHeapMb);
+    }
+
+    /**
+     * Writes a source tree, processes it and deletes it.
+     *
+     * @param  size number of files
+     * @return      the measured values
+     */
+    private Result measure(int size) throws MojoExecutionException, MojoFailureException {
+        var root = directory.resolve("corpus-" + size);
+        Corpus.delete(root);
+        var embedded = Corpus.write(root.resolve("embedded"), size / 2, 0);
+        var separate = Corpus.write(root.resolve("separate"), size - size / 2, size / 2);
+        System.gc();
+
+        var start = System.nanoTime();
+        long allocated;
+        long peakHeap;
+        try (var sampler = new AllocationSampler()) {
+            mojo(root, embedded, "EMBEDDED").execute();
+            mojo(root, separate, "SEPARATE").execute();
+            allocated = sampler.allocatedBytes();
+            peakHeap = sampler.peakHeapBytes();
+        }
+        var seconds = (System.nanoTime() - start) / 1e9;
+        Corpus.delete(root);
+        return new Result(seconds, allocated, peakHeap);
+    }
+
+    private static boolean check(String name, double value, double budget) {
+        if (value <= budget) {
+            return true;
+        }
+        System.out.println(String.format("budget exceeded: %s %.3f > %.3f", name, value, budget));
+        return false;
+    }
+
+    /**
+     * Creates a mojo configured as maven would do.
+     *
+     * @param  root       build directory
+     * @param  sourceRoot directory with the java files
+     * @param  location   builder location
+     * @return            the configured mojo
+     */
+    private BuilderMojo mojo(Path root, Path sourceRoot, String location) {
+        var mojo = new BuilderMojo();
+        mojo.setLog(new QuietLog());
+        set(mojo, "compileSourceRoots", List.of(sourceRoot.toString()));
+        set(mojo, "classpathElements", List.of());
+        set(mojo, "builderCreation", "FACTORY");
+        set(mojo, "builderLocation", location);
+        set(mojo, "productsAreMutable", false);
+        set(mojo, "javaVersion", LanguageLevel.JAVA_17);
+        set(mojo, "naming", Naming.DEFAULT);
+        set(mojo, "listAdderVariants", List.of(GenerateAdder.Variant.ITEM, GenerateAdder.Variant.VARARG));
+        set(mojo, "listMutatorVariants",
+                List.of(GenerateListMutator.Variant.OBJECT, GenerateListMutator.Variant.STREAM));
+        set(mojo, "outputMode", "PRETTY");
+        set(mojo, "parallelism", parallelism);
+        set(mojo, "incremental", false);
+        set(mojo, "parseCacheSize", 0);
+        set(mojo, "buildDirectory", root.resolve("target").toFile());
+        set(mojo, "pluginVersion", "benchmark");
+        return mojo;
+    }
+
+    /**
+     * Sets a parameter field, strings are converted for enum fields.
+     *
+     * @param mojo  the mojo to configure
+     * @param name  name of the parameter field
+     * @param value value of the parameter
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void set(BuilderMojo mojo, String name, Object value) {
+        try {
+            Field field = field(mojo.getClass(), name);
+            field.setAccessible(true);
+            if (field.getType().isEnum() && value instanceof String) {
+                value = Enum.valueOf((Class<? extends Enum>) field.getType(), (String) value);
+            }
+            field.set(mojo, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("mojo parameter " + name, e);
+        }
+    }
+
+    private static Field field(Class<?> type, String name) throws NoSuchFieldException {
+        for (var c = type; c != null; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                // look in the super class
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+
+    /**
+     * Values measured for one source tree.
+     */
+    private record Result(double seconds, long allocatedBytes, long peakHeapBytes) {
+    }
+
+    /**
+     * Log that drops the informational messages of the mojo.
+     */
+    private static class QuietLog extends SystemStreamLog {
+
+        @Override
+        public boolean isInfoEnabled() {
+            return false;
+        }
+
+        @Override
+        public void info(CharSequence content) {
+            // dropped, the mojo logs every file
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.benchmark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.type.Type;
+
+import io.github.mletkin.numerobis.generator.common.ClassUtil;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
+
+/**
+ * Measures the check for collection types of all product fields.
+ * <p>
+ * The warm benchmark reuses the resolver and its caches, the cold benchmark
+ * starts every invocation with a new resolver.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeResolutionBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int fieldCount;
+
+    private CompilationUnit product;
+    private List<Type> types;
+    private TypeResolver resolver = new TypeResolver(List.of());
+
+    @Setup
+    public void parse() {
+        product = Products.unit(fieldCount);
+        types = product.findAll(FieldDeclaration.class).stream() //
+                .map(FieldDeclaration::getElementType) //
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void warm(Blackhole blackhole) {
+        extendsInterface(resolver, blackhole);
+    }
+
+    @Benchmark
+    public void cold(ColdResolver cold, Blackhole blackhole) {
+        extendsInterface(cold.resolver, blackhole);
+    }
+
+    private void extendsInterface(TypeResolver typeResolver, Blackhole blackhole) {
+        for (var type : types) {
+            blackhole.consume(ClassUtil.extendsInterface(type, Collection.class, product, typeResolver));
+        }
+    }
+
+    /**
+     * Creates a new resolver before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class ColdResolver {
+
+        private TypeResolver resolver;
+
+        @Setup(Level.Invocation)
+        public void create() {
+            resolver = new TypeResolver(List.of());
+        }
+    }
+}
@@ -56,11 +56,41 @@ public @interface GenerateAdder {
         ;
     }
 
+    /**
+     * Available code shapes of the adder methods.
+     */
+    enum Style {
+
+        /**
+         * Use the style of the plugin configuration.
+         */
+        DEFAULT,
+        /**
+         * Vararg adders add the items with a stream and a method reference.
+         */
+        STREAM,
+        /**
+         * Vararg adders add the items in bulk without allocation.
+         */
+        BULK,
+
+        ;
+    }
+
     /**
      * Adder variants that shall be generated
+     * <p>
+     * Without variants the variants of the plugin configuration are used.
      *
      * @return array of adder variants
      */
-    Variant[] variants();
+    Variant[] variants() default {};
+
+    /**
+     * Code shape of the adder methods.
+     *
+     * @return the adder style
+     */
+    Style style() default Style.DEFAULT;
 
 }
@@ -15,7 +15,11 @@
  */
 package io.github.mletkin.numerobis.common;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
@@ -68,16 +72,47 @@ public final class Util {
 
     /**
      * Creates all non existing directories on the path of a file.
+     * <p>
+     * The directory might be created concurrently by another thread.
      *
      * @param destinationFile file with path
      */
     public static void createParentPath(Path destinationFile) {
         var parent = destinationFile.getParent().toFile();
-        if (!parent.exists() && !parent.mkdirs()) {
+        if (!parent.exists() && !parent.mkdirs() && !parent.isDirectory()) {
             throw new IllegalStateException("Couldn't create dir: " + parent);
         }
     }
 
+    /**
+     * Checks whether a file has exactly the given content.
+     * <p>
+     * The file is compared chunk by chunk and is never read as a whole.
+     *
+     * @param  file        file to check
+     * @param  content     expected content
+     * @return             {@code true} if the file exists and has the content
+     * @throws IOException if the file can't be read
+     */
+    public static boolean hasContent(Path file, byte[] content) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != content.length) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            var buffer = new byte[8192];
+            var position = 0;
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                if (position + read > content.length
+                        || !Arrays.equals(buffer, 0, read, content, position, position + read)) {
+                    return false;
+                }
+                position += read;
+            }
+            return position == content.length;
+        }
+    }
+
     /**
      * Converts the first letter of a string to uppercase.
      *
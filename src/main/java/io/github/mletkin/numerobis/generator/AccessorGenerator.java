@@ -23,6 +23,7 @@ import static io.github.mletkin.numerobis.generator.common.GenerationUtil.nameEx
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.returnStmt;
 import static java.util.function.Predicate.not;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import com.github.javaparser.ast.CompilationUnit;
@@ -36,7 +37,9 @@ import io.github.mletkin.numerobis.annotation.GenerateAccessors;
 import io.github.mletkin.numerobis.annotation.Ignore;
 import io.github.mletkin.numerobis.generator.common.ClassUtil;
 import io.github.mletkin.numerobis.generator.common.GenerationUtil;
+import io.github.mletkin.numerobis.generator.common.MemberIndex;
 import io.github.mletkin.numerobis.generator.common.StringExtractor;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
 
 /**
  * Generates access methods for a product class.
@@ -48,6 +51,7 @@ public class AccessorGenerator {
     private CompilationUnit unit;
     private ClassOrInterfaceDeclaration clazz;
     private String prefix;
+    private TypeResolver typeResolver = new TypeResolver(List.of());
 
     /**
      * Creates a {@code AccessorGenerator} instance.
@@ -63,6 +67,17 @@ public class AccessorGenerator {
         ifNotThrow(className != null, GeneratorException::productClassNotFound);
     }
 
+    /**
+     * Sets the resolver that recognizes collection types.
+     *
+     * @param  typeResolver resolver for the type names of the unit
+     * @return              the generator instance
+     */
+    public AccessorGenerator withTypeResolver(TypeResolver typeResolver) {
+        this.typeResolver = typeResolver;
+        return this;
+    }
+
     /**
      * Adds an accessor for every variable in every field declaration.
      *
@@ -71,7 +86,7 @@ public class AccessorGenerator {
     public AccessorGenerator addAccessors() {
         allMember(clazz, FieldDeclaration.class) //
                 .filter(this::process) //
-                .flatMap(fd -> new AccessorMethodDescriptor.Generator(fd, prefix, unit).stream()) //
+                .flatMap(fd -> new AccessorMethodDescriptor.Generator(fd, prefix, unit, typeResolver).stream()) //
                 .filter(not(this::hasAccessorMethod)) //
                 .forEach(this::addAccessor);
         return this;
@@ -96,14 +111,12 @@ public class AccessorGenerator {
     }
 
     private Type streamType(AccessorMethodDescriptor amd) {
-        Type argType = amd.fieldType.asClassOrInterfaceType().getTypeArguments().get().get(0);
-        return GenerationUtil.streamType(argType);
+        return GenerationUtil.streamType(amd.itemType);
     }
 
     private boolean hasAccessorMethod(AccessorMethodDescriptor amd) {
         return exists(//
-                allMember(clazz, MethodDeclaration.class) //
-                        .filter(md -> md.getNameAsString().equals(amd.methodName)) //
+                MemberIndex.of(clazz).methods(amd.methodName) //
                         .filter(md -> md.getParameters().isEmpty()) //
                         .filter(md -> md.getType().equals(amd.streamAccessor ? streamType(amd) : amd.fieldType)));
     }
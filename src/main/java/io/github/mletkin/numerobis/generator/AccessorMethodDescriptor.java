@@ -27,6 +27,7 @@ import com.github.javaparser.ast.type.Type;
 
 import io.github.mletkin.numerobis.common.PackageVisible;
 import io.github.mletkin.numerobis.generator.common.ClassUtil;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
 
 /**
  * Describes an accessor method for a class.
@@ -40,18 +41,22 @@ class AccessorMethodDescriptor {
     @PackageVisible
     Type fieldType;
     @PackageVisible
+    Type itemType;
+    @PackageVisible
     boolean streamAccessor;
 
     @PackageVisible
     static class Generator {
         private FieldDeclaration field;
         private CompilationUnit cu;
+        private TypeResolver typeResolver;
         private String prefix;
 
         @PackageVisible
-        Generator(FieldDeclaration field, String prefix, CompilationUnit cu) {
+        Generator(FieldDeclaration field, String prefix, CompilationUnit cu, TypeResolver typeResolver) {
             this.field = field;
             this.cu = cu;
+            this.typeResolver = typeResolver;
             this.prefix = prefix;
         }
 
@@ -71,7 +76,8 @@ class AccessorMethodDescriptor {
             result.methodName = methodName(vd);
             result.fieldName = vd.getNameAsString();
             result.fieldType = vd.getType();
-            result.streamAccessor = ClassUtil.isCollection(vd, cu);
+            result.itemType = ClassUtil.itemType(vd.getType(), cu, typeResolver).orElse(null);
+            result.streamAccessor = result.itemType != null;
             return result;
         }
 
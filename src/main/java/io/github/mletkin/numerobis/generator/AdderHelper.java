@@ -16,7 +16,8 @@
 package io.github.mletkin.numerobis.generator;
 
 import static io.github.mletkin.numerobis.common.Util.exists;
-import static io.github.mletkin.numerobis.generator.common.ClassUtil.allMember;
+import static io.github.mletkin.numerobis.common.Util.firstLetterUppercase;
+import static io.github.mletkin.numerobis.generator.common.GenerationUtil.assignExpr;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.fieldAccess;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.methodCall;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.methodReference;
@@ -24,18 +25,39 @@ import static io.github.mletkin.numerobis.generator.common.GenerationUtil.nameEx
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.returnStmt;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.thisExpr;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import com.github.javaparser.ast.ArrayCreationLevel;
 import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.CallableDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.ArrayAccessExpr;
+import com.github.javaparser.ast.expr.ArrayCreationExpr;
+import com.github.javaparser.ast.expr.AssignExpr;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.ConditionalExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.expr.NullLiteralExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.ExpressionStmt;
+import com.github.javaparser.ast.stmt.IfStmt;
+import com.github.javaparser.ast.type.ArrayType;
+import com.github.javaparser.ast.type.PrimitiveType;
 import com.github.javaparser.ast.type.Type;
 
 import io.github.mletkin.numerobis.common.PackageVisible;
 import io.github.mletkin.numerobis.generator.common.ClassUtil;
 import io.github.mletkin.numerobis.generator.common.GenerationUtil;
+import io.github.mletkin.numerobis.generator.common.MemberIndex;
 
 /**
  * Generates and adds adder methods to the builder class.
@@ -48,10 +70,18 @@ import io.github.mletkin.numerobis.generator.common.GenerationUtil;
  * <li>returns the builder instance
  * <li>retains the original content of the field
  * </ul>
+ * Bulk vararg adders use {@code Collections.addAll} instead of a stream, an
+ * {@code ArrayList} field is grown once before.
+ * <p>
+ * Array adders collect the items in a buffer of the builder that doubles its
+ * size when full. The build method appends the buffered items to the field
+ * with one exactly sized copy.
  */
 @PackageVisible
 class AdderHelper {
 
+    private static final int INITIAL_CAPACITY = 8;
+
     private BuilderGenerator owner;
 
     /**
@@ -74,6 +104,10 @@ class AdderHelper {
      */
     @PackageVisible
     void addAdder(AdderMethodDescriptor amd) {
+        if (amd.array) {
+            addArrayAdder(amd);
+            return;
+        }
         switch (amd.variant) {
         case ITEM:
             addItemAdder(amd);
@@ -119,21 +153,20 @@ class AdderHelper {
                 : ClassUtil.hasSingleParameter(adderParameterType(amd));
 
         return exists(//
-                allMember(owner.builderclass(), MethodDeclaration.class) //
-                        .filter(md -> md.getNameAsString().equals(amd.methodName)) //
+                MemberIndex.of(owner.builderclass()).methods(amd.methodName) //
                         .filter(parameterFilter) //
                         .filter(md -> md.getType().equals(owner.builderClassType())));
     }
 
     private void addItemAdder(AdderMethodDescriptor amd) {
-        createAdder(amd, "item").createBody() // product.x.add(item)
+        createBody(amd, "item") // product.x.add(item)
                 .addStatement(methodCall(fieldAccess(nameExpr(owner.naming().productField()), amd.fieldName), "add",
                         nameExpr("item"))) //
                 .addStatement(returnStmt(thisExpr()));
     }
 
     private void addStreamAdder(AdderMethodDescriptor amd) {
-        createAdder(amd, "items").createBody() // stream.forEach(product.x::add)
+        createBody(amd, "items") // stream.forEach(product.x::add)
                 .addStatement(methodCall(//
                         nameExpr("items"), //
                         "forEach", //
@@ -143,7 +176,7 @@ class AdderHelper {
     }
 
     private void addCollectionAdder(AdderMethodDescriptor amd) {
-        createAdder(amd, "items").createBody() // product.x.addAll(collection)
+        createBody(amd, "items") // product.x.addAll(collection)
                 .addStatement(methodCall( //
                         fieldAccess(nameExpr(owner.naming().productField()), amd.fieldName), //
                         "addAll", //
@@ -153,7 +186,11 @@ class AdderHelper {
     }
 
     private void addVarArgAdder(AdderMethodDescriptor amd) {
-        createAdder(amd, "items").createBody() // Stream.of(items).forEach(product.x::add)
+        if (amd.bulk) {
+            addBulkVarArgAdder(amd);
+            return;
+        }
+        createBody(amd, "items") // Stream.of(items).forEach(product.x::add)
                 .addStatement(methodCall( //
                         methodCall(nameExpr(Stream.class), "of", nameExpr("items")), //
                         "forEach", //
@@ -164,11 +201,148 @@ class AdderHelper {
         owner.builderUnit().addImport(Stream.class);
     }
 
-    private MethodDeclaration createAdder(AdderMethodDescriptor amd, String parameterName) {
+    private void addBulkVarArgAdder(AdderMethodDescriptor amd) {
+        var body = createBody(amd, "items");
+        if (amd.arrayList) { // product.x.ensureCapacity(product.x.size() + items.length)
+            body.addStatement(methodCall( //
+                    fieldAccess(nameExpr(owner.naming().productField()), amd.fieldName), //
+                    "ensureCapacity", //
+                    new BinaryExpr( //
+                            methodCall(fieldAccess(nameExpr(owner.naming().productField()), amd.fieldName), "size"), //
+                            fieldAccess(nameExpr("items"), "length"), //
+                            BinaryExpr.Operator.PLUS)));
+        }
+        body.addStatement(methodCall( // Collections.addAll(product.x, items)
+                nameExpr(Collections.class), //
+                "addAll", //
+                fieldAccess(nameExpr(owner.naming().productField()), amd.fieldName), //
+                nameExpr("items"))) //
+                .addStatement(returnStmt(thisExpr()));
+        owner.builderUnit().addImport(Collections.class);
+    }
+
+    private void addArrayAdder(AdderMethodDescriptor amd) {
+        addArrayBuffer(amd);
+        var buffer = amd.fieldName + "Buffer";
+        var count = countName(amd.fieldName);
+        var grow = "grow" + firstLetterUppercase(amd.fieldName);
+        var body = createBody(amd, amd.variant.isVarArg() ? "items" : "item");
+        if (amd.variant.isVarArg()) { // System.arraycopy(items, 0, xBuffer, xCount, items.length)
+            body.addStatement(methodCall(null, grow, fieldAccess(nameExpr("items"), "length"))) //
+                    .addStatement(methodCall(nameExpr(System.class), "arraycopy", nameExpr("items"), //
+                            new IntegerLiteralExpr("0"), nameExpr(buffer), nameExpr(count), //
+                            fieldAccess(nameExpr("items"), "length"))) //
+                    .addStatement(new AssignExpr(nameExpr(count), fieldAccess(nameExpr("items"), "length"),
+                            AssignExpr.Operator.PLUS));
+        } else { // xBuffer[xCount++] = item
+            body.addStatement(methodCall(null, grow, new IntegerLiteralExpr("1"))) //
+                    .addStatement(assignExpr( //
+                            new ArrayAccessExpr(nameExpr(buffer),
+                                    new UnaryExpr(nameExpr(count), UnaryExpr.Operator.POSTFIX_INCREMENT)), //
+                            nameExpr("item")));
+        }
+        body.addStatement(returnStmt(thisExpr()));
+    }
+
+    /**
+     * Adds buffer, counter, grow method and flush method of an array field.
+     *
+     * @param amd adder descriptor of the array field
+     */
+    private void addArrayBuffer(AdderMethodDescriptor amd) {
+        var buffer = amd.fieldName + "Buffer";
+        if (MemberIndex.of(owner.builderclass()).field(buffer).isPresent()) {
+            return;
+        }
+        var count = countName(amd.fieldName);
+        var arrayType = new ArrayType(amd.parameterType.clone());
+        owner.builderclass().addField(arrayType, buffer, Modifier.Keyword.PRIVATE);
+        owner.builderclass().addField(PrimitiveType.intType(), count, Modifier.Keyword.PRIVATE);
+        owner.builderUnit().addImport(Arrays.class);
+
+        var required = new BinaryExpr(nameExpr(count), nameExpr("length"), BinaryExpr.Operator.PLUS);
+        var allocate = newArray(amd.parameterType, // new int[Math.max(length, 8)]
+                methodCall(nameExpr(Math.class), "max", nameExpr("length"),
+                        new IntegerLiteralExpr(String.valueOf(INITIAL_CAPACITY))));
+        var doubled = methodCall(nameExpr(Arrays.class), "copyOf", // Arrays.copyOf(xBuffer, Math.max(..., 2 * ...))
+                nameExpr(buffer), methodCall(nameExpr(Math.class), "max", required.clone(), //
+                        new BinaryExpr(new IntegerLiteralExpr("2"), fieldAccess(nameExpr(buffer), "length"),
+                                BinaryExpr.Operator.MULTIPLY)));
+        owner.builderclass() // private void growX(int length)
+                .addMethod("grow" + firstLetterUppercase(amd.fieldName), Modifier.Keyword.PRIVATE) //
+                .addParameter(PrimitiveType.intType(), "length") //
+                .createBody() //
+                .addStatement(new IfStmt( //
+                        new BinaryExpr(nameExpr(buffer), new NullLiteralExpr(), BinaryExpr.Operator.EQUALS), //
+                        block(assignExpr(nameExpr(buffer), allocate)), //
+                        new IfStmt( //
+                                new BinaryExpr(required, fieldAccess(nameExpr(buffer), "length"),
+                                        BinaryExpr.Operator.GREATER), //
+                                block(assignExpr(nameExpr(buffer), doubled)), //
+                                null)));
+
+        var field = fieldAccess(nameExpr(owner.naming().productField()), amd.fieldName);
+        var fieldSet = new BinaryExpr(field, new NullLiteralExpr(), BinaryExpr.Operator.NOT_EQUALS);
+        var length = new VariableDeclarator(PrimitiveType.intType(), "length",
+                new ConditionalExpr(fieldSet, fieldAccess(field.clone(), "length"), new IntegerLiteralExpr("0")));
+        var total = new BinaryExpr(nameExpr("length"), nameExpr(count), BinaryExpr.Operator.PLUS);
+        var items = new VariableDeclarator(arrayType.clone(), "items", new ConditionalExpr(fieldSet.clone(),
+                methodCall(nameExpr(Arrays.class), "copyOf", field.clone(), total),
+                newArray(amd.parameterType, nameExpr(count))));
+        owner.builderclass() // private void flushX()
+                .addMethod(flushName(amd.fieldName), Modifier.Keyword.PRIVATE) //
+                .createBody() //
+                .addStatement(new IfStmt( //
+                        new BinaryExpr(nameExpr(count), new IntegerLiteralExpr("0"), BinaryExpr.Operator.GREATER), //
+                        block( //
+                                new VariableDeclarationExpr(length), //
+                                new VariableDeclarationExpr(items), //
+                                methodCall(nameExpr(System.class), "arraycopy", nameExpr(buffer),
+                                        new IntegerLiteralExpr("0"), nameExpr("items"), nameExpr("length"),
+                                        nameExpr(count)), //
+                                assignExpr(field.clone(), nameExpr("items")), //
+                                assignExpr(nameExpr(count), new IntegerLiteralExpr("0"))), //
+                        null));
+    }
+
+    private static BlockStmt block(Expression... expressions) {
+        var block = new BlockStmt();
+        Stream.of(expressions).map(ExpressionStmt::new).forEach(block::addStatement);
+        return block;
+    }
+
+    private static ArrayCreationExpr newArray(Type componentType, Expression size) {
+        return new ArrayCreationExpr(componentType.clone(),
+                new NodeList<>(new ArrayCreationLevel(size)), null);
+    }
+
+    /**
+     * Returns the name of the counter of an array field's buffer.
+     *
+     * @param  fieldName name of the array field
+     * @return           the name of the counter field
+     */
+    @PackageVisible
+    static String countName(String fieldName) {
+        return fieldName + "Count";
+    }
+
+    /**
+     * Returns the name of the method that appends the buffer to an array field.
+     *
+     * @param  fieldName name of the array field
+     * @return           the name of the flush method
+     */
+    @PackageVisible
+    static String flushName(String fieldName) {
+        return "flush" + firstLetterUppercase(fieldName);
+    }
+
+    private BlockStmt createBody(AdderMethodDescriptor amd, String parameterName) {
         MethodDeclaration meth = owner.builderclass().addMethod(amd.methodName, Modifier.Keyword.PUBLIC);
         meth.addAndGetParameter(adderParameterType(amd), parameterName).setVarArgs(amd.variant.isVarArg());
         meth.setType(owner.builderClassType());
-        return meth;
+        return owner.createMutatorBody(meth);
     }
 
     /**
@@ -27,10 +27,11 @@ import io.github.mletkin.numerobis.annotation.GenerateAdder;
 import io.github.mletkin.numerobis.common.PackageVisible;
 import io.github.mletkin.numerobis.common.Util;
 import io.github.mletkin.numerobis.generator.common.ClassUtil;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
 import io.github.mletkin.numerobis.generator.common.VariantExtractor;
 
 /**
- * Descriptor for the generation of an adder for a collection field.
+ * Descriptor for the generation of an adder for a collection or array field.
  */
 @PackageVisible
 class AdderMethodDescriptor {
@@ -43,6 +44,12 @@ class AdderMethodDescriptor {
     Type parameterType;
     @PackageVisible
     ListMutatorVariant variant;
+    @PackageVisible
+    boolean bulk;
+    @PackageVisible
+    boolean arrayList;
+    @PackageVisible
+    boolean array;
 
     /**
      * Generator for adder method-descriptor-objects.
@@ -52,22 +59,78 @@ class AdderMethodDescriptor {
     @PackageVisible
     static class Generator {
         private static final ListMutatorVariant[] DEFAULT = { ListMutatorVariant.ITEM };
+        private static final ListMutatorVariant[] NO_VARIANTS = {};
 
         private FieldDeclaration field;
         private ListMutatorVariant[] variants;
         private CompilationUnit cu;
+        private TypeResolver typeResolver;
         private String adderPrefix;
+        private boolean bulk;
+        private ListMutatorVariant[] arrayVariants = NO_VARIANTS;
 
+        /**
+         * Creates a generator for the adders of a field.
+         * <p>
+         * The style of the {@link GenerateAdder} annotation takes precedence.
+         *
+         * @param field              the field declaration
+         * @param listMutatorVariant variants to use if the field has none
+         * @param cu                 unit containing the product class
+         * @param typeResolver       resolver for the type names of the unit
+         * @param adderPrefix        prefix of the adder names
+         * @param bulk               {@code true} if bulk adders are the default
+         */
         @PackageVisible
         Generator(FieldDeclaration field, ListMutatorVariant[] listMutatorVariant, CompilationUnit cu,
-                String adderPrefix) {
+                TypeResolver typeResolver, String adderPrefix, boolean bulk) {
+            var extractor = new VariantExtractor(GenerateAdder.class);
             this.field = field;
             this.variants = Util.firstNotEmpty( //
-                    new VariantExtractor(GenerateAdder.class).variants(field), //
+                    extractor.variants(field), //
                     listMutatorVariant) //
                     .orElse(DEFAULT);
             this.cu = cu;
+            this.typeResolver = typeResolver;
             this.adderPrefix = adderPrefix;
+            this.bulk = extractor.constant(field, "style") //
+                    .map(GenerateAdder.Style::valueOf) //
+                    .filter(style -> style != GenerateAdder.Style.DEFAULT) //
+                    .map(style -> style == GenerateAdder.Style.BULK) //
+                    .orElse(bulk);
+        }
+
+        /**
+         * Generates adders for one dimensional array fields.
+         * <p>
+         * Array fields get the item and the vararg variant only. If no variant
+         * is left, the item variant is used unless the {@link GenerateAdder}
+         * annotation suppresses the adders.
+         *
+         * @param  arrays {@code true} to generate adders for array fields
+         * @return        the {@code Generator} instance
+         */
+        @PackageVisible
+        Generator withArrays(boolean arrays) {
+            if (arrays && !suppressed(field)) {
+                var arrayVariants = Stream.of(variants) //
+                        .filter(v -> v == ListMutatorVariant.ITEM || v == ListMutatorVariant.VARARG) //
+                        .toArray(ListMutatorVariant[]::new);
+                this.arrayVariants = arrayVariants.length > 0 ? arrayVariants : DEFAULT;
+            }
+            return this;
+        }
+
+        /**
+         * Checks whether the adder annotation suppresses all adders of a field.
+         *
+         * @param  field the field declaration
+         * @return       {@code true} if the annotation has only the variant {@code NONE}
+         */
+        @PackageVisible
+        static boolean suppressed(FieldDeclaration field) {
+            var annotated = new VariantExtractor(GenerateAdder.class).variants(field);
+            return annotated.length > 0 && Stream.of(annotated).allMatch(v -> v == ListMutatorVariant.NONE);
         }
 
         /**
@@ -78,22 +141,41 @@ class AdderMethodDescriptor {
         @PackageVisible
         Stream<AdderMethodDescriptor> stream() {
             return field.getVariables().stream() //
-                    .filter(vd -> ClassUtil.isCollection(vd, cu)) //
                     .flatMap(this::toVariants);
         }
 
         private Stream<AdderMethodDescriptor> toVariants(VariableDeclarator vd) {
+            if (ClassUtil.isArray(vd)) {
+                return Stream.of(arrayVariants).map(v -> mapArray(vd, v));
+            }
+            var itemType = ClassUtil.itemType(vd.getType(), cu, typeResolver);
+            if (itemType.isEmpty() || itemType.get().isWildcardType()) {
+                // nothing can be added to a collection of unknown item type
+                return Stream.empty();
+            }
             return Stream.of(variants) //
                     .filter(v -> v != ListMutatorVariant.NONE) //
-                    .map(v -> map(vd, v));
+                    .map(v -> map(vd, itemType.get(), v));
+        }
+
+        private AdderMethodDescriptor mapArray(VariableDeclarator vd, ListMutatorVariant variant) {
+            AdderMethodDescriptor result = new AdderMethodDescriptor();
+            result.methodName = methodName(vd);
+            result.fieldName = vd.getNameAsString();
+            result.parameterType = vd.getType().asArrayType().getComponentType();
+            result.variant = variant;
+            result.array = true;
+            return result;
         }
 
-        private AdderMethodDescriptor map(VariableDeclarator vd, ListMutatorVariant variant) {
+        private AdderMethodDescriptor map(VariableDeclarator vd, Type itemType, ListMutatorVariant variant) {
             AdderMethodDescriptor result = new AdderMethodDescriptor();
             result.methodName = methodName(vd);
             result.fieldName = vd.getNameAsString();
-            result.parameterType = vd.getType().asClassOrInterfaceType().getTypeArguments().get().get(0);
+            result.parameterType = itemType;
             result.variant = variant;
+            result.bulk = bulk;
+            result.arrayList = vd.getType().asClassOrInterfaceType().getNameAsString().equals("ArrayList");
             return result;
         }
 
@@ -16,6 +16,7 @@
 package io.github.mletkin.numerobis.generator;
 
 import static io.github.mletkin.numerobis.common.Util.exists;
+import static io.github.mletkin.numerobis.common.Util.firstLetterUppercase;
 import static io.github.mletkin.numerobis.common.Util.ifNotThrow;
 import static io.github.mletkin.numerobis.generator.common.ClassUtil.allMember;
 import static io.github.mletkin.numerobis.generator.common.ClassUtil.hasDefaultConstructor;
@@ -24,12 +25,16 @@ import static io.github.mletkin.numerobis.generator.common.ClassUtil.hasProductC
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.args;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.assignExpr;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.fieldAccess;
+import static io.github.mletkin.numerobis.generator.common.GenerationUtil.methodCall;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.nameExpr;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.newExpr;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.returnStmt;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.thisExpr;
 import static java.util.function.Predicate.not;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -37,11 +42,23 @@ import java.util.stream.Stream;
 
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.ConditionalExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.expr.NullLiteralExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.ExpressionStmt;
+import com.github.javaparser.ast.stmt.IfStmt;
+import com.github.javaparser.ast.stmt.ThrowStmt;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 
 import io.github.mletkin.numerobis.annotation.Ignore;
@@ -49,6 +66,8 @@ import io.github.mletkin.numerobis.annotation.Immutable;
 import io.github.mletkin.numerobis.annotation.Mutable;
 import io.github.mletkin.numerobis.common.VisibleForTesting;
 import io.github.mletkin.numerobis.generator.common.ClassUtil;
+import io.github.mletkin.numerobis.generator.common.MemberIndex;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
 import io.github.mletkin.numerobis.generator.mutator.ListMutatorDescriptorGenerator;
 import io.github.mletkin.numerobis.generator.mutator.MutatorDescriptorGenerator;
 import io.github.mletkin.numerobis.generator.mutator.MutatorMethodDescriptor;
@@ -61,6 +80,13 @@ public class BuilderGenerator {
 
     private boolean separateClass = true;
     private boolean mutableByDefault = false;
+    private boolean directCopies = false;
+    private boolean bulkAdders = false;
+    private boolean freezeProducts = false;
+    private boolean resettable = false;
+    private boolean pooled = false;
+    private boolean factoryMethods = false;
+    private boolean arrayAdders = false;
 
     private CompilationUnit productUnit;
     private ClassOrInterfaceDeclaration productclass;
@@ -70,6 +96,7 @@ public class BuilderGenerator {
     private AdderHelper adderHelper = new AdderHelper(this);
     private MutatorHelper mutatorHelper = new MutatorHelper(this);
     private Naming naming = Naming.DEFAULT;
+    private TypeResolver typeResolver = new TypeResolver(List.of());
 
     /**
      * Creates a generator for the builder class.
@@ -98,6 +125,76 @@ public class BuilderGenerator {
         return this;
     }
 
+    /**
+     * Sets whether list mutators copy the items without streams.
+     *
+     * @param  directCopies {@code true} for copy constructors
+     * @return              the {@code BuilderGenerator} instance
+     */
+    public BuilderGenerator directCopies(boolean directCopies) {
+        this.directCopies = directCopies;
+        return this;
+    }
+
+    /**
+     * Sets whether vararg adders add the items in bulk.
+     * <p>
+     * The value might be overriden by an annotation
+     *
+     * @param  bulkAdders {@code true} for bulk adders
+     * @return            the {@code BuilderGenerator} instance
+     */
+    public BuilderGenerator bulkAdders(boolean bulkAdders) {
+        this.bulkAdders = bulkAdders;
+        return this;
+    }
+
+    /**
+     * Sets whether the build method freezes immutable products.
+     *
+     * @param  freezeProducts {@code true} to freeze immutable products
+     * @return                the {@code BuilderGenerator} instance
+     */
+    public BuilderGenerator freezeImmutableProducts(boolean freezeProducts) {
+        this.freezeProducts = freezeProducts;
+        return this;
+    }
+
+    /**
+     * Sets whether array fields get adders.
+     *
+     * @param  arrayAdders {@code true} for array adders
+     * @return             the {@code BuilderGenerator} instance
+     */
+    public BuilderGenerator arrayAdders(boolean arrayAdders) {
+        this.arrayAdders = arrayAdders;
+        return this;
+    }
+
+    /**
+     * Sets whether the builder gets reset methods.
+     *
+     * @param  resettable {@code true} for reset methods
+     * @return            the {@code BuilderGenerator} instance
+     */
+    public BuilderGenerator resettable(boolean resettable) {
+        this.resettable = resettable;
+        return this;
+    }
+
+    /**
+     * Sets whether the builder gets a thread confined pool.
+     * <p>
+     * Pooled builders are always resettable.
+     *
+     * @param  pooled {@code true} for pool methods
+     * @return        the {@code BuilderGenerator} instance
+     */
+    public BuilderGenerator pooled(boolean pooled) {
+        this.pooled = pooled;
+        return this;
+    }
+
     /**
      * Sets the naming settings to use.
      *
@@ -109,6 +206,17 @@ public class BuilderGenerator {
         return this;
     }
 
+    /**
+     * Sets the resolver that recognizes collection types.
+     *
+     * @param  typeResolver resolver for the type names of the product unit
+     * @return              the {@code BuilderGenerator} instance
+     */
+    public BuilderGenerator withTypeResolver(TypeResolver typeResolver) {
+        this.typeResolver = typeResolver;
+        return this;
+    }
+
     /**
      * Creates a generator for an embedded builder class.
      *
@@ -154,11 +262,7 @@ public class BuilderGenerator {
     }
 
     private Optional<VariableDeclarator> findProductField() {
-        return allMember(builderclass(), FieldDeclaration.class) //
-                .map(FieldDeclaration::getVariables) //
-                .flatMap(List::stream) //
-                .filter(vd -> vd.getNameAsString().equals(naming.productField())) //
-                .findFirst();
+        return MemberIndex.of(builderclass()).field(naming.productField());
     }
 
     /**
@@ -182,7 +286,7 @@ public class BuilderGenerator {
 
     private boolean hasManipulationConstructor() {
         return exists(//
-                allMember(builderclass(), ConstructorDeclaration.class) //
+                MemberIndex.of(builderclass()).constructors() //
                         .filter(ClassUtil.hasSingleParameter(productClassType())));
     }
 
@@ -223,6 +327,7 @@ public class BuilderGenerator {
      * @return the {@code BuilderGenerator} instance
      */
     public BuilderGenerator addFactoryMethods() {
+        factoryMethods = true;
         if (!hasProductConstructor(builderclass(), productClassName())) {
             addProductConstructor();
         }
@@ -242,9 +347,8 @@ public class BuilderGenerator {
 
     private boolean hasManipulationFactoryMethod() {
         return exists(//
-                allMember(builderclass(), MethodDeclaration.class) //
+                MemberIndex.of(builderclass()).methods(naming.factoryMethod()) //
                         .filter(MethodDeclaration::isStatic) //
-                        .filter(md -> md.getNameAsString().equals(naming.factoryMethod())) //
                         .filter(md -> md.getTypeAsString().equals(builderClassName())) //
                         .filter(ClassUtil.hasSingleParameter(productClassType())));
     }
@@ -273,9 +377,8 @@ public class BuilderGenerator {
 
     private boolean hasDefaultFactoryMethod() {
         return exists(//
-                allMember(builderclass(), MethodDeclaration.class) //
+                MemberIndex.of(builderclass()).methods(naming.factoryMethod()) //
                         .filter(MethodDeclaration::isStatic) //
-                        .filter(md -> md.getNameAsString().equals(naming.factoryMethod())) //
                         .filter(md -> md.getTypeAsString().equals(builderClassName())) //
                         .filter(md -> md.getParameters().isEmpty()));
     }
@@ -305,13 +408,81 @@ public class BuilderGenerator {
 
     private boolean hasMatchingFactoryMethod(ConstructorDeclaration productConstructor) {
         return exists( //
-                allMember(builderclass(), MethodDeclaration.class) //
+                MemberIndex.of(builderclass()).methods(naming.factoryMethod()) //
                         .filter(MethodDeclaration::isStatic) //
-                        .filter(md -> md.getNameAsString().equals(naming.factoryMethod())) //
                         .filter(md -> md.getTypeAsString().equals(builderClassName())) //
                         .filter(md -> ClassUtil.matchesParameter(md, productConstructor)));
     }
 
+    /**
+     * Adds a reset method for each product constructor.
+     * <p>
+     * The reset method replaces the product by a new instance, so the builder
+     * can be reused for the next product.<br>
+     * signature: {@code public Builder reset(<constructor parameters>);}
+     *
+     * @return the {@code BuilderGenerator} instance
+     */
+    public BuilderGenerator addResetMethods() {
+        if (resettable || pooled) {
+            productConstructors() //
+                    .filter(not(this::hasMatchingResetMethod)) //
+                    .forEach(this::addResetMethod);
+        }
+        return this;
+    }
+
+    private void addResetMethod(ConstructorDeclaration productConstructor) {
+        MethodDeclaration resetMethod = builderclass().addMethod(naming.resetMethod(), Modifier.Keyword.PUBLIC);
+        productConstructor.getParameters().forEach(p -> resetMethod.addParameter(p.clone()));
+        resetMethod.setType(builderClassName());
+        var body = resetMethod.createBody() //
+                .addStatement(assignExpr(naming.productField(), //
+                        newExpr(productClassType(), args(productConstructor))));
+        bufferedArrays().forEach(name -> body.addStatement( // xCount = 0
+                assignExpr(AdderHelper.countName(name), new IntegerLiteralExpr("0"))));
+        body.addStatement(returnStmt(thisExpr()));
+    }
+
+    private boolean hasMatchingResetMethod(ConstructorDeclaration productConstructor) {
+        return exists( //
+                MemberIndex.of(builderclass()).methods(naming.resetMethod()) //
+                        .filter(not(MethodDeclaration::isStatic)) //
+                        .filter(md -> ClassUtil.matchesParameter(md, productConstructor)));
+    }
+
+    /**
+     * Adds a thread confined pool with a pool method for each product constructor.
+     * <p>
+     * The pool method returns the reset builder of the current thread.<br>
+     * signature: {@code public static Builder pooled(<constructor parameters>);}
+     *
+     * @return the {@code BuilderGenerator} instance
+     */
+    public BuilderGenerator addPoolMethods() {
+        if (pooled) {
+            forge.addPoolField(naming.poolField());
+            productConstructors().forEach(cd -> forge.addPoolMethod(naming.poolMethod(), naming.poolField(), //
+                    naming.resetMethod(), cd, //
+                    factoryMethods //
+                            ? methodCall(null, naming.factoryMethod(), args(cd))
+                            : newExpr(builderClassType(), args(cd))));
+        }
+        return this;
+    }
+
+    /**
+     * Returns the product constructors the builder uses.
+     *
+     * @return the processed constructors or a default constructor
+     */
+    private Stream<ConstructorDeclaration> productConstructors() {
+        if (!hasExplicitConstructor(productclass)) {
+            return Stream.of(new ConstructorDeclaration(productClassName()));
+        }
+        return allMember(productclass, ConstructorDeclaration.class).filter(this::process);
+    }
+
     /**
      * Adds a mutator for each field of the product.
      *
@@ -329,8 +500,9 @@ public class BuilderGenerator {
 
     private Stream<MutatorMethodDescriptor> mutatorDescriptors(ListMutatorVariant[] mutatorVariants,
             FieldDeclaration fd) {
-        return ClassUtil.isCollection(fd, productUnit) //
-                ? new ListMutatorDescriptorGenerator(fd, mutatorVariants, naming.mutatorPrefix()).stream()
+        return ClassUtil.isCollection(fd, productUnit, typeResolver) //
+                ? new ListMutatorDescriptorGenerator(fd, mutatorVariants, naming.mutatorPrefix(), productUnit,
+                        typeResolver).stream()
                 : new MutatorDescriptorGenerator(fd, naming.mutatorPrefix()).stream();
     }
 
@@ -346,23 +518,132 @@ public class BuilderGenerator {
 
     /**
      * Adds the build method to the builder class.
+     * <p>
+     * Items buffered by array adders are appended to their fields first.<br>
+     * If immutable products are frozen, the build method replaces the
+     * collections of the product by unmodifiable copies and detaches the product
+     * from the builder. A second call fails with an
+     * {@code IllegalStateException}.<br>
+     * An existing build method is kept as it is, even if it does not freeze the
+     * product.
      *
      * @return the {@code BuilderGenerator} instance
      */
     public BuilderGenerator addBuildMethod() {
         if (!hasBuildMethod()) {
-            builderclass().addMethod(naming.buildMethod(), Modifier.Keyword.PUBLIC) //
+            var body = builderclass().addMethod(naming.buildMethod(), Modifier.Keyword.PUBLIC) //
                     .setType(productClassType()) //
-                    .createBody() //
-                    .addStatement(returnStmt(nameExpr(naming.productField())));
+                    .createBody();
+            var freeze = isFrozen();
+            if (freeze) {
+                addBuiltGuard(body);
+            }
+            bufferedArrays().forEach(name -> body.addStatement(methodCall(null, AdderHelper.flushName(name))));
+            if (freeze) {
+                addFreezeStatements(body);
+            } else {
+                body.addStatement(returnStmt(nameExpr(naming.productField())));
+            }
         }
         return this;
     }
 
+    /**
+     * Creates the body of a method that changes the product.
+     * <p>
+     * If immutable products are frozen, the body starts with the check that
+     * fails after the product was built.
+     *
+     * @param  method the method of the builder
+     * @return        the body
+     */
+    BlockStmt createMutatorBody(MethodDeclaration method) {
+        var body = method.createBody();
+        if (isFrozen()) {
+            addBuiltGuard(body);
+        }
+        return body;
+    }
+
+    private boolean isFrozen() {
+        return freezeProducts && !isProductMutable();
+    }
+
+    /**
+     * Adds the check that fails if the product was already built.
+     *
+     * @param body body of the build method
+     */
+    private void addBuiltGuard(BlockStmt body) {
+        var exception = newExpr(new ClassOrInterfaceType(null, IllegalStateException.class.getSimpleName()),
+                new StringLiteralExpr("product already built"));
+        body.addStatement(new IfStmt( // if (product == null) throw ...
+                new BinaryExpr(nameExpr(naming.productField()), new NullLiteralExpr(), BinaryExpr.Operator.EQUALS), //
+                new BlockStmt().addStatement(new ThrowStmt(exception)), //
+                null));
+    }
+
+    /**
+     * Adds the statements that freeze the product.
+     * <p>
+     * Fields declared as {@code List}, {@code Set} or {@code Collection} get an
+     * unmodifiable copy, {@code null} values are retained. The local variable
+     * is named after the product field, so that both names never clash.
+     *
+     * @param body body of the build method
+     */
+    private void addFreezeStatements(BlockStmt body) {
+        allMember(productclass, FieldDeclaration.class) //
+                .filter(this::process) //
+                .filter(fd -> !fd.isStatic() && !fd.isFinal()) //
+                .flatMap(fd -> fd.getVariables().stream()) //
+                .forEach(vd -> copyOf(vd).ifPresent(copy -> body.addStatement( // product.x = copy
+                        assignExpr(productField(vd), copy))));
+        var built = "built" + firstLetterUppercase(naming.productField());
+        var result = new VariableDeclarator(productClassType(), built, nameExpr(naming.productField()));
+        body.addStatement(new ExpressionStmt(new VariableDeclarationExpr(result))) // Foo builtProduct = product
+                .addStatement(assignExpr(nameExpr(naming.productField()), new NullLiteralExpr())) // product = null
+                .addStatement(returnStmt(nameExpr(built)));
+    }
+
+    /**
+     * Creates the expression for the unmodifiable copy of a field.
+     *
+     * @param  vd the field variable
+     * @return    {@code product.x != null ? Collections.unmodifiableList(new
+     *            ArrayList<>(product.x)) : null}, empty if the field is no list,
+     *            set or collection
+     */
+    private Optional<Expression> copyOf(VariableDeclarator vd) {
+        if (!vd.getType().isClassOrInterfaceType()) {
+            return Optional.empty();
+        }
+        var copyClass = switch (vd.getType().asClassOrInterfaceType().getNameWithScope()) {
+        case "List", "java.util.List", "Collection", "java.util.Collection" -> ArrayList.class;
+        case "Set", "java.util.Set" -> LinkedHashSet.class;
+        default -> null;
+        };
+        if (copyClass == null) {
+            return Optional.empty();
+        }
+        builderUnit().addImport(Collections.class);
+        builderUnit().addImport(copyClass);
+        var copy = newExpr(new ClassOrInterfaceType(null, copyClass.getSimpleName()).setTypeArguments(new NodeList<>()),
+                productField(vd));
+        return Optional.of(new ConditionalExpr( //
+                new BinaryExpr(productField(vd), new NullLiteralExpr(), BinaryExpr.Operator.NOT_EQUALS), //
+                methodCall(nameExpr(Collections.class),
+                        copyClass == ArrayList.class ? "unmodifiableList" : "unmodifiableSet", copy), //
+                new NullLiteralExpr()));
+    }
+
+    private Expression productField(VariableDeclarator vd) {
+        return fieldAccess(nameExpr(naming.productField()), vd.getNameAsString());
+    }
+
     private boolean hasBuildMethod() {
         return exists( //
-                allMember(builderclass(), MethodDeclaration.class) //
-                        .filter(md -> md.getNameAsString().equals(naming.buildMethod())) //
+                MemberIndex.of(builderclass()).methods(naming.buildMethod()) //
                         .filter(md -> md.getType().equals(productClassType())));
     }
 
@@ -375,13 +656,40 @@ public class BuilderGenerator {
     public BuilderGenerator addAdder(ListMutatorVariant[] adderVariants) {
         allMember(productclass, FieldDeclaration.class) //
                 .filter(this::process) //
-                .flatMap(fd -> new AdderMethodDescriptor.Generator(fd, adderVariants, productUnit, naming.adderPrefix())
-                        .stream()) //
+                .flatMap(fd -> new AdderMethodDescriptor.Generator(fd, adderVariants, productUnit, typeResolver,
+                        naming.adderPrefix(), bulkAdders).withArrays(arrayAdders).stream()) //
                 .filter(not(adderHelper::hasAdder)) //
                 .forEach(adderHelper::addAdder);
         return this;
     }
 
+    /**
+     * Returns the names of the array fields that are buffered by adders.
+     *
+     * @return stream of field names, empty if there are no array adders
+     */
+    private Stream<String> bufferedArrays() {
+        if (!arrayAdders) {
+            return Stream.empty();
+        }
+        return allMember(productclass, FieldDeclaration.class) //
+                .filter(this::process) //
+                .filter(not(AdderMethodDescriptor.Generator::suppressed)) //
+                .flatMap(fd -> fd.getVariables().stream()) //
+                .filter(ClassUtil::isArray) //
+                .map(VariableDeclarator::getNameAsString);
+    }
+
+    /**
+     * Checks whether an array field is buffered by adders.
+     *
+     * @param  fieldName name of the field
+     * @return           {@code true} if adders buffer the field
+     */
+    boolean isBufferedArray(String fieldName) {
+        return bufferedArrays().anyMatch(fieldName::equals);
+    }
+
     /**
      * Returns the type of the builder class.
      *
@@ -456,6 +764,15 @@ public class BuilderGenerator {
         return productUnit;
     }
 
+    /**
+     * Returns whether list mutators copy the items without streams.
+     *
+     * @return {@code true} for copy constructors
+     */
+    boolean directCopies() {
+        return directCopies;
+    }
+
     /**
      * Returns the naimng settings of the forge.
      *
@@ -465,4 +782,13 @@ public class BuilderGenerator {
         return naming;
     }
 
+    /**
+     * Returns the resolver that recognizes collection types.
+     *
+     * @return the {@link TypeResolver} object
+     */
+    TypeResolver typeResolver() {
+        return typeResolver;
+    }
+
 }
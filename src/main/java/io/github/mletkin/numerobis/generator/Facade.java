@@ -15,9 +15,12 @@
  */
 package io.github.mletkin.numerobis.generator;
 
+import java.util.List;
+
 import com.github.javaparser.ast.CompilationUnit;
 
 import io.github.mletkin.numerobis.common.Generator;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
 import io.github.mletkin.numerobis.plugin.Order;
 
 /**
@@ -27,6 +30,13 @@ public class Facade {
 
     private ListMutatorVariant[] adderVariants = {};
     private ListMutatorVariant[] mutatorVariants = {};
+    private boolean directCopies;
+    private boolean bulkAdders;
+    private boolean freezeImmutableProducts;
+    private boolean resettableBuilders;
+    private boolean pooledBuilders;
+    private boolean arrayAdders;
+    private TypeResolver typeResolver = new TypeResolver(List.of());
 
     /**
      * Creates a {@code Facade}-Instance and sets the default mutablity.
@@ -59,6 +69,83 @@ public class Facade {
         return this;
     }
 
+    /**
+     * Sets whether list mutators copy the items without streams.
+     *
+     * @param  directCopies {@code true} for copy constructors
+     * @return              the {@code Facade} instance
+     */
+    public Facade withDirectCopies(boolean directCopies) {
+        this.directCopies = directCopies;
+        return this;
+    }
+
+    /**
+     * Sets whether vararg adders add the items in bulk.
+     *
+     * @param  bulkAdders {@code true} for bulk adders
+     * @return            the {@code Facade} instance
+     */
+    public Facade withBulkAdders(boolean bulkAdders) {
+        this.bulkAdders = bulkAdders;
+        return this;
+    }
+
+    /**
+     * Sets whether the build method freezes immutable products.
+     *
+     * @param  freezeImmutableProducts {@code true} to freeze immutable products
+     * @return                         the {@code Facade} instance
+     */
+    public Facade withFrozenImmutableProducts(boolean freezeImmutableProducts) {
+        this.freezeImmutableProducts = freezeImmutableProducts;
+        return this;
+    }
+
+    /**
+     * Sets whether builders get reset methods.
+     *
+     * @param  resettableBuilders {@code true} for reset methods
+     * @return                    the {@code Facade} instance
+     */
+    public Facade withResettableBuilders(boolean resettableBuilders) {
+        this.resettableBuilders = resettableBuilders;
+        return this;
+    }
+
+    /**
+     * Sets whether builders get a thread confined pool.
+     *
+     * @param  pooledBuilders {@code true} for pool methods
+     * @return                the {@code Facade} instance
+     */
+    public Facade withPooledBuilders(boolean pooledBuilders) {
+        this.pooledBuilders = pooledBuilders;
+        return this;
+    }
+
+    /**
+     * Sets whether array fields get adders.
+     *
+     * @param  arrayAdders {@code true} for array adders
+     * @return             the {@code Facade} instance
+     */
+    public Facade withArrayAdders(boolean arrayAdders) {
+        this.arrayAdders = arrayAdders;
+        return this;
+    }
+
+    /**
+     * Sets the resolver that recognizes collection types.
+     *
+     * @param  typeResolver resolver for the type names of the product units
+     * @return              the {@code Facade} instance
+     */
+    public Facade withTypeResolver(TypeResolver typeResolver) {
+        this.typeResolver = typeResolver;
+        return this;
+    }
+
     /**
      * Creates a generator for an embedded builder for a record.
      *
@@ -67,10 +154,14 @@ public class Facade {
      */
     public Generator forRecordEmbedded(Order order) {
         return () -> new RecordBuilderGenerator(order.productUnit(), order.productType()) //
+                .resettable(resettableBuilders) //
+                .pooled(pooledBuilders) //
                 .withNamingSettings(order.naming()) //
                 .withInternalBuilder() //
                 .addFields() //
                 .addMutators() //
+                .addResetMethod() //
+                .addPoolMethod() //
                 .addBuildMethod() //
                 .builderUnit();
     }
@@ -83,10 +174,14 @@ public class Facade {
      */
     public Generator forRecordSeparate(Order order) {
         return () -> new RecordBuilderGenerator(order.productUnit(), order.productType()) //
+                .resettable(resettableBuilders) //
+                .pooled(pooledBuilders) //
                 .withNamingSettings(order.naming()) //
                 .withExternalBuilder(order.builderUnit()) //
                 .addFields() //
                 .addMutators() //
+                .addResetMethod() //
+                .addPoolMethod() //
                 .addBuildMethod() //
                 .builderUnit();
     }
@@ -100,12 +195,21 @@ public class Facade {
     public Generator separateWithConstructors(Order order) {
         return () -> new BuilderGenerator(order.productUnit(), order.productType()) //
                 .mutableByDefault(order.productsAreMutable()) //
+                .directCopies(directCopies) //
+                .bulkAdders(bulkAdders) //
+                .arrayAdders(arrayAdders) //
+                .freezeImmutableProducts(freezeImmutableProducts) //
+                .resettable(resettableBuilders) //
+                .pooled(pooledBuilders) //
                 .withNamingSettings(order.naming()) //
+                .withTypeResolver(typeResolver) //
                 .withExternalBuilder(order.builderUnit()) //
                 .addProductField() //
                 .addConstructors() //
                 .addMutator(mutatorVariants) //
                 .addAdder(adderVariants) //
+                .addResetMethods() //
+                .addPoolMethods() //
                 .addBuildMethod() //
                 .builderUnit();
     }
@@ -119,12 +223,21 @@ public class Facade {
     public Generator separateWithFactoryMethods(Order order) {
         return () -> new BuilderGenerator(order.productUnit(), order.productType()) //
                 .mutableByDefault(order.productsAreMutable()) //
+                .directCopies(directCopies) //
+                .bulkAdders(bulkAdders) //
+                .arrayAdders(arrayAdders) //
+                .freezeImmutableProducts(freezeImmutableProducts) //
+                .resettable(resettableBuilders) //
+                .pooled(pooledBuilders) //
                 .withNamingSettings(order.naming()) //
+                .withTypeResolver(typeResolver) //
                 .withExternalBuilder(order.builderUnit()) //
                 .addProductField() //
                 .addFactoryMethods() //
                 .addMutator(mutatorVariants) //
                 .addAdder(adderVariants) //
+                .addResetMethods() //
+                .addPoolMethods() //
                 .addBuildMethod() //
                 .builderUnit();
     }
@@ -138,12 +251,21 @@ public class Facade {
     public Generator embeddedWithConstructors(Order order) {
         return () -> new BuilderGenerator(order.productUnit(), order.productType()) //
                 .mutableByDefault(order.productsAreMutable()) //
+                .directCopies(directCopies) //
+                .bulkAdders(bulkAdders) //
+                .arrayAdders(arrayAdders) //
+                .freezeImmutableProducts(freezeImmutableProducts) //
+                .resettable(resettableBuilders) //
+                .pooled(pooledBuilders) //
                 .withNamingSettings(order.naming()) //
+                .withTypeResolver(typeResolver) //
                 .withInternalBuilder() //
                 .addProductField() //
                 .addConstructors() //
                 .addMutator(mutatorVariants) //
                 .addAdder(adderVariants) //
+                .addResetMethods() //
+                .addPoolMethods() //
                 .addBuildMethod() //
                 .builderUnit();
     }
@@ -157,12 +279,21 @@ public class Facade {
     public Generator embeddedWithFactoryMethods(Order order) {
         return () -> new BuilderGenerator(order.productUnit(), order.productType()) //
                 .mutableByDefault(order.productsAreMutable()) //
+                .directCopies(directCopies) //
+                .bulkAdders(bulkAdders) //
+                .arrayAdders(arrayAdders) //
+                .freezeImmutableProducts(freezeImmutableProducts) //
+                .resettable(resettableBuilders) //
+                .pooled(pooledBuilders) //
                 .withNamingSettings(order.naming()) //
+                .withTypeResolver(typeResolver) //
                 .withInternalBuilder() //
                 .addProductField() //
                 .addFactoryMethods() //
                 .addMutator(mutatorVariants) //
                 .addAdder(adderVariants) //
+                .addResetMethods() //
+                .addPoolMethods() //
                 .addBuildMethod() //
                 .builderUnit();
     }
@@ -175,6 +306,7 @@ public class Facade {
      */
     public CompilationUnit withAccessors(Order order) {
         return new AccessorGenerator(order.productUnit(), order.productType()) //
+                .withTypeResolver(typeResolver) //
                 .addAccessors() //
                 .resultUnit();
     }
@@ -16,18 +16,37 @@
 package io.github.mletkin.numerobis.generator;
 
 import static io.github.mletkin.numerobis.generator.common.ClassUtil.allMember;
+import static io.github.mletkin.numerobis.generator.common.GenerationUtil.assignExpr;
+import static io.github.mletkin.numerobis.generator.common.GenerationUtil.methodCall;
+import static io.github.mletkin.numerobis.generator.common.GenerationUtil.nameExpr;
+import static io.github.mletkin.numerobis.generator.common.GenerationUtil.newExpr;
+import static io.github.mletkin.numerobis.generator.common.GenerationUtil.returnStmt;
 import static java.util.function.Predicate.not;
 
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.PackageDeclaration;
+import com.github.javaparser.ast.body.CallableDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.RecordDeclaration;
 import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.NullLiteralExpr;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.ExpressionStmt;
+import com.github.javaparser.ast.stmt.IfStmt;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
 
 import io.github.mletkin.numerobis.generator.common.ClassUtil;
 import io.github.mletkin.numerobis.generator.common.GenerationUtil;
+import io.github.mletkin.numerobis.generator.common.MemberIndex;
 
 /**
  * Produces the builder class.
@@ -35,6 +54,7 @@ import io.github.mletkin.numerobis.generator.common.GenerationUtil;
 public final class Forge {
 
     private static final String BUILDER_PACKAGE = "io.github.mletkin.numerobis";
+    private static final String BUILDER = "builder";
 
     private CompilationUnit builderUnit;
     private ClassOrInterfaceDeclaration builderClass;
@@ -188,8 +208,70 @@ public final class Forge {
      * @return                    {@code true} when a constructor is found
      */
     public boolean hasMatchingConstructor(ConstructorDeclaration productConstructor) {
-        return allMember(builderClass, ConstructorDeclaration.class) //
+        return MemberIndex.of(builderClass).constructors() //
                 .anyMatch(cd -> ClassUtil.matchesParameter(cd, productConstructor));
     }
 
+    /**
+     * Adds the field that keeps the pooled builder of each thread.
+     * <p>
+     * signature: {@code private static final ThreadLocal<Builder> POOL = new ThreadLocal<>();}
+     *
+     * @param name name of the pool field
+     */
+    public void addPoolField(String name) {
+        if (MemberIndex.of(builderClass).field(name).isEmpty()) {
+            var poolType = new ClassOrInterfaceType(null, "ThreadLocal").setTypeArguments(builderClassType());
+            var diamond = new ClassOrInterfaceType(null, "ThreadLocal").setTypeArguments(new NodeList<>());
+            builderClass.addFieldWithInitializer(poolType, name, newExpr(diamond), //
+                    Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+        }
+    }
+
+    /**
+     * Adds a pool method that returns the builder of the current thread.
+     * <p>
+     * The first call in a thread creates the builder, later calls reset it. The
+     * pool method has the parameters of the reset method it calls.
+     *
+     * @param name        name of the pool method
+     * @param poolField   name of the pool field
+     * @param resetMethod name of the reset method
+     * @param signature   declaration with the parameters to use
+     * @param creation    expression that creates a new builder
+     */
+    public void addPoolMethod(String name, String poolField, String resetMethod, CallableDeclaration<?> signature,
+            Expression creation) {
+        if (hasPoolMethod(name, signature)) {
+            return;
+        }
+        var method = builderClass.addMethod(name, Modifier.Keyword.PUBLIC, Modifier.Keyword.STATIC);
+        signature.getParameters().forEach(p -> method.addParameter(p.clone()));
+        method.setType(builderClassType());
+        var args = signature.getParameters().stream() //
+                .map(p -> nameExpr(p.getNameAsString())) //
+                .toArray(Expression[]::new);
+        var created = new BlockStmt() //
+                .addStatement(assignExpr(BUILDER, creation)) //
+                .addStatement(methodCall(nameExpr(poolField), "set", nameExpr(BUILDER))) //
+                .addStatement(returnStmt(nameExpr(BUILDER)));
+        var builder = new VariableDeclarator(builderClassType(), BUILDER, methodCall(nameExpr(poolField), "get"));
+        method.createBody() //
+                .addStatement(new ExpressionStmt(new VariableDeclarationExpr(builder))) //
+                .addStatement(new IfStmt( //
+                        new BinaryExpr(nameExpr(BUILDER), new NullLiteralExpr(), BinaryExpr.Operator.EQUALS), //
+                        created, null)) //
+                .addStatement(returnStmt(methodCall(nameExpr(BUILDER), resetMethod, args)));
+    }
+
+    private boolean hasPoolMethod(String name, CallableDeclaration<?> signature) {
+        return MemberIndex.of(builderClass).methods(name) //
+                .filter(MethodDeclaration::isStatic) //
+                .anyMatch(md -> ClassUtil.matchesParameter(md, signature));
+    }
+
+    private ClassOrInterfaceType builderClassType() {
+        return new ClassOrInterfaceType(null, builderClass.getNameAsString());
+    }
+
 }
@@ -45,4 +45,20 @@ public class GeneratorException extends RuntimeException {
         return new GeneratorException("The product field has the wrong type " + vd.getTypeAsString() + ".");
     }
 
+    public static GeneratorException nestedProductNotSupported() {
+        return new GeneratorException("Separate builders for nested classes are not supported.");
+    }
+
+    public static GeneratorException genericProductNotSupported() {
+        return new GeneratorException("Builders for generic classes are not supported.");
+    }
+
+    public static GeneratorException variantNotSupported(ListMutatorVariant variant) {
+        return new GeneratorException("The variant " + variant + " is not supported.");
+    }
+
+    public static GeneratorException collectorNotFound(String field) {
+        return new GeneratorException("The field " + field + " is neither a list nor a set.");
+    }
+
 }
@@ -16,18 +16,20 @@
 package io.github.mletkin.numerobis.generator;
 
 import static io.github.mletkin.numerobis.common.Util.exists;
-import static io.github.mletkin.numerobis.generator.common.ClassUtil.allMember;
-import static io.github.mletkin.numerobis.generator.common.ClassUtil.firstTypeArgument;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.assignExpr;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.collectionType;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.fieldAccess;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.methodCall;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.nameExpr;
+import static io.github.mletkin.numerobis.generator.common.GenerationUtil.newExpr;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.returnStmt;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.streamType;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.thisExpr;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -35,11 +37,17 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.CallableDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.Type;
 
 import io.github.mletkin.numerobis.generator.common.ClassUtil;
+import io.github.mletkin.numerobis.generator.common.MemberIndex;
 import io.github.mletkin.numerobis.generator.mutator.MutatorMethodDescriptor;
 
 /**
@@ -53,6 +61,11 @@ import io.github.mletkin.numerobis.generator.mutator.MutatorMethodDescriptor;
  * <li>returns the builder instance
  * <li>replaces the original content of the field
  * </ul>
+ * Collection and vararg mutators copy the items either through a stream or --
+ * if direct copies are requested -- with the copy constructor of
+ * {@code ArrayList} or {@code HashSet} that allocates the exact size. Vararg
+ * mutators create the collection with the array length and fill it with
+ * {@code Collections.addAll}.
  */
 public class MutatorHelper {
 
@@ -118,21 +131,23 @@ public class MutatorHelper {
                 : ClassUtil.hasSingleParameter(mutatorParameterType(mmd));
 
         return exists(//
-                allMember(owner.builderclass(), MethodDeclaration.class) //
-                        .filter(md -> md.getNameAsString().equals(mmd.methodName())) //
+                MemberIndex.of(owner.builderclass()).methods(mmd.methodName()) //
                         .filter(parameterFilter) //
                         .filter(md -> md.getType().equals(owner.builderClassType())));
     }
 
     private void addObjectMutator(MutatorMethodDescriptor mmd) {
-        createMethod(mmd, mmd.parameterName()).createBody() // product.x = x
+        var body = createBody(mmd, mmd.parameterName()) // product.x = x
                 .addStatement(assignExpr(fieldAccess(nameExpr(owner.naming().productField()), mmd.parameterName()),
-                        nameExpr(mmd.parameterName()))) //
-                .addStatement(returnStmt(thisExpr()));
+                        nameExpr(mmd.parameterName())));
+        if (owner.isBufferedArray(mmd.parameterName())) { // xCount = 0
+            body.addStatement(assignExpr(AdderHelper.countName(mmd.parameterName()), new IntegerLiteralExpr("0")));
+        }
+        body.addStatement(returnStmt(thisExpr()));
     }
 
     private void addStreamMutator(MutatorMethodDescriptor mmd) {
-        createMethod(mmd, "items").createBody() // product.x = items.collect(Collectors.toList())
+        createBody(mmd, "items") // product.x = items.collect(Collectors.toList())
                 .addStatement(assignExpr(//
                         fieldAccess(nameExpr(owner.naming().productField()), mmd.parameterName()), //
                         methodCall(//
@@ -146,17 +161,26 @@ public class MutatorHelper {
     }
 
     private String collector(MutatorMethodDescriptor mmd) {
-        if (ClassUtil.extendsInterface(mmd.parameterType(), List.class, owner.productUnit())) {
+        if (ClassUtil.extendsInterface(mmd.parameterType(), List.class, owner.productUnit(), owner.typeResolver())) {
             return "toList";
         }
-        if (ClassUtil.extendsInterface(mmd.parameterType(), Set.class, owner.productUnit())) {
+        if (ClassUtil.extendsInterface(mmd.parameterType(), Set.class, owner.productUnit(), owner.typeResolver())) {
             return "toSet";
         }
         throw new IllegalArgumentException();
     }
 
     private void addCollectionMutator(MutatorMethodDescriptor mmd) {
-        createMethod(mmd, "items").createBody() // product.x = items.stream().collect(Collectors.toList())
+        if (owner.directCopies()) {
+            createBody(mmd, "items") // product.x = new ArrayList<>(items)
+                    .addStatement(assignExpr(//
+                            fieldAccess(nameExpr(owner.naming().productField()), mmd.parameterName()), //
+                            copy(mmd, nameExpr("items")))) //
+                    .addStatement(returnStmt(thisExpr()));
+            owner.builderUnit().addImport(Collection.class);
+            return;
+        }
+        createBody(mmd, "items") // product.x = items.stream().collect(Collectors.toList())
                 .addStatement(assignExpr(//
                         fieldAccess(nameExpr(owner.naming().productField()), mmd.parameterName()), //
                         methodCall(//
@@ -170,7 +194,17 @@ public class MutatorHelper {
     }
 
     private void addVarArgMutator(MutatorMethodDescriptor mmd) {
-        createMethod(mmd, "items").createBody() // product.x = Stream.of(items).collect(Collectors.toList())
+        if (owner.directCopies()) {
+            var field = fieldAccess(nameExpr(owner.naming().productField()), mmd.parameterName());
+            createBody(mmd, "items") // product.x = new ArrayList<>(items.length)
+                    .addStatement(assignExpr(field, copy(mmd, fieldAccess(nameExpr("items"), "length")))) //
+                    .addStatement(methodCall( // Collections.addAll(product.x, items)
+                            nameExpr(Collections.class), "addAll", field.clone(), nameExpr("items"))) //
+                    .addStatement(returnStmt(thisExpr()));
+            owner.builderUnit().addImport(Collections.class);
+            return;
+        }
+        createBody(mmd, "items") // product.x = Stream.of(items).collect(Collectors.toList())
                 .addStatement(assignExpr(//
                         fieldAccess(nameExpr(owner.naming().productField()), mmd.parameterName()), //
                         methodCall(//
@@ -183,12 +217,28 @@ public class MutatorHelper {
         owner.builderUnit().addImport(Collectors.class);
     }
 
-    private MethodDeclaration createMethod(MutatorMethodDescriptor mmd, String parameterName) {
+    /**
+     * Creates a presized, modifiable collection.
+     *
+     * @param  mmd    mutator method descriptor
+     * @param  source expression with the collection to copy or the capacity
+     * @return        the constructor call
+     */
+    private Expression copy(MutatorMethodDescriptor mmd, Expression source) {
+        var copyClass = collector(mmd).equals("toList") ? ArrayList.class : HashSet.class;
+        owner.builderUnit().addImport(copyClass);
+        var type = new ClassOrInterfaceType() //
+                .setName(copyClass.getSimpleName()) //
+                .setTypeArguments(new NodeList<>());
+        return newExpr(type, source);
+    }
+
+    private BlockStmt createBody(MutatorMethodDescriptor mmd, String parameterName) {
         MethodDeclaration meth = owner.builderclass().addMethod(mmd.methodName(), Modifier.Keyword.PUBLIC);
         meth.addAndGetParameter(mutatorParameterType(mmd), parameterName) //
                 .setVarArgs(mmd.variant().isVarArg());
         meth.setType(owner.builderClassType());
-        return meth;
+        return owner.createMutatorBody(meth);
     }
 
     /**
@@ -203,11 +253,11 @@ public class MutatorHelper {
         case OBJECT:
             return mmd.parameterType();
         case STREAM:
-            return streamType(firstTypeArgument(mmd.parameterType()));
+            return streamType(mmd.itemType());
         case COLLECTION:
-            return collectionType(firstTypeArgument(mmd.parameterType()));
+            return collectionType(mmd.itemType());
         case VARARG:
-            return firstTypeArgument(mmd.parameterType());
+            return mmd.itemType();
         default:
             throw new IllegalArgumentException();
         }
@@ -17,7 +17,6 @@ package io.github.mletkin.numerobis.generator;
 
 import static io.github.mletkin.numerobis.common.Util.exists;
 import static io.github.mletkin.numerobis.common.Util.ifNotThrow;
-import static io.github.mletkin.numerobis.generator.common.ClassUtil.allMember;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.assignExpr;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.fieldAccess;
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.nameExpr;
@@ -26,22 +25,27 @@ import static io.github.mletkin.numerobis.generator.common.GenerationUtil.return
 import static io.github.mletkin.numerobis.generator.common.GenerationUtil.thisExpr;
 import static java.util.function.Predicate.not;
 
-import java.util.List;
-
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Modifier;
 import com.github.javaparser.ast.Modifier.Keyword;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.expr.BooleanLiteralExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.NullLiteralExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.PrimitiveType;
+import com.github.javaparser.ast.type.Type;
 
 import io.github.mletkin.numerobis.common.Util;
 import io.github.mletkin.numerobis.generator.common.ClassUtil;
+import io.github.mletkin.numerobis.generator.common.MemberIndex;
 import io.github.mletkin.numerobis.plugin.Naming;
 
 /**
@@ -57,6 +61,8 @@ public class RecordBuilderGenerator {
     private CompilationUnit productUnit;
     private RecordDeclaration productclass;
     private Forge forge;
+    private boolean resettable = false;
+    private boolean pooled = false;
 
     /**
      * Creates a generator for the builder class.
@@ -76,6 +82,30 @@ public class RecordBuilderGenerator {
         return this;
     }
 
+    /**
+     * Sets whether the builder gets a reset method.
+     *
+     * @param  resettable {@code true} for a reset method
+     * @return            the {@code RecordBuilderGenerator} instance
+     */
+    public RecordBuilderGenerator resettable(boolean resettable) {
+        this.resettable = resettable;
+        return this;
+    }
+
+    /**
+     * Sets whether the builder gets a thread confined pool.
+     * <p>
+     * Pooled builders are always resettable.
+     *
+     * @param  pooled {@code true} for a pool method
+     * @return        the {@code RecordBuilderGenerator} instance
+     */
+    public RecordBuilderGenerator pooled(boolean pooled) {
+        this.pooled = pooled;
+        return this;
+    }
+
     /**
      * Create a generator for an embedded builder class.
      *
@@ -112,10 +142,7 @@ public class RecordBuilderGenerator {
     }
 
     private boolean hasField(Parameter para) {
-        return allMember(builderclass(), FieldDeclaration.class) //
-                .map(FieldDeclaration::getVariables) //
-                .flatMap(List::stream) //
-                .anyMatch(vd -> vd.getNameAsString().equals(para.getNameAsString()));
+        return MemberIndex.of(builderclass()).field(para.getNameAsString()).isPresent();
     }
 
     private void addField(Parameter para) {
@@ -134,8 +161,7 @@ public class RecordBuilderGenerator {
 
     private boolean hasMutator(Parameter para) {
         return exists(//
-                allMember(builderclass(), MethodDeclaration.class) //
-                        .filter(md -> md.getNameAsString().equals(mutatorName(para.getNameAsString()))) //
+                MemberIndex.of(builderclass()).methods(mutatorName(para.getNameAsString())) //
                         .filter(ClassUtil.hasSingleParameter(para.getType())) //
                         .filter(md -> md.getType().equals(builderClassType())));
     }
@@ -160,6 +186,56 @@ public class RecordBuilderGenerator {
         return naming.mutatorPrefix() + Util.firstLetterUppercase(fieldName);
     }
 
+    /**
+     * Adds a reset method that sets all builder fields to their default value.
+     * <p>
+     * signature: {@code public Builder reset();}
+     *
+     * @return the generator instance
+     */
+    public RecordBuilderGenerator addResetMethod() {
+        if ((resettable || pooled) && !hasResetMethod()) {
+            var body = builderclass().addMethod(naming.resetMethod(), Modifier.Keyword.PUBLIC) //
+                    .setType(builderClassType()) //
+                    .createBody();
+            productclass.getParameters().forEach(para -> body.addStatement( //
+                    assignExpr(fieldAccess(thisExpr(), para.getNameAsString()), defaultValue(para.getType()))));
+            body.addStatement(returnStmt(thisExpr()));
+        }
+        return this;
+    }
+
+    private boolean hasResetMethod() {
+        return exists( //
+                MemberIndex.of(builderclass()).methods(naming.resetMethod()) //
+                        .filter(md -> md.getParameters().isEmpty()));
+    }
+
+    private static Expression defaultValue(Type type) {
+        if (!type.isPrimitiveType()) {
+            return new NullLiteralExpr();
+        }
+        return type.asPrimitiveType().getType() == PrimitiveType.Primitive.BOOLEAN //
+                ? new BooleanLiteralExpr(false)
+                : new IntegerLiteralExpr("0");
+    }
+
+    /**
+     * Adds a thread confined pool with a pool method.
+     * <p>
+     * signature: {@code public static Builder pooled();}
+     *
+     * @return the generator instance
+     */
+    public RecordBuilderGenerator addPoolMethod() {
+        if (pooled) {
+            forge.addPoolField(naming.poolField());
+            forge.addPoolMethod(naming.poolMethod(), naming.poolField(), naming.resetMethod(),
+                    new ConstructorDeclaration(), newExpr(builderClassType()));
+        }
+        return this;
+    }
+
     /**
      * Adds a default builder constructor.
      *
@@ -202,8 +278,7 @@ public class RecordBuilderGenerator {
 
     private boolean hasBuildMethod() {
         return exists( //
-                allMember(builderclass(), MethodDeclaration.class) //
-                        .filter(md -> md.getNameAsString().equals(naming.buildMethod())) //
+                MemberIndex.of(builderclass()).methods(naming.buildMethod()) //
                         .filter(md -> md.getType().equals(productClassType())));
     }
 
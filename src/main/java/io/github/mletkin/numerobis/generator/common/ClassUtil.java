@@ -17,22 +17,24 @@ package io.github.mletkin.numerobis.generator.common;
 
 import static io.github.mletkin.numerobis.common.Util.exists;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.CallableDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.RecordDeclaration;
 import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
-import com.github.javaparser.ast.expr.SimpleName;
+import com.github.javaparser.ast.nodeTypes.NodeWithTypeParameters;
 import com.github.javaparser.ast.type.Type;
 
 /**
@@ -80,7 +82,7 @@ public final class ClassUtil {
      * @return {@code true} if the class contains a constructor
      */
     public static boolean hasExplicitConstructor(ClassOrInterfaceDeclaration type) {
-        return exists(allMember(type, ConstructorDeclaration.class));
+        return exists(MemberIndex.of(type).constructors());
     }
 
     /**
@@ -91,7 +93,7 @@ public final class ClassUtil {
      * @return {@code true} if the class contains a default constructor.
      */
     public static boolean hasDefaultConstructor(ClassOrInterfaceDeclaration type) {
-        return exists(allMember(type, ConstructorDeclaration.class) //
+        return exists(MemberIndex.of(type).constructors() //
                 .filter(cd -> cd.getParameters().isEmpty()));
     }
 
@@ -105,39 +107,114 @@ public final class ClassUtil {
      * @return {@code true} if the class contains a product constructor.
      */
     public static boolean hasProductConstructor(ClassOrInterfaceDeclaration type, String productClassName) {
-        return allMember(type, ConstructorDeclaration.class) //
+        return MemberIndex.of(type).constructors() //
                 .filter(cd -> cd.getParameters().size() == 1) //
                 .anyMatch(cd -> cd.getParameter(0).getTypeAsString().equals(productClassName));
     }
 
     /**
      * Checks, whether a variable type is a {@code Collection}.
+     * <p>
+     * Raw collection types are not treated as collections.
      *
      * @param vd
      *               declaration of the variable to check
      * @param cu
      *               Compilation unit with imports
+     * @param resolver
+     *               resolver for the type names
      * @return {@code true}, if the type is a {@code Collection}
      */
-    public static boolean isCollection(VariableDeclarator vd, CompilationUnit cu) {
-        return extendsInterface(vd.getType(), Collection.class, cu);
+    public static boolean isCollection(VariableDeclarator vd, CompilationUnit cu, TypeResolver resolver) {
+        return itemType(vd.getType(), cu, resolver).isPresent();
+    }
+
+    /**
+     * Checks, whether a variable is a one dimensional array that can be created.
+     * <p>
+     * Arrays of parameterized types and of type variables can't be created with
+     * {@code new}, they are treated like multi dimensional arrays.
+     *
+     * @param  vd variable declaration to check
+     * @return    {@code true}, if the type is an array of a non array, non generic
+     *            type
+     */
+    public static boolean isArray(VariableDeclarator vd) {
+        if (!vd.getType().isArrayType()) {
+            return false;
+        }
+        var component = vd.getType().asArrayType().getComponentType();
+        return !component.isArrayType() && !isGeneric(component, vd);
+    }
+
+    private static boolean isGeneric(Type type, Node context) {
+        if (!type.isClassOrInterfaceType()) {
+            return false;
+        }
+        var classType = type.asClassOrInterfaceType();
+        if (classType.getTypeArguments().isPresent()) {
+            return true;
+        }
+        return classType.getScope().isEmpty() && Stream.iterate(context.getParentNode(), Optional::isPresent,
+                node -> node.get().getParentNode()) //
+                .map(Optional::get) //
+                .filter(NodeWithTypeParameters.class::isInstance) //
+                .map(node -> ((NodeWithTypeParameters<?>) node).getTypeParameters()) //
+                .flatMap(NodeList::stream) //
+                .anyMatch(parameter -> parameter.getNameAsString().equals(classType.getNameAsString()));
     }
 
     /**
      * Checks, whether a field declaration type is a {@code Collection}.
+     * <p>
+     * Raw collection types are not treated as collections.
      *
      * @param fd
      *               field declaration to check
      * @param cu
      *               Compilation unit with imports
+     * @param resolver
+     *               resolver for the type names
      * @return {@code true}, if the type is a {@code Collection}
      */
-    public static boolean isCollection(FieldDeclaration fd, CompilationUnit cu) {
-        return extendsInterface(fd.getElementType(), Collection.class, cu);
+    public static boolean isCollection(FieldDeclaration fd, CompilationUnit cu, TypeResolver resolver) {
+        return itemType(fd.getElementType(), cu, resolver).isPresent();
+    }
+
+    /**
+     * Returns the item type of a {@code Collection} type.
+     * <p>
+     * The item type of a subtype like {@code class Lines extends
+     * ArrayList<Line>} is taken from the type arguments of its supertypes and
+     * written fully qualified.
+     *
+     * @param type
+     *                     type to check
+     * @param cu
+     *                     Compilation unit with imports
+     * @param resolver
+     *                     resolver for the type names
+     * @return the item type, empty if the type is no collection or a raw type
+     */
+    public static Optional<Type> itemType(Type type, CompilationUnit cu, TypeResolver resolver) {
+        if (!extendsInterface(type, Collection.class, cu, resolver)) {
+            return Optional.empty();
+        }
+        return resolver.itemType(type, cu).flatMap(ClassUtil::parseType);
+    }
+
+    private static Optional<Type> parseType(String type) {
+        try {
+            return Optional.of(StaticJavaParser.parseType(type.replace('$', '.')));
+        } catch (ParseProblemException e) {
+            return Optional.empty();
+        }
     }
 
     /**
      * Checks, whether a type extends a given interface.
+     * <p>
+     * The type is resolved by the given {@link TypeResolver}.
      *
      * @param type
      *                  Type to check
@@ -145,26 +222,12 @@ public final class ClassUtil {
      *                  Class object of the interface
      * @param cu
      *                  Compilation unit with imports
+     * @param resolver
+     *                  resolver for the type names
      * @return {@code true}, if the type extends the interface
      */
-    public static boolean extendsInterface(Type type, Class<?> clazz, CompilationUnit cu) {
-        String typ = type.findFirst(SimpleName.class).map(SimpleName::asString).orElse("#");
-
-        Optional<String> fullType = cu.getImports().stream() //
-                .map(ImportDeclaration::getNameAsString) //
-                .filter(i -> i.endsWith(typ)) //
-                .findFirst();
-
-        try {
-            if (fullType.isPresent()) {
-                Class<?> c = Class.forName(fullType.get());
-                c.asSubclass(clazz);
-                return true;
-            }
-        } catch (ClassCastException | ClassNotFoundException e) {
-            return false;
-        }
-        return false;
+    public static boolean extendsInterface(Type type, Class<?> clazz, CompilationUnit cu, TypeResolver resolver) {
+        return resolver.isSubtype(type, clazz, cu);
     }
 
     /**
@@ -190,6 +253,9 @@ public final class ClassUtil {
 
     /**
      * Returns all members of a given type for a type declaration.
+     * <p>
+     * Only the direct children of the declaration are inspected. The stream is
+     * based on a copy, so members may be added while it is processed.
      *
      * @param <T>
      *                       member Type
@@ -200,13 +266,9 @@ public final class ClassUtil {
      * @return stream of members
      */
     public static <T extends Node> Stream<T> allMember(TypeDeclaration decl, Class<T> memberType) {
-        return decl.findAll(memberType) //
-                .stream() //
-                .filter(isMember(decl));
-    }
-
-    private static Predicate<Node> isMember(Node parent) {
-        return node -> node.getParentNode().orElse(null) == parent;
+        return new ArrayList<>(decl.getChildNodes()).stream() //
+                .filter(memberType::isInstance) //
+                .map(memberType::cast);
     }
 
     /**
@@ -0,0 +1,124 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.generator.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Source of the direct supertypes of types.
+ * <p>
+ * Type names are binary names as returned by {@link Class#getName()}.
+ * Implementations must be thread safe.
+ */
+public interface HierarchySource {
+
+    /**
+     * Checks whether the source knows a type.
+     *
+     * @param  typeName binary name of the type
+     * @return          {@code true} if the type is known
+     */
+    boolean contains(String typeName);
+
+    /**
+     * Returns the direct super class and interfaces of a type.
+     *
+     * @param  typeName binary name of the type
+     * @param  resolver resolver for names that are not fully qualified
+     * @return          names of the direct supertypes, empty if the type is unknown
+     */
+    Optional<List<String>> supertypes(String typeName, TypeResolver resolver);
+
+    /**
+     * Returns the type parameters and the direct supertypes with their type
+     * arguments.
+     * <p>
+     * Sources that know no type arguments describe every type as non generic.
+     *
+     * @param  typeName binary name of the type
+     * @param  resolver resolver for names that are not fully qualified
+     * @return          the signature, empty if the type is unknown
+     */
+    default Optional<Signature> signature(String typeName, TypeResolver resolver) {
+        return supertypes(typeName, resolver).map(supertypes -> new Signature(List.of(), supertypes));
+    }
+
+    /**
+     * Type parameters and direct supertypes of a type.
+     * <p>
+     * A supertype is written as binary name, followed by the type arguments in
+     * angle brackets if it has any, e.g. {@code java.util.AbstractList<E>}.
+     * Arguments use binary names and the names of the type parameters.
+     *
+     * @param typeParameters names of the type parameters
+     * @param supertypes     direct supertypes with type arguments
+     */
+    record Signature(List<String> typeParameters, List<String> supertypes) {
+
+        /**
+         * Returns the supertypes without type arguments.
+         *
+         * @return binary names of the direct supertypes
+         */
+        public List<String> rawSupertypes() {
+            return supertypes.stream().map(Signature::raw).toList();
+        }
+
+        /**
+         * Strips the type arguments from a type.
+         *
+         * @param  type type with or without type arguments
+         * @return      the binary name
+         */
+        public static String raw(String type) {
+            var bracket = type.indexOf('<');
+            return bracket < 0 ? type : type.substring(0, bracket);
+        }
+
+        /**
+         * Returns the type arguments of a type.
+         *
+         * @param  type type with or without type arguments
+         * @return      the arguments, empty if there are none
+         */
+        public static List<String> arguments(String type) {
+            var bracket = type.indexOf('<');
+            if (bracket < 0) {
+                return List.of();
+            }
+            var result = new ArrayList<String>();
+            var depth = 0;
+            var start = bracket + 1;
+            for (int n = start; n < type.length(); n++) {
+                var c = type.charAt(n);
+                if (c == '<') {
+                    depth++;
+                } else if (c == '>' && depth > 0) {
+                    depth--;
+                } else if ((c == ',' && depth == 0) || c == '>') {
+                    result.add(type.substring(start, n).trim());
+                    start = n + 1;
+                    if (c == '>') {
+                        break;
+                    }
+                }
+            }
+            return List.copyOf(result);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.generator.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.observer.AstObserverAdapter;
+
+/**
+ * Index of the members of a type declaration.
+ * <p>
+ * Methods are indexed by name, fields by the names of their variables. The
+ * index is built on first use, attached to the type declaration and kept up to
+ * date when members are added, removed or replaced. Parameter and return types
+ * are set after a generated method is added to the class, so they are checked
+ * on lookup.
+ * <p>
+ * Renaming a member after it was added is not tracked.
+ */
+public final class MemberIndex {
+
+    private static final DataKey<MemberIndex> INDEX = new DataKey<>() {
+    };
+
+    private final NodeList<BodyDeclaration<?>> members;
+    private final Map<String, List<MethodDeclaration>> methods = new HashMap<>();
+    private final List<ConstructorDeclaration> constructors = new ArrayList<>();
+    private final Map<String, VariableDeclarator> fields = new HashMap<>();
+    private final Observer observer = new Observer();
+
+    private MemberIndex(NodeList<BodyDeclaration<?>> members) {
+        this.members = members;
+        members.forEach(this::add);
+        members.register(observer);
+    }
+
+    /**
+     * Returns the index of a type declaration.
+     *
+     * @param  type the type declaration
+     * @return      the {@code MemberIndex} instance
+     */
+    public static MemberIndex of(TypeDeclaration<?> type) {
+        if (type.containsData(INDEX)) {
+            var index = type.getData(INDEX);
+            if (index.members == type.getMembers()) {
+                return index;
+            }
+            index.members.unregister(index.observer);
+        }
+        var index = new MemberIndex(type.getMembers());
+        type.setData(INDEX, index);
+        return index;
+    }
+
+    /**
+     * Returns the methods with the given name.
+     *
+     * @param  name name of the method
+     * @return      stream of method declarations
+     */
+    public Stream<MethodDeclaration> methods(String name) {
+        return methods.getOrDefault(name, List.of()).stream();
+    }
+
+    /**
+     * Returns all constructors.
+     *
+     * @return stream of constructor declarations
+     */
+    public Stream<ConstructorDeclaration> constructors() {
+        return constructors.stream();
+    }
+
+    /**
+     * Returns the declarator of the field with the given name.
+     *
+     * @param  name name of the field
+     * @return      the variable declarator, empty if there is none
+     */
+    public Optional<VariableDeclarator> field(String name) {
+        return Optional.ofNullable(fields.get(name));
+    }
+
+    private void add(Node member) {
+        if (member instanceof MethodDeclaration md) {
+            methods.computeIfAbsent(md.getNameAsString(), k -> new ArrayList<>()).add(md);
+        } else if (member instanceof ConstructorDeclaration cd) {
+            constructors.add(cd);
+        } else if (member instanceof FieldDeclaration fd) {
+            fd.getVariables().forEach(vd -> fields.putIfAbsent(vd.getNameAsString(), vd));
+        }
+    }
+
+    private void remove(Node member) {
+        if (member instanceof MethodDeclaration md) {
+            var list = methods.get(md.getNameAsString());
+            if (list != null) {
+                list.removeIf(m -> m == md);
+            }
+        } else if (member instanceof ConstructorDeclaration cd) {
+            constructors.removeIf(c -> c == cd);
+        } else if (member instanceof FieldDeclaration fd) {
+            fd.getVariables().forEach(vd -> fields.remove(vd.getNameAsString(), vd));
+        }
+    }
+
+    /**
+     * Follows the changes of the member list.
+     */
+    private class Observer extends AstObserverAdapter {
+
+        @Override
+        public void listChange(NodeList<?> observedNode, ListChangeType type, int index, Node nodeAddedOrRemoved) {
+            if (type == ListChangeType.ADDITION) {
+                add(nodeAddedOrRemoved);
+            } else {
+                remove(nodeAddedOrRemoved);
+            }
+        }
+
+        @Override
+        public void listReplacement(NodeList<?> observedNode, int index, Node oldNode, Node newNode) {
+            remove(oldNode);
+            add(newNode);
+        }
+    }
+}
@@ -0,0 +1,368 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.generator.common;
+
+import java.lang.reflect.MalformedParameterizedTypeException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.PackageDeclaration;
+import com.github.javaparser.ast.type.Type;
+
+import io.github.mletkin.numerobis.generator.common.HierarchySource.Signature;
+
+/**
+ * Resolves type names used in a compilation unit and checks the type hierarchy.
+ * <p>
+ * Simple names are resolved like the compiler does: single type imports, the
+ * package of the unit, on demand imports and {@code java.lang}. Resolved names
+ * are cached by imports, package and name, the supertypes by type name. Both
+ * caches are thread safe.
+ * <p>
+ * The supertypes are taken from the hierarchy sources in the given order,
+ * reflection on the plugin's class path is always consulted last. The
+ * reflection results are shared by all resolvers.
+ * <p>
+ * Each execution creates its own resolver and hands it to the generators.
+ */
+public final class TypeResolver {
+
+    private static final DataKey<Scope> SCOPE = new DataKey<>() {
+    };
+
+    private static final HierarchySource REFLECTION = new ReflectionSource();
+    private static final String COLLECTION = Collection.class.getName();
+    private static final Pattern NAME = Pattern.compile("[\\w$.]+");
+
+    private final List<HierarchySource> sources;
+    private final Map<Key, Optional<String>> resolved = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> supertypes = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a resolver.
+     *
+     * @param sources hierarchy sources consulted before reflection
+     */
+    public TypeResolver(List<HierarchySource> sources) {
+        this.sources = Stream.concat(sources.stream(), Stream.of(REFLECTION)).toList();
+    }
+
+    /**
+     * Checks whether a type is the given class or one of its subtypes.
+     *
+     * @param  type  type to check
+     * @param  clazz class object of the supertype
+     * @param  cu    compilation unit in which the type is used
+     * @return       {@code true} if the type is a subtype
+     */
+    public boolean isSubtype(Type type, Class<?> clazz, CompilationUnit cu) {
+        return resolve(type, cu) //
+                .map(this::supertypes) //
+                .map(s -> s.contains(clazz.getName())) //
+                .orElse(false);
+    }
+
+    /**
+     * Returns the item type of a collection type used in a compilation unit.
+     * <p>
+     * The type arguments are followed through the supertypes up to
+     * {@code Collection}. Arguments of the given type are kept as written,
+     * names taken from type declarations are binary names.
+     *
+     * @param  type type to check
+     * @param  cu   compilation unit in which the type is used
+     * @return      the item type as source text, empty if the type is no
+     *              collection or is used raw
+     */
+    public Optional<String> itemType(Type type, CompilationUnit cu) {
+        if (!type.isClassOrInterfaceType()) {
+            return Optional.empty();
+        }
+        var arguments = type.asClassOrInterfaceType().getTypeArguments() //
+                .map(list -> list.stream().map(Node::toString).toList()) //
+                .orElse(List.of());
+        return resolve(type, cu).flatMap(name -> itemType(name, arguments, new HashSet<>()));
+    }
+
+    private Optional<String> itemType(String typeName, List<String> arguments, Set<String> visited) {
+        if (typeName.equals(COLLECTION)) {
+            return arguments.size() == 1 ? Optional.of(arguments.get(0)) : Optional.empty();
+        }
+        var signature = visited.add(typeName) ? signature(typeName) : Optional.<Signature>empty();
+        if (signature.isEmpty() || signature.get().typeParameters().size() != arguments.size()) {
+            return Optional.empty();
+        }
+        var parameters = signature.get().typeParameters();
+        return signature.get().supertypes().stream() //
+                .filter(s -> supertypes(Signature.raw(s)).contains(COLLECTION)) //
+                .map(s -> itemType(Signature.raw(s), substitute(Signature.arguments(s), parameters, arguments),
+                        visited)) //
+                .flatMap(Optional::stream) //
+                .findFirst();
+    }
+
+    /**
+     * Replaces the type parameters in type arguments.
+     */
+    private static List<String> substitute(List<String> types, List<String> parameters, List<String> arguments) {
+        return types.stream() //
+                .map(t -> NAME.matcher(t).replaceAll(m -> {
+                    var index = parameters.indexOf(m.group());
+                    return Matcher.quoteReplacement(index < 0 ? m.group() : arguments.get(index));
+                })) //
+                .toList();
+    }
+
+    /**
+     * Resolves the name of a type used in a compilation unit.
+     *
+     * @param  type type to resolve
+     * @param  cu   compilation unit in which the type is used
+     * @return      the binary name of the type, empty if it can't be resolved
+     */
+    public Optional<String> resolve(Type type, CompilationUnit cu) {
+        if (!type.isClassOrInterfaceType()) {
+            return Optional.empty();
+        }
+        return resolve(new Key(scope(cu), type.asClassOrInterfaceType().getNameWithScope()));
+    }
+
+    /**
+     * Resolves a type name used in a source file.
+     *
+     * @param  name            simple or qualified name of the type
+     * @param  packageName     package of the source file
+     * @param  singleImports   single type imports of the source file
+     * @param  onDemandImports packages imported on demand by the source file
+     * @return                 the binary name of the type, empty if it can't be
+     *                         resolved
+     */
+    public Optional<String> resolve(String name, String packageName, List<String> singleImports,
+            List<String> onDemandImports) {
+        return resolve(new Key(new Scope(packageName, singleImports, onDemandImports, -1), name));
+    }
+
+    private Optional<String> resolve(Key key) {
+        var result = resolved.get(key);
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        result = lookup(key.scope(), key.name());
+        resolved.putIfAbsent(key, result);
+        return result;
+    }
+
+    /**
+     * Returns the number of resolutions answered from the cache.
+     *
+     * @return number of cache hits
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of resolutions that had to be computed.
+     *
+     * @return number of cache misses
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    private Optional<String> lookup(Scope scope, String name) {
+        var dot = name.indexOf('.');
+        if (dot > 0 && isKnown(name)) {
+            return Optional.of(name);
+        }
+        var simpleName = dot < 0 ? name : name.substring(0, dot);
+        var nested = dot < 0 ? "" : name.substring(dot).replace('.', '$');
+
+        var imported = scope.singleImports().stream() //
+                .filter(i -> i.equals(simpleName) || i.endsWith("." + simpleName)) //
+                .findFirst();
+        if (imported.isPresent()) {
+            return Optional.of(imported.get() + nested);
+        }
+        return Stream.concat(Stream.of(scope.qualify(simpleName)), //
+                Stream.concat(scope.onDemandImports().stream(), Stream.of("java.lang")) //
+                        .map(p -> p + "." + simpleName)) //
+                .map(n -> n + nested) //
+                .filter(this::isKnown) //
+                .findFirst();
+    }
+
+    /**
+     * Checks whether a type is known to one of the hierarchy sources.
+     *
+     * @param  typeName binary name of the type
+     * @return          {@code true} if the type is known
+     */
+    public boolean isKnown(String typeName) {
+        return sources.stream().anyMatch(s -> s.contains(typeName));
+    }
+
+    private Optional<Signature> signature(String typeName) {
+        return sources.stream() //
+                .filter(s -> s.contains(typeName)) //
+                .findFirst() //
+                .flatMap(s -> s.signature(typeName, this));
+    }
+
+    private Optional<List<String>> directSupertypes(String typeName) {
+        return sources.stream() //
+                .filter(s -> s.contains(typeName)) //
+                .findFirst() //
+                .flatMap(s -> s.supertypes(typeName, this));
+    }
+
+    /**
+     * Returns the type and all of its supertypes.
+     *
+     * @param  typeName binary name of the type
+     * @return          set of binary names
+     */
+    private Set<String> supertypes(String typeName) {
+        var result = supertypes.get(typeName);
+        if (result == null) {
+            var collected = new HashSet<String>();
+            collect(typeName, collected);
+            result = Set.copyOf(collected);
+            supertypes.putIfAbsent(typeName, result);
+        }
+        return result;
+    }
+
+    private void collect(String typeName, Set<String> collected) {
+        if (collected.add(typeName)) {
+            directSupertypes(typeName).ifPresent(list -> list.forEach(s -> collect(s, collected)));
+        }
+    }
+
+    private static Scope scope(CompilationUnit cu) {
+        var scope = cu.containsData(SCOPE) ? cu.getData(SCOPE) : null;
+        if (scope == null || scope.importCount() != cu.getImports().size()) {
+            scope = Scope.of(cu);
+            cu.setData(SCOPE, scope);
+        }
+        return scope;
+    }
+
+    /**
+     * Package and imports of a compilation unit.
+     */
+    private record Scope(String packageName, List<String> singleImports, List<String> onDemandImports,
+            int importCount) {
+
+        private static Scope of(CompilationUnit cu) {
+            var singleImports = new ArrayList<String>();
+            var onDemandImports = new ArrayList<String>();
+            cu.getImports().stream() //
+                    .filter(i -> !i.isStatic()) //
+                    .forEach(i -> (i.isAsterisk() ? onDemandImports : singleImports).add(i.getNameAsString()));
+            var packageName = cu.getPackageDeclaration().map(PackageDeclaration::getNameAsString).orElse("");
+            return new Scope(packageName, List.copyOf(singleImports), List.copyOf(onDemandImports),
+                    cu.getImports().size());
+        }
+
+        private String qualify(String simpleName) {
+            return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        }
+    }
+
+    /**
+     * Key of the resolution cache.
+     */
+    private record Key(Scope scope, String name) {
+    }
+
+    /**
+     * Reads the supertypes of classes from the plugin's class path.
+     * <p>
+     * Classes are loaded but not initialized.
+     */
+    private static class ReflectionSource implements HierarchySource {
+
+        private static final Map<String, Optional<Signature>> CACHE = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean contains(String typeName) {
+            return lookup(typeName).isPresent();
+        }
+
+        @Override
+        public Optional<List<String>> supertypes(String typeName, TypeResolver resolver) {
+            return lookup(typeName);
+        }
+
+        @Override
+        public Optional<Signature> signature(String typeName, TypeResolver resolver) {
+            return CACHE.computeIfAbsent(typeName, ReflectionSource::load);
+        }
+
+        private Optional<List<String>> lookup(String typeName) {
+            return CACHE.computeIfAbsent(typeName, ReflectionSource::load).map(Signature::rawSupertypes);
+        }
+
+        private static Optional<Signature> load(String typeName) {
+            try {
+                var clazz = Class.forName(typeName, false, ReflectionSource.class.getClassLoader());
+                var result = new ArrayList<String>();
+                Optional.ofNullable(clazz.getGenericSuperclass()) //
+                        .map(ReflectionSource::typeName) //
+                        .ifPresent(result::add);
+                Stream.of(clazz.getGenericInterfaces()).map(ReflectionSource::typeName).forEach(result::add);
+                var parameters = Stream.of(clazz.getTypeParameters()).map(TypeVariable::getName).toList();
+                return Optional.of(new Signature(parameters, List.copyOf(result)));
+            } catch (ClassNotFoundException | LinkageError | TypeNotPresentException
+                    | MalformedParameterizedTypeException e) {
+                return Optional.empty();
+            }
+        }
+
+        /**
+         * Writes a supertype with the binary name of the raw type.
+         */
+        private static String typeName(java.lang.reflect.Type type) {
+            if (type instanceof ParameterizedType parameterized) {
+                return parameterized.getRawType().getTypeName() + Stream.of(parameterized.getActualTypeArguments()) //
+                        .map(java.lang.reflect.Type::getTypeName) //
+                        .collect(Collectors.joining(", ", "<", ">"));
+            }
+            return type.getTypeName();
+        }
+    }
+}
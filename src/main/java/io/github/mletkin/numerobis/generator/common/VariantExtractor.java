@@ -16,12 +16,11 @@
 package io.github.mletkin.numerobis.generator.common;
 
 import java.lang.annotation.Annotation;
+import java.util.List;
 import java.util.Optional;
 
-import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.expr.AnnotationExpr;
-import com.github.javaparser.ast.expr.ArrayInitializerExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MemberValuePair;
 
@@ -47,16 +46,38 @@ public class VariantExtractor {
                 .toArray(ListMutatorVariant[]::new);
     }
 
+    /**
+     * Returns the name of an enum constant given as annotation parameter.
+     *
+     * @param  fd            the annotated field
+     * @param  parameterName name of the annotation parameter
+     * @return               simple name of the constant, empty if not given
+     */
+    public Optional<String> constant(FieldDeclaration fd, String parameterName) {
+        return fd.getAnnotationByClass(annotationClass) //
+                .flatMap(anno -> listVariants(anno, parameterName)) //
+                .map(MemberValuePair::getValue) //
+                .map(Expression::toString) //
+                .map(this::extractName);
+    }
+
     private String extractName(String variant) {
         return variant.substring(variant.lastIndexOf('.') + 1);
     }
 
-    private NodeList<Expression> variantExpressions(FieldDeclaration fd, String parameterName) {
+    /**
+     * Returns the values of an array parameter.
+     * <p>
+     * A single value may be given without braces.
+     */
+    private List<Expression> variantExpressions(FieldDeclaration fd, String parameterName) {
         return fd.getAnnotationByClass(annotationClass) //
                 .flatMap(anno -> listVariants(anno, parameterName)) //
-                .flatMap(mvp -> mvp.findFirst(ArrayInitializerExpr.class)) //
-                .map(ArrayInitializerExpr::getValues) //
-                .orElseGet(NodeList::new);
+                .map(MemberValuePair::getValue) //
+                .map(value -> value.isArrayInitializerExpr() //
+                        ? List.<Expression>copyOf(value.asArrayInitializerExpr().getValues())
+                        : List.of(value)) //
+                .orElseGet(List::of);
     }
 
     private Optional<MemberValuePair> listVariants(AnnotationExpr anno, String parameterName) {
@@ -3,13 +3,16 @@ package io.github.mletkin.numerobis.generator.mutator;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 
 import io.github.mletkin.numerobis.annotation.GenerateListMutator;
 import io.github.mletkin.numerobis.common.Util;
 import io.github.mletkin.numerobis.generator.ListMutatorVariant;
+import io.github.mletkin.numerobis.generator.common.ClassUtil;
 import io.github.mletkin.numerobis.generator.common.StringExtractor;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
 import io.github.mletkin.numerobis.generator.common.VariantExtractor;
 
 /**
@@ -26,6 +29,8 @@ public class ListMutatorDescriptorGenerator {
     private FieldDeclaration field;
     private ListMutatorVariant[] variants;
     private String mutatorPrefix;
+    private CompilationUnit cu;
+    private TypeResolver typeResolver;
 
     /**
      * Generates a generator instance.
@@ -33,14 +38,19 @@ public class ListMutatorDescriptorGenerator {
      * @param field         declaration of the list field to manipulate
      * @param variants      list of mutator variants
      * @param mutatorPrefix prefix to use for the mutator method
+     * @param cu            unit containing the product class
+     * @param typeResolver  resolver for the type names of the unit
      */
-    public ListMutatorDescriptorGenerator(FieldDeclaration field, ListMutatorVariant[] variants, String mutatorPrefix) {
+    public ListMutatorDescriptorGenerator(FieldDeclaration field, ListMutatorVariant[] variants, String mutatorPrefix,
+            CompilationUnit cu, TypeResolver typeResolver) {
         this.field = field;
         this.variants = Util.firstNotEmpty( //
                 new VariantExtractor(GenerateListMutator.class).variants(field), //
                 variants) //
                 .orElse(DEFAULT);
         this.mutatorPrefix = mutatorPrefix;
+        this.cu = cu;
+        this.typeResolver = typeResolver;
     }
 
     /**
@@ -64,6 +74,7 @@ public class ListMutatorDescriptorGenerator {
                 .withMethodName(methodName(vd)) //
                 .withParameterName(vd.getNameAsString()) //
                 .withParameterType(vd.getType()) //
+                .withItemType(ClassUtil.itemType(vd.getType(), cu, typeResolver).orElse(null)) //
                 .withVariant(variant) //
                 .build();
     }
@@ -27,6 +27,7 @@ public class MutatorMethodDescriptor {
     private String methodName;
     private String parameterName;
     private Type parameterType; // actually the field type
+    private Type itemType;
     private ListMutatorVariant variant;
 
     public String methodName() {
@@ -41,6 +42,15 @@ public class MutatorMethodDescriptor {
         return parameterType;
     }
 
+    /**
+     * Returns the item type of a collection field.
+     *
+     * @return the item type, {@code null} for other fields
+     */
+    public Type itemType() {
+        return itemType;
+    }
+
     public ListMutatorVariant variant() {
         return variant;
     }
@@ -68,6 +78,11 @@ public class MutatorMethodDescriptor {
             return this;
         }
 
+        public Builder withItemType(Type itemType) {
+            product.itemType = itemType;
+            return this;
+        }
+
         public Builder withVariant(ListMutatorVariant variant) {
             product.variant = variant;
             return this;
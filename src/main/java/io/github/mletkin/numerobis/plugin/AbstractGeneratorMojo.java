@@ -0,0 +1,474 @@
+/**
+ * (c) 2019 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static io.github.mletkin.numerobis.common.Util.stream;
+import static java.util.Optional.ofNullable;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+
+import io.github.mletkin.numerobis.annotation.GenerateAdder;
+import io.github.mletkin.numerobis.annotation.GenerateListMutator;
+import io.github.mletkin.numerobis.common.PackageVisible;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
+import io.github.mletkin.numerobis.plugin.BuildReport.Phase;
+
+/**
+ * Common base of the plugin goals.
+ * <ul>
+ * <li>gathers the generator configuration from the pom.xml
+ * <li>walks through the source file tree
+ * <li>indexes the types of sources and class path
+ * <li>runs actions for each java file, optionally in parallel
+ * </ul>
+ */
+public abstract class AbstractGeneratorMojo extends AbstractMojo {
+
+    /**
+     * Possible variants for creation of builder instances.
+     */
+    @PackageVisible
+    enum Creation {
+        CONSTRUCTOR, FACTORY;
+
+        @PackageVisible
+        boolean flag() {
+            return this == FACTORY;
+        }
+    }
+
+    /**
+     * Possible location variants of the builder class.
+     */
+    @PackageVisible
+    enum Location {
+        EMBEDDED, SEPARATE;
+
+        @PackageVisible
+        boolean flag() {
+            return this == EMBEDDED;
+        }
+    }
+
+    /**
+     * Possible ways of copying the items in list mutators.
+     */
+    @PackageVisible
+    enum CopyStyle {
+        STREAM, DIRECT;
+
+        @PackageVisible
+        boolean flag() {
+            return this == DIRECT;
+        }
+    }
+
+    /**
+     * The directories containing the sources to be processed.
+     */
+    @Parameter(defaultValue = "${project.compileSourceRoots}", readonly = false, required = true)
+    private List<String> compileSourceRoots;
+
+    /**
+     * Patterns of the source files to process, relative to the source roots.
+     * <p>
+     * The default includes all java files.
+     */
+    @Parameter
+    private List<String> includes;
+
+    /**
+     * Patterns of source files and directories to skip, relative to the source
+     * roots.
+     * <p>
+     * Directories matching a pattern ending in {@code /**} are not traversed.
+     */
+    @Parameter
+    private List<String> excludes;
+
+    /**
+     * The class path elements used to recognize collection types of dependencies.
+     */
+    @Parameter(defaultValue = "${project.compileClasspathElements}", readonly = true)
+    private List<String> classpathElements;
+
+    /**
+     * Where the generated builder classes are stored.
+     * <p>
+     * The packages are converted to file paths.
+     */
+    @Parameter
+    private String targetDirectory;
+
+    /**
+     * How instances of the builder class shall be created
+     */
+    @Parameter(defaultValue = "FACTORY")
+    private Creation builderCreation;
+
+    /**
+     * Where the builder class shall be created.
+     */
+    @Parameter(defaultValue = "EMBEDDED")
+    private Location builderLocation;
+
+    /**
+     * Whether product instances may be changes after creation.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean productsAreMutable;
+
+    /**
+     * Whether the build method freezes immutable products.
+     * <p>
+     * The collections of the product are replaced by unmodifiable copies and
+     * the builder releases the product.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean freezeImmutableProducts;
+
+    /**
+     * Whether builders get reset methods to build more than one product.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean resettableBuilders;
+
+    /**
+     * Whether builders get a thread confined pool.
+     * <p>
+     * Pooled builders are always resettable.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean pooledBuilders;
+
+    /**
+     * Java version to be recognized by the parser.
+     */
+    @Parameter(defaultValue = "JAVA_17")
+    private LanguageLevel javaVersion;
+
+    /**
+     * Encoding of the java files, UTF-8 if not set.
+     */
+    @Parameter(defaultValue = "${project.build.sourceEncoding}")
+    private String encoding;
+
+    /**
+     * Naming of builder components.
+     */
+    @Parameter
+    private Naming naming = Naming.DEFAULT;
+
+    /**
+     * Variants of adder methods to create in the builder.
+     */
+    @Parameter
+    private List<GenerateAdder.Variant> listAdderVariants;
+
+    /**
+     * Code shape of vararg adders, overridden by the {@code GenerateAdder}
+     * annotation of a field.
+     * <p>
+     * {@code BULK} uses {@code Collections.addAll} instead of a stream.
+     */
+    @Parameter(defaultValue = "STREAM")
+    private GenerateAdder.Style listAdderStyle;
+
+    /**
+     * Whether one dimensional array fields get adders.
+     * <p>
+     * The adders collect the items in a growing buffer of the builder, the
+     * build method appends them to the field.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean arrayAdders;
+
+    /**
+     * Variants of list mutator methods to create in the builder.
+     */
+    @Parameter
+    private List<GenerateListMutator.Variant> listMutatorVariants;
+
+    /**
+     * How collection and vararg list mutators copy the items.
+     * <p>
+     * {@code DIRECT} uses presized copy constructors instead of streams.
+     */
+    @Parameter(defaultValue = "STREAM")
+    private CopyStyle listMutatorCopy;
+
+    /**
+     * Number of files processed in parallel.
+     * <p>
+     * A value less than one uses one thread per available processor.
+     */
+    @Parameter(defaultValue = "1")
+    private int parallelism;
+
+    /**
+     * Estimated heap size in megabytes for parsed files kept during the maven
+     * session.
+     * <p>
+     * Executions in the same session reuse the parsed files. Zero disables the
+     * cache.
+     */
+    @Parameter(defaultValue = "64")
+    private int parseCacheSize;
+
+    /**
+     * Build directory that takes the working files of the plugin.
+     */
+    @Parameter(defaultValue = "${project.build.directory}", readonly = true)
+    private File buildDirectory;
+
+    private TypeResolver typeResolver;
+    private String typeFingerprint = "";
+
+    /**
+     * Returns the directory for the working files of the plugin.
+     *
+     * @return the directory, {@code null} if there is no build directory
+     */
+    protected Path workDirectory() {
+        return buildDirectory != null ? buildDirectory.toPath().resolve("numerobis") : null;
+    }
+
+    /**
+     * Collects all java files of all source roots.
+     * <p>
+     * The include and exclude patterns are not applied, all files are indexed
+     * for the type resolver.
+     *
+     * @param  report report that takes the time of the discovery
+     * @return        list of java files
+     */
+    protected List<Path> sourceFiles(BuildReport report) {
+        var walker = new SourceWalker(null, null, threadCount());
+        return report.measure(Phase.DISCOVER, () -> sourceRoots().stream() //
+                .map(walker::walk) //
+                .flatMap(List::stream) //
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Selects the source files matching the include and exclude patterns.
+     *
+     * @param  sources all java files of the source roots
+     * @return         the files to process
+     */
+    protected List<Path> filesToProcess(List<Path> sources) {
+        var files = sourceWalker().select(sourceRoots(), sources);
+        if (getLog().isDebugEnabled()) {
+            files.forEach(f -> getLog().debug(f.toString()));
+        }
+        return files;
+    }
+
+    /**
+     * Returns the source roots.
+     *
+     * @return list of directories
+     */
+    protected List<Path> sourceRoots() {
+        return compileSourceRoots.stream().map(Path::of).collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a walker that applies the include and exclude patterns.
+     *
+     * @return the walker
+     */
+    protected SourceWalker sourceWalker() {
+        return new SourceWalker(includes, excludes, threadCount());
+    }
+
+    /**
+     * Creates and installs the type resolver for the generator of this
+     * execution.
+     * <p>
+     * The resolver knows the types declared in the source files and in the jars
+     * of the class path.
+     *
+     * @param  files the java files of the project
+     * @return       the installed resolver
+     */
+    protected TypeResolver installTypeResolver(List<Path> files) {
+        var sourceIndex = new SourceTypeIndex(sourceIndexFile(), processorSettings().build().encoding());
+        forEach(files, sourceIndex::add);
+        sourceIndex.store();
+        getLog().info(sourceIndex.size() + " types declared in source files");
+        var classpathIndex = classpathIndex();
+        typeResolver = new TypeResolver(List.of(sourceIndex, classpathIndex));
+        typeFingerprint = "sources: " + sourceIndex.fingerprint() + ", classpath: " + classpathIndex.fingerprint();
+        return typeResolver;
+    }
+
+    /**
+     * Returns the resolver installed by the last call of
+     * {@link #installTypeResolver(List)}.
+     *
+     * @return the resolver, {@code null} if none is installed
+     */
+    protected TypeResolver typeResolver() {
+        return typeResolver;
+    }
+
+    /**
+     * Describes the type environment installed by the last call of
+     * {@link #installTypeResolver(List)}.
+     * <p>
+     * Generated files depend on the resolved types, the fingerprint is part of
+     * the manifest fingerprint and the output cache key.
+     *
+     * @return the fingerprint
+     */
+    protected String typeFingerprint() {
+        return typeFingerprint;
+    }
+
+    /**
+     * Returns the file that caches the type headers of the source files.
+     *
+     * @return the file, {@code null} if the headers are not cached
+     */
+    protected Path sourceIndexFile() {
+        return workDirectory() != null ? workDirectory().resolve("sources.properties") : null;
+    }
+
+    /**
+     * Indexes the types of the jars in the compile class path.
+     * <p>
+     * The jar indexes are kept in the build directory.
+     *
+     * @return the index
+     */
+    private ClasspathTypeIndex classpathIndex() {
+        var cacheDirectory = workDirectory() != null ? workDirectory().resolve("classpath") : null;
+        var index = new ClasspathTypeIndex(cacheDirectory);
+        forEach(stream(classpathElements).map(Path::of).collect(Collectors.toList()), index::add);
+        index.store();
+        getLog().info(index.size() + " types found in the class path");
+        return index;
+    }
+
+    /**
+     * Returns the parse cache shared by the executions of the session.
+     *
+     * @return the cache
+     */
+    protected ParseCache parseCache() {
+        return ParseCache.shared(parseCacheSize * 1024L * 1024L);
+    }
+
+    /**
+     * Logs the statistics of the caches.
+     *
+     * @param typeResolver the resolver used by the execution
+     * @param hits         hits of the parse cache in this execution
+     * @param misses       misses of the parse cache in this execution
+     */
+    protected void logCacheStatistics(TypeResolver typeResolver, long hits, long misses) {
+        getLog().info("type resolution: " + typeResolver.hits() + " cache hits, " + typeResolver.misses() + " misses");
+        var rate = hits + misses > 0 ? 100 * hits / (hits + misses) : 0;
+        getLog().info("parse cache: " + hits + " hits, " + misses + " misses, hit rate " + rate + "%");
+    }
+
+    /**
+     * Logs the configuration.
+     */
+    protected void logConfiguration() {
+        getLog().info("target directory: " + targetDirectory);
+        getLog().info("source directories: ");
+        stream(compileSourceRoots).forEach(getLog()::info);
+        getLog().info("includes: " + (includes == null || includes.isEmpty() ? "**/*.java" : includes));
+        getLog().info("excludes: " + (excludes == null ? "none" : excludes));
+        getLog().info("builder creation: " + builderCreation);
+        getLog().info("builder location: " + builderLocation);
+        getLog().info("products are " + (productsAreMutable ? "mutable" : "immutable") + " by default");
+        getLog().info("freeze immutable products: " + freezeImmutableProducts);
+        getLog().info("resettable builders: " + resettableBuilders + ", pooled builders: " + pooledBuilders);
+        getLog().info("encoding: " + (encoding == null ? "UTF-8" : encoding));
+        getLog().info("parallelism: " + threadCount());
+        getLog().info("parse cache size: " + parseCacheSize + " MB");
+        getLog().info("list adder variants: ");
+        stream(listAdderVariants).map(GenerateAdder.Variant::name).forEach(getLog()::info);
+        getLog().info("list adder style: " + listAdderStyle);
+        getLog().info("array adders: " + arrayAdders);
+        getLog().info("list mutator variants: ");
+        stream(listMutatorVariants).map(GenerateListMutator.Variant::name).forEach(getLog()::info);
+        getLog().info("list mutator copy: " + listMutatorCopy);
+        getLog().info("naming settings");
+        ofNullable(naming).map(Object::toString).ifPresent(getLog()::info);
+    }
+
+    /**
+     * Handles the files, using a worker pool if more than one thread is used.
+     *
+     * @param files  java files to handle
+     * @param action action to perform for every file
+     */
+    protected void forEach(List<Path> files, Consumer<Path> action) {
+        var threads = threadCount();
+        if (threads == 1) {
+            files.forEach(action);
+            return;
+        }
+        var pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> files.parallelStream().forEach(action)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    protected int threadCount() {
+        return parallelism < 1 ? Runtime.getRuntime().availableProcessors() : parallelism;
+    }
+
+    /**
+     * Collect the processor configuration common to all goals.
+     *
+     * @return Settings builder
+     */
+    protected MojoSettings.Builder processorSettings() {
+        return new MojoSettings.Builder() //
+                .withTargetDirectory(targetDirectory) //
+                .withBuilderCreation(builderCreation) //
+                .withBuilderLocation(builderLocation) //
+                .withProductsAreMutable(productsAreMutable) //
+                .withFreezeImmutableProducts(freezeImmutableProducts) //
+                .withResettableBuilders(resettableBuilders) //
+                .withPooledBuilders(pooledBuilders) //
+                .withJavaVersion(javaVersion) //
+                .withEncoding(encoding) //
+                .withListAdderVariants(stream(listAdderVariants).toArray(GenerateAdder.Variant[]::new)) //
+                .withListAdderStyle(listAdderStyle) //
+                .withArrayAdders(arrayAdders) //
+                .withListMutatorVariants(stream(listMutatorVariants).toArray(GenerateListMutator.Variant[]::new)) //
+                .withListMutatorCopy(listMutatorCopy) //
+                .withNamingSettings(naming);
+    }
+}
@@ -0,0 +1,288 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static io.github.mletkin.numerobis.common.Util.createParentPath;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Collects wall time and allocated bytes of the build phases.
+ * <p>
+ * Allocations are measured with the allocation counter of the current thread,
+ * the value is zero if the JVM does not support the counter. The time spent
+ * for each processed file is recorded to report the slowest files.
+ * <p>
+ * Measurements may be taken concurrently.
+ */
+public final class BuildReport {
+
+    /**
+     * Number of files listed as slowest files.
+     */
+    static final int SLOWEST = 20;
+
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final String PHASE_JSON = "    { \"phase\": \"%s\", \"millis\": %.3f, \"allocatedBytes\": %d }";
+    private static final String FILE_JSON = "    { \"file\": %s, \"millis\": %.3f }";
+
+    /**
+     * The measured phases of the build.
+     */
+    public enum Phase {
+        DISCOVER, INDEX, PARSE, GENERATE, SORT, WRITE
+    }
+
+    private final long start = System.nanoTime();
+    private final Map<Phase, LongAdder> nanos = new EnumMap<>(Phase.class);
+    private final Map<Phase, LongAdder> bytes = new EnumMap<>(Phase.class);
+    private final LongAdder processedFiles = new LongAdder();
+    private final LongAdder skippedFiles = new LongAdder();
+    private final PriorityQueue<FileTime> slowest = new PriorityQueue<>(Comparator.comparingLong(FileTime::nanos));
+    private final com.sun.management.ThreadMXBean threads = allocationCounter();
+
+    /**
+     * Creates an empty report, the total time starts with the creation.
+     */
+    public BuildReport() {
+        for (var phase : Phase.values()) {
+            nanos.put(phase, new LongAdder());
+            bytes.put(phase, new LongAdder());
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+
+    /**
+     * Performs an action and adds time and allocations to the phase.
+     *
+     * @param  <T>    type of the result
+     * @param  phase  phase to which the action belongs
+     * @param  action action to perform
+     * @return        the result of the action
+     */
+    public <T> T measure(Phase phase, Supplier<T> action) {
+        var allocated = allocatedBytes();
+        var begin = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            nanos.get(phase).add(System.nanoTime() - begin);
+            bytes.get(phase).add(allocatedBytes() - allocated);
+        }
+    }
+
+    /**
+     * Performs an action and adds time and allocations to the phase.
+     *
+     * @param phase  phase to which the action belongs
+     * @param action action to perform
+     */
+    public void measure(Phase phase, Runnable action) {
+        measure(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private long allocatedBytes() {
+        return threads != null ? threads.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Records a processed file.
+     *
+     * @param file  the product file
+     * @param nanos time spent for the file
+     */
+    public void processed(Path file, long nanos) {
+        processedFiles.increment();
+        synchronized (slowest) {
+            slowest.add(new FileTime(file, nanos));
+            if (slowest.size() > SLOWEST) {
+                slowest.poll();
+            }
+        }
+    }
+
+    /**
+     * Records a file that needed no processing.
+     */
+    public void skipped() {
+        skippedFiles.increment();
+    }
+
+    /**
+     * Returns the time spent in the phase, summed over all threads.
+     *
+     * @param  phase the measured phase
+     * @return       time in nanoseconds
+     */
+    public long nanos(Phase phase) {
+        return nanos.get(phase).sum();
+    }
+
+    /**
+     * Returns the bytes allocated in the phase, summed over all threads.
+     *
+     * @param  phase the measured phase
+     * @return       allocated bytes, zero if allocations are not measured
+     */
+    public long allocatedBytes(Phase phase) {
+        return bytes.get(phase).sum();
+    }
+
+    /**
+     * Returns the number of processed files.
+     *
+     * @return number of files recorded with {@link #processed(Path, long)}
+     */
+    public long processedFiles() {
+        return processedFiles.sum();
+    }
+
+    /**
+     * Returns the number of files that needed no processing.
+     *
+     * @return number of files recorded with {@link #skipped()}
+     */
+    public long skippedFiles() {
+        return skippedFiles.sum();
+    }
+
+    /**
+     * Returns the slowest processed files, the slowest first.
+     *
+     * @return list of at most {@value #SLOWEST} files
+     */
+    public List<FileTime> slowest() {
+        synchronized (slowest) {
+            var result = new ArrayList<>(slowest);
+            result.sort(Comparator.comparingLong(FileTime::nanos).reversed());
+            return result;
+        }
+    }
+
+    /**
+     * Returns the summary as lines for the log.
+     * <p>
+     * Time and allocations of the phases are summed over all threads, with
+     * parallel processing the sum exceeds the total time.
+     *
+     * @return list of lines
+     */
+    public List<String> summary() {
+        var lines = new ArrayList<String>();
+        lines.add(String.format("build report: %.0f ms total, %d files processed, %d files skipped", //
+                millis(System.nanoTime() - start), processedFiles(), skippedFiles()));
+        for (var phase : Phase.values()) {
+            lines.add(String.format("  %-10s %10.0f ms %10d KB", phase, millis(nanos(phase)),
+                    allocatedBytes(phase) / 1024));
+        }
+        var files = slowest();
+        if (!files.isEmpty()) {
+            lines.add("slowest files:");
+            files.forEach(f -> lines.add(String.format("  %10.1f ms %s", millis(f.nanos()), f.file())));
+        }
+        return lines;
+    }
+
+    /**
+     * Writes the report as JSON file.
+     *
+     * @param file the file to write
+     */
+    public void write(Path file) {
+        createParentPath(file);
+        try {
+            Files.write(file, toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    /**
+     * Returns the report in JSON format.
+     * <p>
+     * Numbers are formatted independent of the locale.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        var phases = Stream.of(Phase.values()) //
+                .map(p -> String.format(Locale.ROOT, PHASE_JSON, p, millis(nanos(p)), allocatedBytes(p))) //
+                .collect(Collectors.joining(",\n"));
+        var files = slowest().stream() //
+                .map(f -> String.format(Locale.ROOT, FILE_JSON, quote(f.file().toString()), millis(f.nanos()))) //
+                .collect(Collectors.joining(",\n"));
+        return "{\n" //
+                + String.format(Locale.ROOT, "  \"totalMillis\": %.3f,\n", millis(System.nanoTime() - start)) //
+                + "  \"processedFiles\": " + processedFiles() + ",\n" //
+                + "  \"skippedFiles\": " + skippedFiles() + ",\n" //
+                + "  \"phases\": [\n" + phases + "\n  ],\n" //
+                + "  \"slowestFiles\": [\n" + files + (files.isEmpty() ? "" : "\n") + "  ]\n" //
+                + "}\n";
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    private static String quote(String text) {
+        var result = new StringBuilder("\"");
+        for (var c : text.toCharArray()) {
+            switch (c) {
+            case '"' -> result.append("\\\"");
+            case '\\' -> result.append("\\\\");
+            default -> {
+                if (c < ' ') {
+                    result.append(String.format("\\u%04x", (int) c));
+                } else {
+                    result.append(c);
+                }
+            }
+            }
+        }
+        return result.append('"').toString();
+    }
+
+    /**
+     * Time spent for a processed file.
+     */
+    public record FileTime(Path file, long nanos) {
+    }
+}
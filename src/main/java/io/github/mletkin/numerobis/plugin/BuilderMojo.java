@@ -15,176 +15,188 @@
  */
 package io.github.mletkin.numerobis.plugin;
 
-import static io.github.mletkin.numerobis.common.Util.stream;
-import static java.util.Optional.ofNullable;
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
-
-import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
 
-import com.github.javaparser.ParserConfiguration.LanguageLevel;
-
-import io.github.mletkin.numerobis.annotation.GenerateAdder;
-import io.github.mletkin.numerobis.annotation.GenerateListMutator;
 import io.github.mletkin.numerobis.common.PackageVisible;
+import io.github.mletkin.numerobis.plugin.BuildReport.Phase;
 
 /**
  * Entry point for the generator plugin.
  * <ul>
  * <li>handles maven plugin specific stuff
- * <li>gathers configuration settings from the pom.xml
- * <li>walks through the source file tree
- * <li>calls the generator for each java file
- * <li>dumps configuration to the log
+ * <li>calls the generator for each java file, optionally in parallel
+ * <li>dumps configuration and build report to the log
  * </ul>
  */
-@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
-public class BuilderMojo extends AbstractMojo {
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, //
+        requiresDependencyResolution = ResolutionScope.COMPILE)
+public class BuilderMojo extends AbstractGeneratorMojo {
 
     /**
-     * Possible variants for creation of builder instances.
+     * Possible variants for printing modified java files.
      */
     @PackageVisible
-    enum Creation {
-        CONSTRUCTOR, FACTORY;
+    enum OutputMode {
+        PRETTY, PRESERVING;
 
         @PackageVisible
         boolean flag() {
-            return this == FACTORY;
+            return this == PRESERVING;
         }
     }
 
     /**
-     * Possible location variants of the builder class.
+     * How modified java files are printed.
+     * <p>
+     * {@code PRESERVING} inserts the generated members into the original source
+     * text and leaves the rest of the file untouched.
      */
-    @PackageVisible
-    enum Location {
-        EMBEDDED, SEPARATE;
-
-        @PackageVisible
-        boolean flag() {
-            return this == EMBEDDED;
-        }
-    }
+    @Parameter(defaultValue = "PRETTY")
+    private OutputMode outputMode;
 
     /**
-     * The directories containing the sources to be processed.
+     * Whether products that are unchanged since the last build are skipped.
      */
-    @Parameter(defaultValue = "${project.compileSourceRoots}", readonly = false, required = true)
-    private List<String> compileSourceRoots;
+    @Parameter(defaultValue = "true")
+    private boolean incremental;
 
     /**
-     * Where the generated builder classes are stored.
+     * Directory of the output cache shared by all workspaces.
      * <p>
-     * The packages are converted to file paths.
+     * Products with the same content, builder and configuration are copied from
+     * the cache instead of being generated. No cache is used if not set.
      */
-    @Parameter
-    private String targetDirectory;
+    @Parameter(property = "numerobis.outputCache")
+    private File outputCacheDirectory;
 
     /**
-     * How instances of the builder class shall be created
+     * Maximum size of the output cache in megabytes.
      */
-    @Parameter(defaultValue = "FACTORY")
-    private Creation builderCreation;
+    @Parameter(defaultValue = "256")
+    private int outputCacheSize;
 
     /**
-     * Where the builder class shall be created.
+     * Days an unused entry is kept in the output cache.
      */
-    @Parameter(defaultValue = "EMBEDDED")
-    private Location builderLocation;
+    @Parameter(defaultValue = "30")
+    private int outputCacheMaxAge;
 
     /**
-     * Whether product instances may be changes after creation.
+     * Version of the plugin, part of the configuration fingerprint.
      */
-    @Parameter(defaultValue = "false")
-    private boolean productsAreMutable;
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String pluginVersion;
 
-    /**
-     * Java version to be recognized by the parser.
-     */
-    @Parameter(defaultValue = "JAVA_17")
-    private LanguageLevel javaVersion;
-
-    /**
-     * Naming of builder components.
-     */
-    @Parameter
-    private Naming naming = Naming.DEFAULT;
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        logConfiguration();
+        var report = new BuildReport();
+        var settings = settings();
+        var parseCache = parseCache();
+        var parseHits = parseCache.hits();
+        var parseMisses = parseCache.misses();
+        var sources = sourceFiles(report);
+        var typeResolver = report.measure(Phase.INDEX, () -> installTypeResolver(sources));
+        var files = filesToProcess(sources);
+        var manifest = manifest(settings);
+        var outputCache = outputCache(settings);
+        try (var writer = UnitWriter.concurrent(threadCount())) {
+            var processor = new Processor(settings) //
+                    .withManifest(manifest) //
+                    .withParseCache(parseCache) //
+                    .withOutputCache(outputCache) //
+                    .withTypeResolver(typeResolver) //
+                    .withWriter(writer) //
+                    .withReport(report);
+            forEach(files, processor::process);
+            processor.flush();
+            manifest.store();
+            getLog().info(processor.writtenFiles() + " files written, " + processor.unchangedFiles()
+                    + " files unchanged");
+        }
+        logCacheStatistics(typeResolver, parseCache.hits() - parseHits, parseCache.misses() - parseMisses);
+        if (outputCache.isEnabled()) {
+            getLog().info("output cache: " + outputCache.hits() + " hits, " + outputCache.misses() + " misses");
+            outputCache.evict(outputCacheSize * 1024L * 1024L, Duration.ofDays(outputCacheMaxAge));
+        }
+        report(report);
+    }
 
     /**
-     * Variants of adder methods to create in the builder.
+     * Logs the build report and writes it to the build directory.
+     *
+     * @param report the report of the build
      */
-    @Parameter
-    private List<GenerateAdder.Variant> listAdderVariants;
+    private void report(BuildReport report) {
+        report.summary().forEach(getLog()::info);
+        if (workDirectory() != null) {
+            report.write(workDirectory().resolve("report.json"));
+        }
+    }
 
     /**
-     * Variants of list mutator methods to create in the builder.
+     * Collects the processor configuration of the goal.
+     *
+     * @return the settings
      */
-    @Parameter
-    private List<GenerateListMutator.Variant> listMutatorVariants;
-
-    @Override
-    public void execute() throws MojoExecutionException, MojoFailureException {
-        logConfiguration();
-        compileSourceRoots.forEach(this::walk);
+    protected MojoSettings settings() {
+        return processorSettings().withOutputMode(outputMode).build();
     }
 
-    private void logConfiguration() {
-        getLog().info("target directory: " + targetDirectory);
-        getLog().info("source directories: ");
-        stream(compileSourceRoots).forEach(getLog()::info);
-        getLog().info("builder creation: " + builderCreation);
-        getLog().info("builder location: " + builderLocation);
-        getLog().info("products are " + (productsAreMutable ? "mutable" : "immutable") + " by default");
-        getLog().info("list adder variants: ");
-        stream(listAdderVariants).map(GenerateAdder.Variant::name).forEach(getLog()::info);
-        getLog().info("list mutator variants: ");
-        stream(listMutatorVariants).map(GenerateListMutator.Variant::name).forEach(getLog()::info);
-        getLog().info("naming settings");
-        ofNullable(naming).map(Object::toString).ifPresent(getLog()::info);
+    @Override
+    protected Path sourceIndexFile() {
+        return incremental ? super.sourceIndexFile() : null;
     }
 
     /**
-     * Recursivly walks through the directory and processes all java files.
+     * Loads the manifest of the last build.
+     * <p>
+     * The fingerprint covers all settings that influence the generation and the
+     * type environment, a changed supertype invalidates the manifest. The type
+     * resolver must be installed before.
      *
-     * @param directory directory to traverse
+     * @param  settings processor settings
+     * @return          the manifest
      */
-    private void walk(String directory) {
-        try (var paths = Files.walk(Paths.get(directory))) {
-            paths //
-                    .filter(Files::exists) //
-                    .filter(f -> f.getFileName().toString().endsWith(".java")) //
-                    .peek(f -> getLog().info(f.toString())) //
-                    .forEach(new Processor(processorSettings())::process);
-        } catch (IOException e) {
-            throw new MojoFileIOException(e);
+    protected Manifest manifest(MojoSettings settings) {
+        if (!incremental || workDirectory() == null) {
+            return Manifest.disabled();
         }
+        var file = workDirectory().resolve("manifest.properties");
+        return Manifest.load(file, "version: " + pluginVersion + ", " + settings + ", " + typeFingerprint());
     }
 
     /**
-     * Collect the processor configuration.
+     * Opens the output cache.
+     * <p>
+     * The key covers plugin version, generation settings and type environment,
+     * but not the location of the workspace.
      *
-     * @return Settings object
+     * @param  settings processor settings
+     * @return          the cache
      */
-    private MojoSettings processorSettings() {
-        return new MojoSettings.Builder() //
-                .withTargetDirectory(targetDirectory) //
-                .withBuilderCreation(builderCreation) //
-                .withBuilderLocation(builderLocation) //
-                .withProductsAreMutable(productsAreMutable) //
-                .withJavaVersion(javaVersion) //
-                .withListAdderVariants(stream(listAdderVariants).toArray(GenerateAdder.Variant[]::new)) //
-                .withListMutatorVariants(stream(listMutatorVariants).toArray(GenerateListMutator.Variant[]::new)) //
-                .withNamingSettings(naming) //
-                .build();
+    protected OutputCache outputCache(MojoSettings settings) {
+        if (outputCacheDirectory == null) {
+            return OutputCache.disabled();
+        }
+        return OutputCache.open(outputCacheDirectory.toPath(), "version: " + pluginVersion + ", "
+                + settings.generationSettings() + ", " + typeFingerprint());
     }
 
+    @Override
+    protected void logConfiguration() {
+        super.logConfiguration();
+        getLog().info("output mode: " + outputMode);
+        getLog().info("incremental: " + incremental);
+        getLog().info("output cache: " + (outputCacheDirectory == null ? "none" : outputCacheDirectory));
+    }
 }
@@ -0,0 +1,116 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+import io.github.mletkin.numerobis.plugin.BuildReport.Phase;
+
+/**
+ * Verifies that the builders are up to date.
+ * <ul>
+ * <li>uses the configuration of the generate goal
+ * <li>runs the generator for each java file, optionally in parallel
+ * <li>never prints or writes a java file
+ * <li>fails the build with a list of the missing members
+ * </ul>
+ */
+@Mojo(name = "check", defaultPhase = LifecyclePhase.VERIFY, //
+        requiresDependencyResolution = ResolutionScope.COMPILE)
+public class CheckMojo extends AbstractGeneratorMojo {
+
+    /**
+     * Number of stale products after which the check stops.
+     * <p>
+     * A value less than one checks all products.
+     */
+    @Parameter(defaultValue = "1")
+    private int maxFailures;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        logConfiguration();
+        var report = new BuildReport();
+        var parseCache = parseCache();
+        var parseHits = parseCache.hits();
+        var parseMisses = parseCache.misses();
+        var sources = sourceFiles(report);
+        var typeResolver = report.measure(Phase.INDEX, () -> installTypeResolver(sources));
+        var files = filesToProcess(sources);
+        var processor = new Processor(processorSettings().build()) //
+                .withParseCache(parseCache) //
+                .withTypeResolver(typeResolver) //
+                .withReport(report);
+
+        var stale = new ConcurrentLinkedQueue<Stale>();
+        var failures = new AtomicInteger();
+        forEach(files, file -> {
+            if (limitReached(failures.get())) {
+                return;
+            }
+            var missing = processor.check(file);
+            if (!missing.isEmpty() && !limitReached(failures.getAndIncrement())) {
+                stale.add(new Stale(file, missing));
+            }
+        });
+        logCacheStatistics(typeResolver, parseCache.hits() - parseHits, parseCache.misses() - parseMisses);
+        report.summary().forEach(getLog()::info);
+
+        if (!stale.isEmpty()) {
+            var sorted = stale.stream() //
+                    .sorted(Comparator.comparing(Stale::file)) //
+                    .collect(Collectors.toList());
+            sorted.forEach(this::logStale);
+            throw new MojoFailureException(sorted.size() + " product(s) not up to date" //
+                    + (limitReached(failures.get()) ? ", check stopped after " + maxFailures : "") //
+                    + ", run the generate goal");
+        }
+        getLog().info("all builders are up to date");
+    }
+
+    private boolean limitReached(int failures) {
+        return maxFailures > 0 && failures >= maxFailures;
+    }
+
+    private void logStale(Stale stale) {
+        getLog().error(stale.file() + " is not up to date:");
+        stale.missing().forEach(m -> getLog().error("  missing " + m));
+    }
+
+    @Override
+    protected void logConfiguration() {
+        super.logConfiguration();
+        getLog().info("max failures: " + maxFailures);
+    }
+
+    /**
+     * A product that is not up to date.
+     */
+    private record Stale(Path file, List<String> missing) {
+    }
+}
@@ -0,0 +1,489 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static io.github.mletkin.numerobis.common.Util.createParentPath;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+import io.github.mletkin.numerobis.common.VisibleForTesting;
+import io.github.mletkin.numerobis.generator.common.HierarchySource;
+import io.github.mletkin.numerobis.generator.common.HierarchySource.Signature;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
+
+/**
+ * Index of the types contained in the jars of the compile class path.
+ * <p>
+ * The super class and the interfaces are read from the header of the class
+ * files, their type arguments from the {@code Signature} attribute. No class is
+ * loaded. The index of each jar is stored in the cache
+ * directory under the checksum of the jar and reused as long as the jar does not
+ * change. The checksums are kept with path, size and modification time of the
+ * jars, a jar is only read to compute the checksum if one of them changes.
+ * <p>
+ * Jars may be added concurrently.
+ */
+public final class ClasspathTypeIndex implements HierarchySource {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String SEPARATOR = ";";
+    private static final String PARAMETER_SEPARATOR = ",";
+    private static final String INDEX_SUFFIX = ".signatures.properties";
+    private static final String CHECKSUM_FILE = "jars.properties";
+
+    private final Path cacheDirectory;
+    private final Map<String, Signature> types = new ConcurrentHashMap<>();
+    private final Queue<String> jars = new ConcurrentLinkedQueue<>();
+    private final Map<String, String> storedChecksums;
+    private final Map<String, String> checksums = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an index.
+     *
+     * @param cacheDirectory directory for the jar indexes, {@code null} for no
+     *                           persistence
+     */
+    public ClasspathTypeIndex(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        var checksumFile = cacheDirectory != null ? cacheDirectory.resolve(CHECKSUM_FILE) : null;
+        this.storedChecksums = checksumFile != null && Files.exists(checksumFile) //
+                ? loadChecksums(checksumFile)
+                : Map.of();
+    }
+
+    /**
+     * Adds the types of a class path element.
+     * <p>
+     * Directories are ignored, the project's own types are taken from the
+     * sources.
+     *
+     * @param element path of the class path element
+     */
+    public void add(Path element) {
+        if (!Files.isRegularFile(element) || !element.getFileName().toString().endsWith(".jar")) {
+            return;
+        }
+        var size = size(element);
+        jars.add(element.getFileName() + ":" + size);
+        var indexFile = cacheDirectory != null ? cacheDirectory.resolve(checksum(element, size) + INDEX_SUFFIX) : null;
+        if (indexFile != null && Files.exists(indexFile)) {
+            load(indexFile).forEach(types::putIfAbsent);
+            return;
+        }
+        var jarTypes = scan(element);
+        jarTypes.forEach(types::putIfAbsent);
+        if (indexFile != null) {
+            store(indexFile, jarTypes);
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    /**
+     * Returns the checksum of a jar.
+     * <p>
+     * The stored checksum is used as long as size and modification time of the
+     * jar do not change.
+     *
+     * @param  jar  the jar file
+     * @param  size size of the jar
+     * @return      the checksum
+     */
+    private String checksum(Path jar, long size) {
+        try {
+            var key = jar.toAbsolutePath().normalize().toString();
+            var stamp = size + ":" + Files.getLastModifiedTime(jar).toMillis() + ":";
+            var stored = storedChecksums.get(key);
+            var checksum = stored != null && stored.startsWith(stamp) //
+                    ? stored.substring(stamp.length())
+                    : Manifest.hash(jar);
+            checksums.put(key, stamp + checksum);
+            return checksum;
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    /**
+     * Writes the checksums of the jars added in this run to the cache directory.
+     * <p>
+     * Jars that were not added are dropped. The file is written under a
+     * temporary name and moved, so that concurrent builds never read an
+     * incomplete file.
+     */
+    public void store() {
+        if (cacheDirectory == null) {
+            return;
+        }
+        var properties = new Properties();
+        properties.putAll(checksums);
+        write(cacheDirectory.resolve(CHECKSUM_FILE), properties);
+    }
+
+    private static Map<String, String> loadChecksums(Path checksumFile) {
+        var properties = new Properties();
+        try (InputStream in = Files.newInputStream(checksumFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+        var result = new HashMap<String, String>();
+        properties.stringPropertyNames().forEach(jar -> result.put(jar, properties.getProperty(jar)));
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed types.
+     *
+     * @return number of types
+     */
+    public int size() {
+        return types.size();
+    }
+
+    /**
+     * Describes the added jars by names and sizes.
+     * <p>
+     * Absolute paths are left out so that workspaces sharing a repository get
+     * the same fingerprint.
+     *
+     * @return the fingerprint
+     */
+    public String fingerprint() {
+        return jars.stream().sorted().collect(Collectors.joining(","));
+    }
+
+    @Override
+    public boolean contains(String typeName) {
+        return types.containsKey(typeName);
+    }
+
+    @Override
+    public Optional<List<String>> supertypes(String typeName, TypeResolver resolver) {
+        return Optional.ofNullable(types.get(typeName)).map(Signature::rawSupertypes);
+    }
+
+    @Override
+    public Optional<Signature> signature(String typeName, TypeResolver resolver) {
+        return Optional.ofNullable(types.get(typeName));
+    }
+
+    private static Map<String, Signature> scan(Path jar) {
+        var result = new HashMap<String, Signature>();
+        try (var zip = new ZipFile(jar.toFile())) {
+            var entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                var entry = entries.nextElement();
+                var name = entry.getName();
+                if (name.endsWith(".class") && !name.startsWith("META-INF/") && !name.endsWith("module-info.class")) {
+                    try (var in = zip.getInputStream(entry)) {
+                        readHeader(in).ifPresent(h -> result.put(h.typeName(), h.signature()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Reads name and supertypes from the header of a class file.
+     * <p>
+     * Fields and methods are skipped to reach the {@code Signature} attribute of
+     * the class, which is only present for generic types and types with generic
+     * supertypes.
+     *
+     * @param  stream content of the class file
+     * @return        the header, empty if the content is no class file
+     * @throws IOException if the stream can't be read
+     */
+    @VisibleForTesting
+    static Optional<ClassHeader> readHeader(InputStream stream) throws IOException {
+        var in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) {
+            return Optional.empty();
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+        var count = in.readUnsignedShort();
+        var utf8 = new String[count];
+        var classNameIndex = new int[count];
+        for (int n = 1; n < count; n++) {
+            var tag = in.readUnsignedByte();
+            switch (tag) {
+            case 1 -> utf8[n] = in.readUTF();
+            case 7 -> classNameIndex[n] = in.readUnsignedShort();
+            case 8, 16, 19, 20 -> in.skipBytes(2);
+            case 15 -> in.skipBytes(3);
+            case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+            case 5, 6 -> {
+                in.skipBytes(8);
+                n++;
+            }
+            default -> {
+                return Optional.empty();
+            }
+            }
+        }
+        in.readUnsignedShort(); // access flags
+        var typeName = className(utf8, classNameIndex, in.readUnsignedShort());
+        var superclass = in.readUnsignedShort();
+        var supertypes = new ArrayList<String>();
+        if (superclass != 0) {
+            supertypes.add(className(utf8, classNameIndex, superclass));
+        }
+        var interfaces = in.readUnsignedShort();
+        for (int n = 0; n < interfaces; n++) {
+            supertypes.add(className(utf8, classNameIndex, in.readUnsignedShort()));
+        }
+        skipMembers(in);
+        skipMembers(in);
+        var signature = readSignature(in, utf8) //
+                .map(s -> new SignatureReader(s).read()) //
+                .orElseGet(() -> new Signature(List.of(), List.copyOf(supertypes)));
+        return Optional.of(new ClassHeader(typeName, signature));
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        var count = in.readUnsignedShort();
+        for (int n = 0; n < count; n++) {
+            in.skipBytes(6); // access flags, name, descriptor
+            skipAttributes(in, in.readUnsignedShort());
+        }
+    }
+
+    private static void skipAttributes(DataInputStream in, int count) throws IOException {
+        for (int n = 0; n < count; n++) {
+            in.skipBytes(2);
+            in.skipNBytes(Integer.toUnsignedLong(in.readInt()));
+        }
+    }
+
+    private static Optional<String> readSignature(DataInputStream in, String[] utf8) throws IOException {
+        var count = in.readUnsignedShort();
+        for (int n = 0; n < count; n++) {
+            var name = utf8[in.readUnsignedShort()];
+            var length = Integer.toUnsignedLong(in.readInt());
+            if ("Signature".equals(name)) {
+                return Optional.of(utf8[in.readUnsignedShort()]);
+            }
+            in.skipNBytes(length);
+        }
+        return Optional.empty();
+    }
+
+    private static String className(String[] utf8, int[] classNameIndex, int classIndex) {
+        return utf8[classNameIndex[classIndex]].replace('/', '.');
+    }
+
+    private static Map<String, Signature> load(Path indexFile) {
+        var properties = new Properties();
+        try (InputStream in = Files.newInputStream(indexFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+        var result = new HashMap<String, Signature>();
+        properties.stringPropertyNames().forEach(type -> {
+            var fields = List.of(properties.getProperty(type).split(SEPARATOR));
+            var parameters = fields.get(0).isEmpty() ? List.<String>of()
+                    : List.of(fields.get(0).split(PARAMETER_SEPARATOR));
+            result.put(type, new Signature(parameters, fields.subList(1, fields.size())));
+        });
+        return result;
+    }
+
+    /**
+     * Stores the index of a jar.
+     * <p>
+     * Each type is stored with its type parameters followed by its supertypes.
+     * The file is written under a temporary name and moved, so that concurrent
+     * builds never read an incomplete index.
+     *
+     * @param indexFile file to write
+     * @param jarTypes  types of the jar
+     */
+    private static void store(Path indexFile, Map<String, Signature> jarTypes) {
+        var properties = new Properties();
+        jarTypes.forEach((type, signature) -> properties.setProperty(type,
+                Stream.concat(Stream.of(String.join(PARAMETER_SEPARATOR, signature.typeParameters())),
+                        signature.supertypes().stream()) //
+                        .collect(Collectors.joining(SEPARATOR))));
+        write(indexFile, properties);
+    }
+
+    private static void write(Path file, Properties properties) {
+        createParentPath(file);
+        try {
+            var temp = Files.createTempFile(file.getParent(), "index", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, null);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    /**
+     * Name and signature read from a class file.
+     */
+    @VisibleForTesting
+    record ClassHeader(String typeName, Signature signature) {
+
+        List<String> supertypes() {
+            return signature.rawSupertypes();
+        }
+    }
+
+    /**
+     * Converts a class signature into type parameters and supertypes.
+     * <p>
+     * Types are written as in source code, using binary names. Type arguments
+     * of enclosing types are dropped.
+     */
+    private static class SignatureReader {
+
+        private final String signature;
+        private int n;
+
+        private SignatureReader(String signature) {
+            this.signature = signature;
+        }
+
+        private Signature read() {
+            var parameters = new ArrayList<String>();
+            if (signature.charAt(n) == '<') {
+                n++;
+                while (signature.charAt(n) != '>') {
+                    parameters.add(identifier(':'));
+                    while (signature.charAt(n) == ':') {
+                        n++;
+                        if (signature.charAt(n) != ':') {
+                            type();
+                        }
+                    }
+                }
+                n++;
+            }
+            var supertypes = new ArrayList<String>();
+            while (n < signature.length()) {
+                supertypes.add(type());
+            }
+            return new Signature(List.copyOf(parameters), List.copyOf(supertypes));
+        }
+
+        private String type() {
+            var c = signature.charAt(n++);
+            return switch (c) {
+            case 'L' -> classType();
+            case 'T' -> {
+                var name = identifier(';');
+                n++;
+                yield name;
+            }
+            case '[' -> type() + "[]";
+            default -> baseType(c);
+            };
+        }
+
+        private String classType() {
+            var name = new StringBuilder();
+            var arguments = "";
+            while (true) {
+                var c = signature.charAt(n++);
+                switch (c) {
+                case ';' -> {
+                    return name.append(arguments).toString();
+                }
+                case '<' -> arguments = arguments();
+                case '.' -> {
+                    name.append('$');
+                    arguments = "";
+                }
+                case '/' -> name.append('.');
+                default -> name.append(c);
+                }
+            }
+        }
+
+        private String arguments() {
+            var result = new ArrayList<String>();
+            while (signature.charAt(n) != '>') {
+                var c = signature.charAt(n);
+                if (c == '*') {
+                    n++;
+                    result.add("?");
+                } else if (c == '+' || c == '-') {
+                    n++;
+                    result.add((c == '+' ? "? extends " : "? super ") + type());
+                } else {
+                    result.add(type());
+                }
+            }
+            n++;
+            return "<" + String.join(", ", result) + ">";
+        }
+
+        private String identifier(char end) {
+            var start = n;
+            while (signature.charAt(n) != end) {
+                n++;
+            }
+            return signature.substring(start, n);
+        }
+
+        private static String baseType(char c) {
+            return switch (c) {
+            case 'B' -> "byte";
+            case 'C' -> "char";
+            case 'D' -> "double";
+            case 'F' -> "float";
+            case 'I' -> "int";
+            case 'J' -> "long";
+            case 'S' -> "short";
+            case 'Z' -> "boolean";
+            default -> throw new IllegalArgumentException("invalid signature: " + String.valueOf(c));
+            };
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+
+import io.github.mletkin.numerobis.annotation.GenerateAdder;
+import io.github.mletkin.numerobis.annotation.GenerateListMutator;
+import io.github.mletkin.numerobis.common.VisibleForTesting;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
+import io.github.mletkin.numerobis.plugin.AbstractGeneratorMojo.CopyStyle;
+import io.github.mletkin.numerobis.plugin.AbstractGeneratorMojo.Creation;
+import io.github.mletkin.numerobis.plugin.AbstractGeneratorMojo.Location;
+import io.github.mletkin.numerobis.plugin.BuildReport.Phase;
+import io.github.mletkin.numerobis.plugin.BuilderMojo.OutputMode;
+
+/**
+ * Command line entry point for the generator.
+ * <ul>
+ * <li>takes the settings of the {@code generate} goal as options
+ * <li>processes the given files or all java files of the source roots
+ * <li>checks instead of generating with {@code --check}
+ * </ul>
+ * The exit code is 0 on success, 1 if a check finds stale products, 2 for
+ * invalid arguments or unreadable files and 3 if a file can't be parsed or
+ * processed.
+ */
+public final class GeneratorCli {
+
+    private static final String USAGE = String.join("\n", //
+            "usage: java " + GeneratorCli.class.getName() + " [options] [files]", //
+            "  --source <dir>                  source root, repeatable, default src/main/java", //
+            "  --include <glob>                pattern of files to process, repeatable", //
+            "  --exclude <glob>                pattern of files to skip, repeatable", //
+            "  --classpath <path>              class path to recognize collection types", //
+            "  --target-directory <dir>        directory for separate builders", //
+            "  --builder-creation <value>      CONSTRUCTOR or FACTORY, default FACTORY", //
+            "  --builder-location <value>      EMBEDDED or SEPARATE, default EMBEDDED", //
+            "  --products-are-mutable          products are mutable by default", //
+            "  --freeze-immutable-products     build methods freeze immutable products", //
+            "  --resettable-builders           builders get reset methods", //
+            "  --pooled-builders               builders get a thread confined pool", //
+            "  --array-adders                  array fields get adders", //
+            "  --java-version <value>          language level of the parser, default JAVA_17", //
+            "  --output-mode <value>           PRETTY or PRESERVING, default PRETTY", //
+            "  --encoding <charset>            encoding of the java files, default UTF-8", //
+            "  --list-adder-variants <list>    comma separated adder variants", //
+            "  --list-adder-style <value>      STREAM or BULK, default STREAM", //
+            "  --list-mutator-variants <list>  comma separated list mutator variants", //
+            "  --list-mutator-copy <value>     STREAM or DIRECT, default STREAM", //
+            "  --naming.<setting> <value>      naming setting, e.g. --naming.mutatorPrefix set", //
+            "  --parallelism <n>               number of threads, less than one for all processors", //
+            "  --work-directory <dir>          manifest and index cache, default target/numerobis", //
+            "  --no-incremental                process unchanged products", //
+            "  --check                         report stale products instead of generating", //
+            "  --verbose                       print the build report", //
+            "  --help                          print this text");
+
+    private static final String NAMING = "--naming.";
+
+    private final PrintStream out;
+    private final List<String> sourceRoots = new ArrayList<>();
+    private final List<String> includes = new ArrayList<>();
+    private final List<String> excludes = new ArrayList<>();
+    private final List<Path> files = new ArrayList<>();
+    private final Map<String, String> naming = new HashMap<>();
+    private final MojoSettings.Builder settings = new MojoSettings.Builder() //
+            .withBuilderCreation(Creation.FACTORY) //
+            .withBuilderLocation(Location.EMBEDDED) //
+            .withJavaVersion(LanguageLevel.JAVA_17) //
+            .withListAdderStyle(GenerateAdder.Style.STREAM) //
+            .withListMutatorCopy(CopyStyle.STREAM) //
+            .withOutputMode(OutputMode.PRETTY);
+    private String classpath = "";
+    private Path workDirectory = Path.of("target", "numerobis");
+    private int parallelism = 1;
+    private boolean incremental = true;
+    private boolean check;
+    private boolean verbose;
+    private TypeResolver typeResolver;
+    private String typeFingerprint = "";
+
+    private GeneratorCli(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Runs the generator and exits with the exit code.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the generator.
+     *
+     * @param  args command line arguments
+     * @param  out  stream for messages
+     * @param  err  stream for errors
+     * @return      the exit code
+     */
+    @VisibleForTesting
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        var cli = new GeneratorCli(out);
+        try {
+            if (!cli.parse(args)) {
+                out.println(USAGE);
+                return 0;
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+        try {
+            return cli.check ? cli.check() : cli.generate();
+        } catch (MojoFileIOException e) {
+            err.println(e.getMessage());
+            return 2;
+        } catch (RuntimeException e) {
+            // ParseProblemException, GeneratorException and the like
+            err.println(e.getMessage());
+            return 3;
+        }
+    }
+
+    /**
+     * Reads the command line arguments.
+     *
+     * @param  args the arguments
+     * @return      {@code false} if the usage is requested
+     */
+    private boolean parse(String[] args) {
+        for (int n = 0; n < args.length; n++) {
+            var arg = args[n];
+            if (arg.equals("--help")) {
+                return false;
+            } else if (arg.equals("--products-are-mutable")) {
+                settings.withProductsAreMutable(true);
+            } else if (arg.equals("--freeze-immutable-products")) {
+                settings.withFreezeImmutableProducts(true);
+            } else if (arg.equals("--resettable-builders")) {
+                settings.withResettableBuilders(true);
+            } else if (arg.equals("--pooled-builders")) {
+                settings.withPooledBuilders(true);
+            } else if (arg.equals("--array-adders")) {
+                settings.withArrayAdders(true);
+            } else if (arg.equals("--no-incremental")) {
+                incremental = false;
+            } else if (arg.equals("--check")) {
+                check = true;
+            } else if (arg.equals("--verbose")) {
+                verbose = true;
+            } else if (arg.startsWith("--")) {
+                option(arg, value(args, ++n, arg));
+            } else {
+                files.add(Path.of(arg));
+            }
+        }
+        if (sourceRoots.isEmpty()) {
+            sourceRoots.add(Path.of("src", "main", "java").toString());
+        }
+        settings.withNamingSettings(Naming.of(naming));
+        return true;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private void option(String option, String value) {
+        if (option.startsWith(NAMING)) {
+            naming.put(option.substring(NAMING.length()), value);
+            return;
+        }
+        switch (option) {
+        case "--source" -> sourceRoots.add(value);
+        case "--include" -> includes.add(value);
+        case "--exclude" -> excludes.add(value);
+        case "--classpath" -> classpath = value;
+        case "--target-directory" -> settings.withTargetDirectory(value);
+        case "--builder-creation" -> settings.withBuilderCreation(constant(Creation.class, value));
+        case "--builder-location" -> settings.withBuilderLocation(constant(Location.class, value));
+        case "--java-version" -> settings.withJavaVersion(constant(LanguageLevel.class, value));
+        case "--output-mode" -> settings.withOutputMode(constant(OutputMode.class, value));
+        case "--encoding" -> settings.withEncoding(value);
+        case "--list-adder-variants" -> settings.withListAdderVariants( //
+                constants(GenerateAdder.Variant.class, value).toArray(GenerateAdder.Variant[]::new));
+        case "--list-mutator-variants" -> settings.withListMutatorVariants( //
+                constants(GenerateListMutator.Variant.class, value).toArray(GenerateListMutator.Variant[]::new));
+        case "--list-adder-style" -> settings.withListAdderStyle(constant(GenerateAdder.Style.class, value));
+        case "--list-mutator-copy" -> settings.withListMutatorCopy(constant(CopyStyle.class, value));
+        case "--parallelism" -> parallelism = number(value);
+        case "--work-directory" -> workDirectory = Path.of(value);
+        default -> throw new IllegalArgumentException("unknown option " + option);
+        }
+    }
+
+    private static <E extends Enum<E>> E constant(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid value " + value + " for " + type.getSimpleName(), e);
+        }
+    }
+
+    private static <E extends Enum<E>> Stream<E> constants(Class<E> type, String list) {
+        return Stream.of(list.split(",")).filter(v -> !v.isBlank()).map(v -> constant(type, v));
+    }
+
+    private static int number(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid number " + value, e);
+        }
+    }
+
+    private int generate() {
+        var report = new BuildReport();
+        var mojoSettings = settings.build();
+        var files = filesToProcess(report);
+        var manifest = incremental //
+                ? Manifest.load(workDirectory.resolve("manifest.properties"), //
+                        "cli, " + mojoSettings + ", " + typeFingerprint)
+                : Manifest.disabled();
+        try (var writer = UnitWriter.concurrent(threadCount())) {
+            var processor = new Processor(mojoSettings) //
+                    .withManifest(manifest) //
+                    .withTypeResolver(typeResolver) //
+                    .withReport(report) //
+                    .withWriter(writer);
+            forEach(files, processor::process);
+            processor.flush();
+            manifest.store();
+            out.println(processor.writtenFiles() + " files written, " + processor.unchangedFiles()
+                    + " files unchanged");
+        }
+        if (verbose) {
+            report.summary().forEach(out::println);
+        }
+        return 0;
+    }
+
+    private int check() {
+        var report = new BuildReport();
+        var files = filesToProcess(report);
+        var processor = new Processor(settings.build()).withTypeResolver(typeResolver).withReport(report);
+        var stale = new HashMap<Path, List<String>>();
+        forEach(files, file -> {
+            var missing = processor.check(file);
+            if (!missing.isEmpty()) {
+                synchronized (stale) {
+                    stale.put(file, missing);
+                }
+            }
+        });
+        if (verbose) {
+            report.summary().forEach(out::println);
+        }
+        stale.keySet().stream().sorted().forEach(file -> {
+            out.println(file + " is not up to date:");
+            stale.get(file).forEach(m -> out.println("  missing " + m));
+        });
+        out.println(stale.isEmpty() ? "all builders are up to date" : stale.size() + " product(s) not up to date");
+        return stale.isEmpty() ? 0 : 1;
+    }
+
+    /**
+     * Collects the source files and installs the type resolver.
+     * <p>
+     * All files of the source roots are indexed. The files given on the command
+     * line are processed if there are any, otherwise the files matching the
+     * include and exclude patterns.
+     *
+     * @param  report report that takes the time of the discovery
+     * @return        the files to process
+     */
+    private List<Path> filesToProcess(BuildReport report) {
+        var roots = sourceRoots.stream().map(Path::of).collect(Collectors.toList());
+        var walker = new SourceWalker(null, null, threadCount());
+        var sources = report.measure(Phase.DISCOVER, () -> roots.stream() //
+                .map(walker::walk) //
+                .flatMap(List::stream) //
+                .collect(Collectors.toList()));
+        report.measure(Phase.INDEX, () -> installTypeResolver(sources));
+        return files.isEmpty() ? new SourceWalker(includes, excludes, threadCount()).select(roots, sources) : files;
+    }
+
+    /**
+     * Indexes the types of the source files and the class path and installs the
+     * type resolver.
+     *
+     * @param sources all java files of the source roots
+     */
+    private void installTypeResolver(List<Path> sources) {
+        var sourceIndex = new SourceTypeIndex(incremental ? workDirectory.resolve("sources.properties") : null,
+                settings.build().encoding());
+        forEach(sources, sourceIndex::add);
+        sourceIndex.store();
+        var classpathIndex = new ClasspathTypeIndex(workDirectory.resolve("classpath"));
+        forEach(Stream.of(classpath.split(File.pathSeparator)) //
+                .filter(e -> !e.isBlank()) //
+                .map(Path::of) //
+                .collect(Collectors.toList()), classpathIndex::add);
+        classpathIndex.store();
+        typeResolver = new TypeResolver(List.of(sourceIndex, classpathIndex));
+        typeFingerprint = "sources: " + sourceIndex.fingerprint() + ", classpath: " + classpathIndex.fingerprint();
+    }
+
+    private void forEach(List<Path> list, Consumer<Path> action) {
+        var threads = threadCount();
+        if (threads == 1) {
+            list.forEach(action);
+            return;
+        }
+        var pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> list.parallelStream().forEach(action)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private int threadCount() {
+        return parallelism < 1 ? Runtime.getRuntime().availableProcessors() : parallelism;
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static io.github.mletkin.numerobis.common.Util.createParentPath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Persisted content hashes of the files processed in the previous build.
+ * <p>
+ * For each processed product file the manifest keeps the hash of the product
+ * file and -- for separate builders -- the path and hash of the builder file.
+ * A product is up to date when neither file changed since it was recorded.
+ * <p>
+ * The manifest carries a fingerprint of the configuration. A manifest stored
+ * with a different fingerprint is discarded, so that a configuration change
+ * leads to the processing of all files.
+ * <p>
+ * Only entries checked or recorded in the current build are stored. Entries
+ * recorded in the current build take precedence, so a long running build may
+ * check a product again after recording it. Access is thread safe.
+ */
+public final class Manifest {
+
+    private static final String FINGERPRINT_KEY = "#fingerprint";
+    private static final String SEPARATOR = ";";
+
+    private final Path file;
+    private final String fingerprint;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+    private Manifest(Path file, String fingerprint, Map<String, Entry> previous) {
+        this.file = file;
+        this.fingerprint = fingerprint;
+        this.previous = previous;
+    }
+
+    /**
+     * Creates a manifest that considers no file up to date and stores nothing.
+     *
+     * @return the {@code Manifest} instance
+     */
+    public static Manifest disabled() {
+        return new Manifest(null, null, Map.of());
+    }
+
+    /**
+     * Loads the manifest from a file.
+     * <p>
+     * A missing file or a file with a different fingerprint produces an empty
+     * manifest.
+     *
+     * @param  file        file the manifest is stored in
+     * @param  fingerprint fingerprint of the current configuration
+     * @return             the {@code Manifest} instance
+     */
+    public static Manifest load(Path file, String fingerprint) {
+        var entries = new ConcurrentHashMap<String, Entry>();
+        if (Files.exists(file)) {
+            var properties = read(file);
+            if (fingerprint.equals(properties.getProperty(FINGERPRINT_KEY))) {
+                properties.stringPropertyNames().stream() //
+                        .filter(key -> !key.equals(FINGERPRINT_KEY)) //
+                        .forEach(key -> entries.put(key, Entry.parse(properties.getProperty(key))));
+            }
+        }
+        return new Manifest(file, fingerprint, entries);
+    }
+
+    /**
+     * Checks whether product and builder file are unchanged since the last build.
+     *
+     * @param  product path of the product file
+     * @return         {@code true} if the product needs no processing
+     */
+    public boolean isUpToDate(Path product) {
+        var entry = current.getOrDefault(key(product), previous.get(key(product)));
+        if (entry == null || !entry.productHash.equals(hash(product))) {
+            return false;
+        }
+        if (entry.builderPath().map(b -> !Files.exists(b) || !entry.builderHash.equals(hash(b))).orElse(false)) {
+            return false;
+        }
+        current.put(key(product), entry);
+        return true;
+    }
+
+    /**
+     * Finds the product of a separate builder file.
+     *
+     * @param  builder path of the builder file
+     * @return         path of the product file, empty if the file is no known
+     *                 builder
+     */
+    public Optional<Path> productOf(Path builder) {
+        var normalized = builder.toAbsolutePath().normalize();
+        return Stream.of(current, previous) //
+                .flatMap(m -> m.entrySet().stream()) //
+                .filter(e -> e.getValue().builderPath() //
+                        .map(b -> b.toAbsolutePath().normalize().equals(normalized)) //
+                        .orElse(false)) //
+                .map(e -> Path.of(e.getKey())) //
+                .findFirst();
+    }
+
+    /**
+     * Records the current content of the files of a processed product.
+     *
+     * @param product path of the product file
+     * @param builder path of the separate builder file, may be {@code null}
+     */
+    public void record(Path product, Path builder) {
+        if (file != null) {
+            var builderHash = builder != null && Files.exists(builder) ? hash(builder) : "";
+            current.put(key(product), new Entry(hash(product), builderHash, builder));
+        }
+    }
+
+    /**
+     * Stores the manifest to it's file.
+     */
+    public void store() {
+        if (file == null) {
+            return;
+        }
+        var properties = new Properties();
+        properties.setProperty(FINGERPRINT_KEY, fingerprint);
+        current.forEach((key, entry) -> properties.setProperty(key, entry.toString()));
+        createParentPath(file);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "numerobis manifest");
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    private static Properties read(Path file) {
+        var properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+        return properties;
+    }
+
+    private static String key(Path product) {
+        return product.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Computes the SHA-256 hash of a file's content.
+     *
+     * @param  file file to hash
+     * @return      the hash as hex string
+     */
+    static String hash(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            var digest = MessageDigest.getInstance("SHA-256");
+            var buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Hashes of the files belonging to a single product.
+     */
+    private record Entry(String productHash, String builderHash, Path builder) {
+
+        private Optional<Path> builderPath() {
+            return Optional.ofNullable(builder);
+        }
+
+        private static Entry parse(String value) {
+            var parts = value.split(SEPARATOR, 3);
+            var builder = parts.length > 2 && !parts[2].isEmpty() ? Path.of(parts[2]) : null;
+            return new Entry(parts[0], parts.length > 1 ? parts[1] : "", builder);
+        }
+
+        @Override
+        public String toString() {
+            return productHash + SEPARATOR + builderHash + SEPARATOR + Objects.toString(builder, "");
+        }
+    }
+}
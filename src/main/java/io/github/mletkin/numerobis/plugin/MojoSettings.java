@@ -17,7 +17,10 @@ package io.github.mletkin.numerobis.plugin;
 
 import static io.github.mletkin.numerobis.common.Util.isNullOrBlank;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 import com.github.javaparser.ParserConfiguration.LanguageLevel;
 
@@ -30,13 +33,21 @@ import io.github.mletkin.numerobis.annotation.GenerateListMutator;
 public final class MojoSettings {
 
     private Path targetDirectory;
-    private BuilderMojo.Creation builderCreation;
-    private BuilderMojo.Location builderLocation;
+    private AbstractGeneratorMojo.Creation builderCreation;
+    private AbstractGeneratorMojo.Location builderLocation;
     private boolean productsAreMutable;
+    private boolean freezeImmutableProducts;
+    private boolean resettableBuilders;
+    private boolean pooledBuilders;
     private LanguageLevel javaVersion;
+    private BuilderMojo.OutputMode outputMode;
     private GenerateAdder.Variant[] listAdderVariants;
+    private GenerateAdder.Style listAdderStyle;
+    private boolean arrayAdders;
     private GenerateListMutator.Variant[] listMutatorVariants;
+    private AbstractGeneratorMojo.CopyStyle listMutatorCopy;
     private Naming naming;
+    private Charset encoding = StandardCharsets.UTF_8;
 
     private MojoSettings() {
         // builder instantiation only
@@ -46,11 +57,11 @@ public final class MojoSettings {
         return targetDirectory;
     }
 
-    public BuilderMojo.Creation builderCreation() {
+    public AbstractGeneratorMojo.Creation builderCreation() {
         return builderCreation;
     }
 
-    public BuilderMojo.Location builderLocation() {
+    public AbstractGeneratorMojo.Location builderLocation() {
         return builderLocation;
     }
 
@@ -58,14 +69,38 @@ public final class MojoSettings {
         return productsAreMutable;
     }
 
+    public boolean freezeImmutableProducts() {
+        return freezeImmutableProducts;
+    }
+
+    public boolean resettableBuilders() {
+        return resettableBuilders;
+    }
+
+    public boolean pooledBuilders() {
+        return pooledBuilders;
+    }
+
     public GenerateAdder.Variant[] listAdderVariants() {
         return listAdderVariants;
     }
 
+    public GenerateAdder.Style listAdderStyle() {
+        return listAdderStyle;
+    }
+
+    public boolean arrayAdders() {
+        return arrayAdders;
+    }
+
     public GenerateListMutator.Variant[] listMutatorVariants() {
         return listMutatorVariants;
     }
 
+    public AbstractGeneratorMojo.CopyStyle listMutatorCopy() {
+        return listMutatorCopy;
+    }
+
     public Naming naming() {
         return naming;
     }
@@ -74,6 +109,44 @@ public final class MojoSettings {
         return javaVersion;
     }
 
+    public BuilderMojo.OutputMode outputMode() {
+        return outputMode;
+    }
+
+    public Charset encoding() {
+        return encoding;
+    }
+
+    @Override
+    public String toString() {
+        return "targetDirectory: " + targetDirectory + ", " + generationSettings();
+    }
+
+    /**
+     * Describes the settings that influence the content of the generated files.
+     * <p>
+     * The target directory is left out, it only determines the location.
+     *
+     * @return the settings as string
+     */
+    public String generationSettings() {
+        return "builderCreation: " + builderCreation //
+                + ", builderLocation: " + builderLocation //
+                + ", productsAreMutable: " + productsAreMutable //
+                + ", freezeImmutableProducts: " + freezeImmutableProducts //
+                + ", resettableBuilders: " + resettableBuilders //
+                + ", pooledBuilders: " + pooledBuilders //
+                + ", javaVersion: " + javaVersion //
+                + ", outputMode: " + outputMode //
+                + ", encoding: " + encoding //
+                + ", listAdderVariants: " + Arrays.toString(listAdderVariants) //
+                + ", listAdderStyle: " + listAdderStyle //
+                + ", arrayAdders: " + arrayAdders //
+                + ", listMutatorVariants: " + Arrays.toString(listMutatorVariants) //
+                + ", listMutatorCopy: " + listMutatorCopy //
+                + ", naming: [" + naming + "]";
+    }
+
     public static class Builder {
 
         private MojoSettings product;
@@ -89,12 +162,12 @@ public final class MojoSettings {
             return this;
         }
 
-        public Builder withBuilderCreation(BuilderMojo.Creation builderCreation) {
+        public Builder withBuilderCreation(AbstractGeneratorMojo.Creation builderCreation) {
             product.builderCreation = builderCreation;
             return this;
         }
 
-        public Builder withBuilderLocation(BuilderMojo.Location builderLocation) {
+        public Builder withBuilderLocation(AbstractGeneratorMojo.Location builderLocation) {
             product.builderLocation = builderLocation;
             return this;
         }
@@ -104,21 +177,63 @@ public final class MojoSettings {
             return this;
         }
 
+        public Builder withFreezeImmutableProducts(boolean freezeImmutableProducts) {
+            product.freezeImmutableProducts = freezeImmutableProducts;
+            return this;
+        }
+
+        public Builder withResettableBuilders(boolean resettableBuilders) {
+            product.resettableBuilders = resettableBuilders;
+            return this;
+        }
+
+        public Builder withPooledBuilders(boolean pooledBuilders) {
+            product.pooledBuilders = pooledBuilders;
+            return this;
+        }
+
         public Builder withJavaVersion(LanguageLevel javaVersion) {
             product.javaVersion = javaVersion;
             return this;
         }
 
+        public Builder withOutputMode(BuilderMojo.OutputMode outputMode) {
+            product.outputMode = outputMode;
+            return this;
+        }
+
+        public Builder withEncoding(String encoding) {
+            if (!isNullOrBlank(encoding)) {
+                product.encoding = Charset.forName(encoding);
+            }
+            return this;
+        }
+
         public Builder withListAdderVariants(GenerateAdder.Variant[] listAdderVariants) {
             product.listAdderVariants = listAdderVariants;
             return this;
         }
 
+        public Builder withListAdderStyle(GenerateAdder.Style listAdderStyle) {
+            product.listAdderStyle = listAdderStyle;
+            return this;
+        }
+
+        public Builder withArrayAdders(boolean arrayAdders) {
+            product.arrayAdders = arrayAdders;
+            return this;
+        }
+
         public Builder withListMutatorVariants(GenerateListMutator.Variant[] listMutatorVariants) {
             product.listMutatorVariants = listMutatorVariants;
             return this;
         }
 
+        public Builder withListMutatorCopy(AbstractGeneratorMojo.CopyStyle listMutatorCopy) {
+            product.listMutatorCopy = listMutatorCopy;
+            return this;
+        }
+
         public Builder withNamingSettings(Naming naming) {
             product.naming = naming;
             return this;
@@ -15,6 +15,11 @@
  */
 package io.github.mletkin.numerobis.plugin;
 
+import static java.util.function.Predicate.not;
+
+import java.util.Map;
+import java.util.Set;
+
 import io.github.mletkin.numerobis.common.VisibleForTesting;
 
 /**
@@ -34,12 +39,18 @@ public final class Naming {
      */
     public static final Naming DEFAULT = new Naming();
 
+    private static final Set<String> SETTINGS = Set.of("factoryMethod", "buildMethod", "mutatorPrefix", "adderPrefix",
+            "builderClassPostfix", "productField", "resetMethod", "poolMethod", "poolField");
+
     private String factoryMethod = "of";
     private String buildMethod = "build";
     private String mutatorPrefix = "with";
     private String adderPrefix = "add";
     private String builderClassPostfix = "Builder";
     private String productField = "product";
+    private String resetMethod = "reset";
+    private String poolMethod = "pooled";
+    private String poolField = "POOL";
 
     private Naming() {
         // instantiation through the builder only
@@ -100,6 +111,24 @@ public final class Naming {
             return this;
         }
 
+        @VisibleForTesting
+        Builder withResetMethod(String resetMethod) {
+            naming.resetMethod = resetMethod;
+            return this;
+        }
+
+        @VisibleForTesting
+        Builder withPoolMethod(String poolMethod) {
+            naming.poolMethod = poolMethod;
+            return this;
+        }
+
+        @VisibleForTesting
+        Builder withPoolField(String poolField) {
+            naming.poolField = poolField;
+            return this;
+        }
+
         @VisibleForTesting
         Naming build() {
             return naming;
@@ -107,6 +136,36 @@ public final class Naming {
 
     }
 
+    /**
+     * Creates naming settings from a map.
+     * <p>
+     * The keys are the field names of the class, missing settings keep their
+     * default value. Used by the annotation processor that gets the settings as
+     * compiler options.
+     *
+     * @param  values map with the settings
+     * @return        the naming settings
+     */
+    public static Naming of(Map<String, String> values) {
+        var unknown = values.keySet().stream() //
+                .filter(not(SETTINGS::contains)) //
+                .findFirst();
+        if (unknown.isPresent()) {
+            throw new IllegalArgumentException("unknown naming setting " + unknown.get());
+        }
+        return Builder.of() //
+                .withFactoryMethod(values.getOrDefault("factoryMethod", DEFAULT.factoryMethod)) //
+                .withBuildMethod(values.getOrDefault("buildMethod", DEFAULT.buildMethod)) //
+                .withMutatorPrefix(values.getOrDefault("mutatorPrefix", DEFAULT.mutatorPrefix)) //
+                .withAdderPrefix(values.getOrDefault("adderPrefix", DEFAULT.adderPrefix)) //
+                .withBuilderClassPostfix(values.getOrDefault("builderClassPostfix", DEFAULT.builderClassPostfix)) //
+                .withProductField(values.getOrDefault("productField", DEFAULT.productField)) //
+                .withResetMethod(values.getOrDefault("resetMethod", DEFAULT.resetMethod)) //
+                .withPoolMethod(values.getOrDefault("poolMethod", DEFAULT.poolMethod)) //
+                .withPoolField(values.getOrDefault("poolField", DEFAULT.poolField)) //
+                .build();
+    }
+
     public String factoryMethod() {
         return factoryMethod;
     }
@@ -131,6 +190,18 @@ public final class Naming {
         return productField;
     }
 
+    public String resetMethod() {
+        return resetMethod;
+    }
+
+    public String poolMethod() {
+        return poolMethod;
+    }
+
+    public String poolField() {
+        return poolField;
+    }
+
     @Override
     public String toString() {
         return "factoryMethod: " + factoryMethod //
@@ -138,6 +209,9 @@ public final class Naming {
                 + ", mutatorPrefix: " + mutatorPrefix //
                 + ", adderPrefix: " + adderPrefix //
                 + ", builderClassPostfix: " + builderClassPostfix //
-                + ", productField: " + productField;
+                + ", productField: " + productField //
+                + ", resetMethod: " + resetMethod //
+                + ", poolMethod: " + poolMethod //
+                + ", poolField: " + poolField;
     }
 }
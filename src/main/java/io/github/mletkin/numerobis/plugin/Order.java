@@ -15,11 +15,11 @@
  */
 package io.github.mletkin.numerobis.plugin;
 
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 
+import com.github.javaparser.JavaParser;
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.PackageDeclaration;
@@ -47,6 +47,8 @@ public class Order {
     private boolean productsAreMutable;
 
     private Naming naming;
+    private JavaParser parser;
+    private ParseCache parseCache;
 
     private CompilationUnit builderUnit = new CompilationUnit();
     private Path builderPath;
@@ -56,11 +58,31 @@ public class Order {
 
     /**
      * Creates an order object for a given product class file.
+     * <p>
+     * Uses a parser with the configuration of the {@link StaticJavaParser}.
      *
      * @param productClassFile descriptor of the file with the product class
      */
     public Order(Path productClassFile, Naming naming, boolean embedded, boolean useFactoryMethods,
             boolean productsAreMutable) {
+        this(new JavaParser(StaticJavaParser.getParserConfiguration()), ParseCache.disabled(), productClassFile,
+                naming, embedded, useFactoryMethods, productsAreMutable);
+    }
+
+    /**
+     * Creates an order object for a given product class file.
+     * <p>
+     * The parser is used for product and builder class and must not be shared
+     * between threads. Units already parsed are taken from the cache.
+     *
+     * @param parser           parser to use for the order's files
+     * @param parseCache       cache of parsed units
+     * @param productClassFile descriptor of the file with the product class
+     */
+    public Order(JavaParser parser, ParseCache parseCache, Path productClassFile, Naming naming, boolean embedded,
+            boolean useFactoryMethods, boolean productsAreMutable) {
+        this.parser = parser;
+        this.parseCache = parseCache;
         productPath = productClassFile;
         productUnit = parse(productPath);
         this.naming = naming;
@@ -190,11 +212,13 @@ public class Order {
         return naming;
     }
 
+    /**
+     * Parses the file and attaches the source text to the unit.
+     *
+     * @param  file java file to parse
+     * @return      the parsed unit
+     */
     private CompilationUnit parse(Path file) {
-        try {
-            return StaticJavaParser.parse(file);
-        } catch (IOException e) {
-            throw new MojoFileIOException(e);
-        }
+        return parseCache.parse(file, parser);
     }
 }
@@ -17,12 +17,23 @@ package io.github.mletkin.numerobis.plugin;
 
 import static java.util.Optional.of;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+
+import io.github.mletkin.numerobis.annotation.GenerateAdder;
 import io.github.mletkin.numerobis.common.VisibleForTesting;
 import io.github.mletkin.numerobis.generator.Facade;
 import io.github.mletkin.numerobis.generator.ListMutatorVariant;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
 
 /**
  * Generates {@link Order} objects for product classes.
@@ -33,9 +44,11 @@ import io.github.mletkin.numerobis.generator.ListMutatorVariant;
  * <li>The name settings from the maven configuration
  * <li>The product class annotations (future feature)
  * </ul>
+ * Each thread uses its own parser instance, so orders may be made concurrently.
  */
 public class OrderFactory {
     private static final ListMutatorVariant[] EMTPY = {};
+    private static final Pattern PACKAGE = Pattern.compile("(?m)^\\s*package\\s+([\\w.]+)\\s*;");
 
     private Path destinationPath;
     private boolean useFactoryMethods;
@@ -44,6 +57,16 @@ public class OrderFactory {
     private Naming naming;
     private ListMutatorVariant[] adderVariants;
     private ListMutatorVariant[] mutatorVariants;
+    private boolean directCopies;
+    private boolean bulkAdders;
+    private boolean freezeImmutableProducts;
+    private boolean resettableBuilders;
+    private boolean pooledBuilders;
+    private boolean arrayAdders;
+    private Prefilter prefilter = new Prefilter();
+    private ThreadLocal<JavaParser> parser;
+    private ParseCache parseCache = ParseCache.disabled();
+    private TypeResolver typeResolver = new TypeResolver(List.of());
 
     /**
      * Creates a Factory for the global configuration.
@@ -56,9 +79,46 @@ public class OrderFactory {
         this.makeEmbeddedBuilders = settings.builderLocation().flag();
         this.productsAreMutable = settings.productsAreMutable();
         this.naming = settings.naming();
+        this.parser = ThreadLocal.withInitial(() -> new JavaParser(parserConfiguration(settings)));
 
         this.adderVariants = of(settings).map(MojoSettings::listAdderVariants).map(this::toVariants).orElse(EMTPY);
         this.mutatorVariants = of(settings).map(MojoSettings::listMutatorVariants).map(this::toVariants).orElse(EMTPY);
+        this.directCopies = settings.listMutatorCopy() != null && settings.listMutatorCopy().flag();
+        this.bulkAdders = settings.listAdderStyle() == GenerateAdder.Style.BULK;
+        this.freezeImmutableProducts = settings.freezeImmutableProducts();
+        this.resettableBuilders = settings.resettableBuilders();
+        this.pooledBuilders = settings.pooledBuilders();
+        this.arrayAdders = settings.arrayAdders();
+    }
+
+    /**
+     * Sets the cache used for parsing product and builder files.
+     *
+     * @param  parseCache the cache to use
+     * @return            the {@code OrderFactory} instance
+     */
+    public OrderFactory withParseCache(ParseCache parseCache) {
+        this.parseCache = parseCache;
+        return this;
+    }
+
+    /**
+     * Sets the resolver that recognizes collection types.
+     *
+     * @param  typeResolver resolver for the type names of the product units
+     * @return              the {@code OrderFactory} instance
+     */
+    public OrderFactory withTypeResolver(TypeResolver typeResolver) {
+        this.typeResolver = typeResolver;
+        return this;
+    }
+
+    private static ParserConfiguration parserConfiguration(MojoSettings settings) {
+        var configuration = new ParserConfiguration().setCharacterEncoding(settings.encoding());
+        if (settings.javaVersion() != null) {
+            configuration.setLanguageLevel(settings.javaVersion());
+        }
+        return configuration;
     }
 
     /**
@@ -79,16 +139,54 @@ public class OrderFactory {
 
     /**
      * Produces an Order from the (potential) product file.
+     * <p>
+     * Files that can not contain a product class are sorted out by the
+     * {@link Prefilter} and are never parsed.
      *
      * @param  productFile locator of the java file containing the product class
-     * @return             an object describing the builder generation context
+     * @return             an object describing the builder generation context, empty
+     *                     if the file needs no processing
      */
-    public Order makeOrder(Path productFile) {
-        var order = new Order(productFile, naming, makeEmbeddedBuilders, useFactoryMethods, productsAreMutable);
+    public Optional<Order> makeOrder(Path productFile) {
+        if (!prefilter.mayNeedProcessing(productFile)) {
+            return Optional.empty();
+        }
+        var order = new Order(parser.get(), parseCache, productFile, naming, makeEmbeddedBuilders,
+                useFactoryMethods, productsAreMutable);
         if (order.generateBuilder()) {
             order.setBuilderPath(builderPath(order));
         }
-        return order;
+        return Optional.of(order);
+    }
+
+    /**
+     * Checks whether the file may contain a product class.
+     *
+     * @param  productFile locator of the java file
+     * @return             {@code true} if the file must be parsed
+     */
+    public boolean mayNeedProcessing(Path productFile) {
+        return prefilter.mayNeedProcessing(productFile);
+    }
+
+    /**
+     * Returns the location of the separate builder without parsing the product.
+     * <p>
+     * The package is taken from the package declaration in the source text.
+     *
+     * @param  productFile locator of the java file containing the product class
+     * @return             the builder file, empty for embedded builders
+     */
+    public Optional<Path> separateBuilderPath(Path productFile) {
+        if (makeEmbeddedBuilders) {
+            return Optional.empty();
+        }
+        try {
+            var matcher = PACKAGE.matcher(new String(Files.readAllBytes(productFile), StandardCharsets.ISO_8859_1));
+            return Optional.of(builderPath(productFile, matcher.find() ? matcher.group(1) : ""));
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
     }
 
     /**
@@ -98,7 +196,14 @@ public class OrderFactory {
     public Facade makeFacade() {
         return new Facade() //
                 .withAdderVariants(adderVariants) //
-                .withMutatorVariants(mutatorVariants);
+                .withMutatorVariants(mutatorVariants) //
+                .withDirectCopies(directCopies) //
+                .withBulkAdders(bulkAdders) //
+                .withFrozenImmutableProducts(freezeImmutableProducts) //
+                .withResettableBuilders(resettableBuilders) //
+                .withPooledBuilders(pooledBuilders) //
+                .withArrayAdders(arrayAdders) //
+                .withTypeResolver(typeResolver);
     }
 
     private Path builderPath(Order order) {
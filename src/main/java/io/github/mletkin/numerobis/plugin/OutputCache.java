@@ -0,0 +1,296 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import io.github.mletkin.numerobis.common.VisibleForTesting;
+
+/**
+ * Content addressed cache for the generated files.
+ * <p>
+ * The key is the hash of the fingerprint of the configuration, the content of
+ * the product file and the content of the existing separate builder file. The
+ * entry holds the content of the generated product and builder file. Builds in
+ * different workspaces with the same inputs share the entries.
+ * <p>
+ * Entries are written to a temporary file and published with an atomic rename,
+ * concurrent builds never see partial entries. Reading an entry touches it, the
+ * least recently used entries are evicted first.
+ */
+public final class OutputCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Duration TEMP_AGE = Duration.ofHours(1);
+
+    private final Path directory;
+    private final String fingerprint;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private OutputCache(Path directory, String fingerprint) {
+        this.directory = directory;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Creates a cache that never hits and stores nothing.
+     *
+     * @return the {@code OutputCache} instance
+     */
+    public static OutputCache disabled() {
+        return new OutputCache(null, null);
+    }
+
+    /**
+     * Creates a cache in a directory.
+     *
+     * @param  directory   the cache directory, shared by all builds
+     * @param  fingerprint fingerprint of configuration, plugin version and type
+     *                         environment
+     * @return             the {@code OutputCache} instance
+     */
+    public static OutputCache open(Path directory, String fingerprint) {
+        return new OutputCache(directory, fingerprint);
+    }
+
+    /**
+     * Checks whether the cache stores entries.
+     *
+     * @return {@code true} if the cache has a directory
+     */
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Computes the key of a product.
+     *
+     * @param  product path of the product file
+     * @param  builder path of the separate builder, empty for embedded builders
+     * @return         the key, empty if the cache is disabled
+     */
+    public Optional<String> key(Path product, Optional<Path> builder) {
+        if (directory == null) {
+            return Optional.empty();
+        }
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+            update(digest, Files.readAllBytes(product));
+            update(digest, builder.filter(Files::exists).map(OutputCache::read).orElse(null));
+            return Optional.of(HexFormat.of().formatHex(digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, byte[] content) {
+        var length = content == null ? -1 : content.length;
+        digest.update(new byte[] { (byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8),
+                (byte) length });
+        if (content != null) {
+            digest.update(content);
+        }
+    }
+
+    private static byte[] read(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    /**
+     * Reads an entry.
+     *
+     * @param  key the key of the product
+     * @return     the generated content, empty if there is no entry
+     */
+    public Optional<Output> get(String key) {
+        var file = entry(key);
+        try (var in = new DataInputStream(Files.newInputStream(file))) {
+            var product = readBlock(in);
+            var builder = readBlock(in);
+            touch(file);
+            hits.increment();
+            return Optional.of(new Output(product, builder));
+        } catch (NoSuchFileException e) {
+            misses.increment();
+            return Optional.empty();
+        } catch (IOException e) {
+            // a damaged entry is treated as missing
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] readBlock(DataInputStream in) throws IOException {
+        var length = in.readInt();
+        return length < 0 ? null : in.readNBytes(length);
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            // the entry may have been evicted concurrently
+        }
+    }
+
+    /**
+     * Stores an entry.
+     *
+     * @param key    the key of the product
+     * @param output the generated content
+     */
+    public void put(String key, Output output) {
+        var file = entry(key);
+        var temp = file.resolveSibling(key + "." + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(file.getParent());
+            var bytes = new ByteArrayOutputStream();
+            try (var out = new DataOutputStream(bytes)) {
+                writeBlock(out, output.product());
+                writeBlock(out, output.builder());
+            }
+            Files.write(temp, bytes.toByteArray());
+            move(temp, file);
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private static void writeBlock(DataOutputStream out, byte[] content) throws IOException {
+        out.writeInt(content == null ? -1 : content.length);
+        if (content != null) {
+            out.write(content);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Deletes old entries and the least recently used entries beyond the size.
+     *
+     * @param maxBytes maximum size of all entries
+     * @param maxAge   maximum time since the last use of an entry
+     */
+    public void evict(long maxBytes, Duration maxAge) {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        var now = Instant.now();
+        var entries = new ArrayList<Entry>();
+        try (var walk = Files.walk(directory)) {
+            for (var file : walk.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                entry(file).ifPresent(entries::add);
+            }
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+        entries.sort(Comparator.comparing(Entry::used).reversed());
+        var total = 0L;
+        for (var entry : entries) {
+            var temp = entry.file().getFileName().toString().endsWith(TEMP_SUFFIX);
+            var age = Duration.between(entry.used(), now);
+            if (temp) {
+                if (age.compareTo(TEMP_AGE) > 0) {
+                    deleteQuietly(entry.file());
+                }
+                continue;
+            }
+            total += entry.size();
+            if (total > maxBytes || age.compareTo(maxAge) > 0) {
+                deleteQuietly(entry.file());
+            }
+        }
+    }
+
+    private static Optional<Entry> entry(Path file) {
+        try {
+            return Optional.of(new Entry(file, Files.getLastModifiedTime(file).toInstant(), Files.size(file)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // deleted by a concurrent build or evicted later
+        }
+    }
+
+    @VisibleForTesting
+    Path entry(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Generated content of a product.
+     *
+     * @param product content of the product file
+     * @param builder content of the separate builder file, {@code null} if there
+     *                    is none
+     */
+    public record Output(byte[] product, byte[] builder) {
+    }
+
+    private record Entry(Path file, Instant used, long size) {
+    }
+}
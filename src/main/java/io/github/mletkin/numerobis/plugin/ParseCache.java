@@ -0,0 +1,215 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+import com.github.javaparser.ast.CompilationUnit;
+
+import io.github.mletkin.numerobis.common.VisibleForTesting;
+
+/**
+ * Cache for parsed compilation units.
+ * <p>
+ * The maven plugin class loader lives as long as the maven session, so the
+ * shared instance is used by all executions of the plugin in a reactor build.
+ * Modules sharing source directories and repeated executions reuse the parsed
+ * units.
+ * <p>
+ * A unit is identified by the path, modification time and size of the file and
+ * by language level and encoding of the parser. The cache holds pristine units
+ * and hands out clones, so the generator may change the units it gets. The
+ * least recently used units are evicted when the estimated size of the cached
+ * units exceeds the budget.
+ * <p>
+ * The cache may be used concurrently.
+ */
+public final class ParseCache {
+
+    /**
+     * Estimated heap usage of a parsed unit per character of source text.
+     */
+    @VisibleForTesting
+    static final int BYTES_PER_CHAR = 40;
+
+    private static final ParseCache SHARED = new ParseCache(0);
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long budget;
+    private long size;
+
+    /**
+     * Creates a cache.
+     *
+     * @param budget estimated heap size in bytes the cached units may use, zero
+     *                   for no caching
+     */
+    @VisibleForTesting
+    ParseCache(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Returns the cache shared by all executions in the maven session.
+     * <p>
+     * The budget is set for the shared cache, units exceeding the new budget are
+     * evicted.
+     *
+     * @param  budget estimated heap size in bytes the cached units may use, zero
+     *                    for no caching
+     * @return        the shared cache
+     */
+    public static ParseCache shared(long budget) {
+        synchronized (SHARED) {
+            SHARED.budget = Math.max(0, budget);
+            SHARED.evict();
+        }
+        return SHARED;
+    }
+
+    /**
+     * Returns a cache that parses every file.
+     *
+     * @return a cache that holds no units
+     */
+    public static ParseCache disabled() {
+        return new ParseCache(0);
+    }
+
+    /**
+     * Parses a java file or takes the unit from the cache.
+     * <p>
+     * The storage of the returned unit is set and the source text is attached.
+     *
+     * @param  file   java file to parse
+     * @param  parser parser to use if the file is not in the cache
+     * @return        the parsed unit, owned by the caller
+     */
+    public CompilationUnit parse(Path file, JavaParser parser) {
+        var configuration = parser.getParserConfiguration();
+        var encoding = configuration.getCharacterEncoding();
+        try {
+            var key = budget > 0 ? key(file, configuration.getLanguageLevel(), encoding) : null;
+            var entry = key != null ? lookup(key) : null;
+            if (entry == null) {
+                misses.increment();
+                var source = new String(Files.readAllBytes(file), encoding);
+                entry = new Entry(source, parse(source, parser));
+                if (key != null) {
+                    store(key, new Entry(source, entry.unit().clone()));
+                }
+            } else {
+                hits.increment();
+                entry = new Entry(entry.source(), entry.unit().clone());
+            }
+            var unit = entry.unit();
+            unit.setStorage(file, encoding);
+            PreservingPrinter.attachSource(unit, entry.source());
+            return unit;
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    private static CompilationUnit parse(String source, JavaParser parser) {
+        var result = parser.parse(source);
+        return result.getResult() //
+                .filter(u -> result.isSuccessful()) //
+                .orElseThrow(() -> new ParseProblemException(result.getProblems()));
+    }
+
+    private static Key key(Path file, LanguageLevel languageLevel, Charset encoding) throws IOException {
+        return new Key(file.toAbsolutePath().normalize(), Files.getLastModifiedTime(file).toMillis(),
+                Files.size(file), languageLevel, encoding);
+    }
+
+    private synchronized Entry lookup(Key key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(Key key, Entry entry) {
+        if (entry.weight() > budget) {
+            return;
+        }
+        var previous = entries.put(key, entry);
+        size += entry.weight() - (previous != null ? previous.weight() : 0);
+        evict();
+    }
+
+    /**
+     * Drops the least recently used units until the budget is met.
+     */
+    private synchronized void evict() {
+        var iterator = entries.values().iterator();
+        while (size > budget && iterator.hasNext()) {
+            size -= iterator.next().weight();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the number of units taken from the cache.
+     *
+     * @return number of hits
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of files parsed.
+     *
+     * @return number of misses
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of cached units.
+     *
+     * @return number of units
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Identifies a file content and the way it is parsed.
+     */
+    private record Key(Path path, long modified, long length, LanguageLevel languageLevel, Charset encoding) {
+    }
+
+    /**
+     * A parsed unit with the source text it was parsed from.
+     */
+    private record Entry(String source, CompilationUnit unit) {
+
+        long weight() {
+            return (long) source.length() * BYTES_PER_CHAR;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import io.github.mletkin.numerobis.annotation.GenerateAccessors;
+import io.github.mletkin.numerobis.annotation.GenerateBuilder;
+
+/**
+ * Cheap byte level test whether a java file might need processing.
+ * <p>
+ * A file can only contain a product class if it contains the name of the
+ * annotation package (import or qualified annotation) and the name of one of
+ * the triggering annotations. The file is scanned in chunks without decoding
+ * and the scan stops as soon as both conditions are met.
+ * <p>
+ * The test is conservative: a {@code false} result guarantees that the file
+ * needs no processing, a {@code true} result requires the file to be parsed.
+ */
+public final class Prefilter {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final byte[] PACKAGE = bytes(GenerateBuilder.class.getPackageName());
+    private static final byte[][] ANNOTATIONS = {
+            bytes(GenerateBuilder.class.getSimpleName()), //
+            bytes(GenerateAccessors.class.getSimpleName()) };
+
+    private static final int OVERLAP = Stream.concat(Stream.of(PACKAGE), Stream.of(ANNOTATIONS)) //
+            .mapToInt(t -> t.length) //
+            .max() //
+            .orElse(1) - 1;
+
+    /**
+     * Checks whether a file might contain a product class.
+     *
+     * @param  file the java file to check
+     * @return      {@code true} if the file must be parsed
+     */
+    public boolean mayNeedProcessing(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return scan(in);
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    private boolean scan(InputStream in) throws IOException {
+        var buffer = new byte[CHUNK_SIZE + OVERLAP];
+        var packageFound = false;
+        var annotationFound = false;
+        var carry = 0;
+        int read;
+        while ((read = in.read(buffer, carry, CHUNK_SIZE)) > 0) {
+            var length = carry + read;
+            packageFound = packageFound || contains(buffer, length, PACKAGE);
+            annotationFound = annotationFound || containsAny(buffer, length, ANNOTATIONS);
+            if (packageFound && annotationFound) {
+                return true;
+            }
+            carry = Math.min(OVERLAP, length);
+            System.arraycopy(buffer, length - carry, buffer, 0, carry);
+        }
+        return false;
+    }
+
+    private static boolean containsAny(byte[] buffer, int length, byte[][] tokens) {
+        for (byte[] token : tokens) {
+            if (contains(buffer, length, token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(byte[] buffer, int length, byte[] token) {
+        var last = length - token.length;
+        for (int start = 0; start <= last; start++) {
+            if (matchesAt(buffer, start, token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAt(byte[] buffer, int start, byte[] token) {
+        for (int n = 0; n < token.length; n++) {
+            if (buffer[start + n] != token[n]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] bytes(String token) {
+        return token.getBytes(StandardCharsets.US_ASCII);
+    }
+}
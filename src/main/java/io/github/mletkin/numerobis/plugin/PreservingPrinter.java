@@ -0,0 +1,240 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.github.javaparser.Position;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+
+/**
+ * Prints a compilation unit by copying the parsed source text.
+ * <p>
+ * Only the members and imports added by the generator are printed, they are
+ * inserted into the original text. Everything else is copied verbatim, so the
+ * layout of the user code is never changed.
+ * <p>
+ * The imports and members of the parsed unit are recorded when the source is
+ * attached, all others are considered to be generated. Units without source
+ * text and units with a generated package declaration are pretty printed as a
+ * whole.
+ * <p>
+ * JavaParser's {@code LexicalPreservingPrinter} is not used, because it looses
+ * the content of nodes that are completed after they were added to the tree.
+ */
+public final class PreservingPrinter {
+
+    private static final DataKey<Source> SOURCE = new DataKey<>() {
+    };
+
+    private static final String INDENT = "    ";
+
+    private final String source;
+    private final Set<Node> parsed;
+    private final String lineSeparator;
+    private final int[] lineStart;
+
+    private PreservingPrinter(Source source) {
+        this.source = source.text();
+        this.parsed = source.nodes();
+        this.lineSeparator = this.source.contains("\r\n") ? "\r\n" : "\n";
+        this.lineStart = lineStarts(this.source);
+    }
+
+    /**
+     * Attaches the source text to the unit parsed from it.
+     * <p>
+     * Must be called before the unit is changed.
+     *
+     * @param unit   unit parsed from the source
+     * @param source the source text
+     */
+    public static void attachSource(CompilationUnit unit, String source) {
+        Set<Node> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        unit.getPackageDeclaration().ifPresent(nodes::add);
+        nodes.addAll(unit.getImports());
+        for (TypeDeclaration<?> type : unit.findAll(TypeDeclaration.class)) {
+            nodes.add(type);
+            nodes.addAll(type.getMembers());
+        }
+        unit.setData(SOURCE, new Source(source, nodes));
+    }
+
+    /**
+     * Checks whether the unit carries the source text it was parsed from.
+     *
+     * @param  unit unit to check
+     * @return      {@code true} if the source text is available
+     */
+    public static boolean isAvailableOn(CompilationUnit unit) {
+        return unit.containsData(SOURCE);
+    }
+
+    /**
+     * Prints the unit, preserving the layout of the parsed source.
+     *
+     * @param  unit unit to print
+     * @return      the source code
+     */
+    public static String print(CompilationUnit unit) {
+        if (!isAvailableOn(unit) || unit.getRange().isEmpty()) {
+            return unit.toString();
+        }
+        return new PreservingPrinter(unit.getData(SOURCE)).splice(unit);
+    }
+
+    private String splice(CompilationUnit unit) {
+        if (unit.getPackageDeclaration().map(this::isGenerated).orElse(false)) {
+            return unit.toString();
+        }
+        var insertions = new ArrayList<Insertion>();
+        importInsertion(unit).ifPresent(insertions::add);
+        unit.findAll(TypeDeclaration.class).stream() //
+                .filter(t -> !isGenerated(t)) //
+                .map(this::memberInsertion) //
+                .flatMap(Optional::stream) //
+                .forEach(insertions::add);
+
+        insertions.sort(Comparator.comparingInt(Insertion::offset).reversed());
+        var result = new StringBuilder(source);
+        insertions.forEach(i -> result.insert(i.offset(), i.text()));
+        return result.toString();
+    }
+
+    private Optional<Insertion> importInsertion(CompilationUnit unit) {
+        var generated = unit.getImports().stream() //
+                .filter(this::isGenerated) //
+                .map(this::print) //
+                .collect(Collectors.toList());
+        if (generated.isEmpty()) {
+            return Optional.empty();
+        }
+        var lastImport = unit.getImports().stream() //
+                .filter(i -> !isGenerated(i)) //
+                .reduce((first, second) -> second);
+        if (lastImport.isPresent()) {
+            return Optional.of(new Insertion(offsetAfter(lastImport.get()), //
+                    lineSeparator + String.join(lineSeparator, generated)));
+        }
+        if (unit.getPackageDeclaration().isPresent()) {
+            return Optional.of(new Insertion(offsetAfter(unit.getPackageDeclaration().get()), //
+                    lineSeparator + lineSeparator + String.join(lineSeparator, generated)));
+        }
+        return Optional.of(new Insertion(0, String.join(lineSeparator, generated) + lineSeparator + lineSeparator));
+    }
+
+    private Optional<Insertion> memberInsertion(TypeDeclaration<?> type) {
+        List<BodyDeclaration<?>> generated = type.getMembers().stream() //
+                .filter(this::isGenerated) //
+                .collect(Collectors.toList());
+        if (generated.isEmpty()) {
+            return Optional.empty();
+        }
+        var indent = memberIndent(type);
+        var text = new StringBuilder();
+        generated.forEach(member -> text.append(lineSeparator).append(indent(print(member), indent)).append(lineSeparator));
+
+        var braceOffset = offset(type.getEnd().get());
+        var lineBegin = source.lastIndexOf('\n', braceOffset - 1) + 1;
+        if (source.substring(lineBegin, braceOffset).isBlank()) {
+            return Optional.of(new Insertion(lineBegin, text.toString()));
+        }
+        return Optional.of(new Insertion(braceOffset, lineSeparator + text));
+    }
+
+    /**
+     * Determines the indentation of the type's members.
+     * <p>
+     * Uses the indentation of the first parsed member, if there is none the
+     * indentation of the type is increased by one level.
+     *
+     * @param  type type declaration to use
+     * @return      white space string
+     */
+    private String memberIndent(TypeDeclaration<?> type) {
+        return type.getMembers().stream() //
+                .filter(m -> !isGenerated(m)) //
+                .findFirst() //
+                .map(m -> leadingWhitespace(m.getBegin().get())) //
+                .orElseGet(() -> leadingWhitespace(type.getBegin().get()) + INDENT);
+    }
+
+    private String leadingWhitespace(Position position) {
+        var begin = lineStart[position.line - 1];
+        var end = begin;
+        while (end < source.length() && (source.charAt(end) == ' ' || source.charAt(end) == '\t')) {
+            end++;
+        }
+        return source.substring(begin, end);
+    }
+
+    private String indent(String text, String indent) {
+        return text.lines() //
+                .map(line -> line.isBlank() ? "" : indent + line) //
+                .collect(Collectors.joining(lineSeparator));
+    }
+
+    private String print(Node node) {
+        return node.toString().lines().collect(Collectors.joining(lineSeparator));
+    }
+
+    private boolean isGenerated(Node node) {
+        return !parsed.contains(node);
+    }
+
+    private int offsetAfter(Node node) {
+        return offset(node.getEnd().get()) + 1;
+    }
+
+    private int offset(Position position) {
+        return lineStart[position.line - 1] + position.column - 1;
+    }
+
+    private static int[] lineStarts(String text) {
+        var starts = new ArrayList<Integer>();
+        starts.add(0);
+        for (int n = 0; n < text.length(); n++) {
+            var c = text.charAt(n);
+            if (c == '\n' || (c == '\r' && (n + 1 >= text.length() || text.charAt(n + 1) != '\n'))) {
+                starts.add(n + 1);
+            }
+        }
+        return starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Source text and the nodes parsed from it.
+     */
+    private record Source(String text, Set<Node> nodes) {
+    }
+
+    /**
+     * Text to be inserted at a position of the source text.
+     */
+    private record Insertion(int offset, String text) {
+    }
+}
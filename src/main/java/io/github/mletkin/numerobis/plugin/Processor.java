@@ -15,18 +15,33 @@
  */
 package io.github.mletkin.numerobis.plugin;
 
-import static io.github.mletkin.numerobis.common.Util.createParentPath;
 import static java.util.Optional.of;
+import static java.util.function.Predicate.not;
 
-import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
 
 import io.github.mletkin.numerobis.common.Generator;
 import io.github.mletkin.numerobis.generator.Sorter;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
+import io.github.mletkin.numerobis.plugin.BuildReport.Phase;
 
 /**
  * Processor for single java files to generate builder classes.
@@ -34,12 +49,22 @@ import io.github.mletkin.numerobis.generator.Sorter;
  * <li>called by the mojo
  * <li>created with a setup for the generator
  * <li>{@link #process(Path)} is called for each java file
+ * <li>{@link #check(Path)} is called for each java file to verify without
+ * writing
  * <li>maps mojo settings to generator settings
  * </ul>
+ * {@link #process(Path)} and {@link #check(Path)} may be called concurrently
+ * for different files.
  */
 public class Processor {
 
     private OrderFactory orderFactory;
+    private boolean preserveLayout;
+    private Manifest manifest = Manifest.disabled();
+    private OutputCache outputCache = OutputCache.disabled();
+    private BuildReport report = new BuildReport();
+    private UnitWriter writer = UnitWriter.synchronous();
+    private Charset encoding;
 
     /**
      * Creates a processor for the given configuration.
@@ -48,22 +73,211 @@ public class Processor {
      */
     public Processor(MojoSettings settings) {
         orderFactory = new OrderFactory(settings);
+        preserveLayout = settings.outputMode() != null && settings.outputMode().flag();
+        encoding = settings.encoding();
+    }
+
+    /**
+     * Sets the manifest used to skip unchanged products.
+     *
+     * @param  manifest the manifest of the previous build
+     * @return          the {@code Processor} instance
+     */
+    public Processor withManifest(Manifest manifest) {
+        this.manifest = manifest;
+        return this;
+    }
+
+    /**
+     * Sets the report that takes the measurements of the phases.
+     *
+     * @param  report the report of the build
+     * @return        the {@code Processor} instance
+     */
+    public Processor withReport(BuildReport report) {
+        this.report = report;
+        return this;
+    }
+
+    /**
+     * Sets the cache used for parsing the java files.
+     *
+     * @param  parseCache the cache to use
+     * @return            the {@code Processor} instance
+     */
+    public Processor withParseCache(ParseCache parseCache) {
+        orderFactory.withParseCache(parseCache);
+        return this;
+    }
+
+    /**
+     * Sets the resolver that recognizes collection types.
+     *
+     * @param  typeResolver resolver for the types of the project
+     * @return              the {@code Processor} instance
+     */
+    public Processor withTypeResolver(TypeResolver typeResolver) {
+        orderFactory.withTypeResolver(typeResolver);
+        return this;
+    }
+
+    /**
+     * Sets the write stage that stores the generated files.
+     * <p>
+     * With a concurrent writer {@link #flush()} must be called before the
+     * written files are used.
+     *
+     * @param  writer the writer to use
+     * @return        the {@code Processor} instance
+     */
+    public Processor withWriter(UnitWriter writer) {
+        this.writer = writer;
+        return this;
+    }
 
-        StaticJavaParser.getParserConfiguration().setLanguageLevel(settings.javaVersion());
+    /**
+     * Sets the cache holding the generated files of previous builds.
+     *
+     * @param  outputCache the cache to use
+     * @return             the {@code Processor} instance
+     */
+    public Processor withOutputCache(OutputCache outputCache) {
+        this.outputCache = outputCache;
+        return this;
     }
 
     /**
      * Parses the java file, generates and stores the class files if desired.
+     * <p>
+     * Products that are unchanged since the last build are skipped. Products
+     * found in the output cache are copied from the cache without parsing. The
+     * files are printed on the calling thread and stored by the writer, the
+     * manifest is updated after the files are stored. The phases are measured in
+     * the report.
      *
      * @param file location of the product class definition
      */
     public void process(Path file) {
-        var order = orderFactory.makeOrder(file);
-        if (order.needsProcessing()) {
-            generate(order);
-            sort(order);
-            write(order);
+        var start = System.nanoTime();
+        if (manifest.isUpToDate(file)) {
+            report.skipped();
+            return;
+        }
+        var builderPath = outputCache.isEnabled() ? orderFactory.separateBuilderPath(file) : Optional.<Path>empty();
+        var key = outputCache.isEnabled() && orderFactory.mayNeedProcessing(file) //
+                ? outputCache.key(file, builderPath)
+                : Optional.<String>empty();
+        var cached = key.flatMap(outputCache::get);
+        if (cached.isPresent()) {
+            var builder = cached.get().builder() != null ? builderPath.orElse(null) : null;
+            writer.submit(() -> {
+                report.measure(Phase.WRITE, () -> write(file, builder, cached.get()));
+                manifest.record(file, builder);
+            });
+            report.processed(file, System.nanoTime() - start);
+            return;
+        }
+        var order = report.measure(Phase.PARSE, () -> orderFactory.makeOrder(file));
+        if (order.isEmpty()) {
+            report.skipped();
+        } else if (!order.get().needsProcessing()) {
+            report.skipped();
+            record(order.get());
+        } else {
+            var o = order.get();
+            report.measure(Phase.GENERATE, () -> generate(o));
+            report.measure(Phase.SORT, () -> sort(o));
+            var output = report.measure(Phase.WRITE, () -> print(o));
+            writer.submit(() -> {
+                report.measure(Phase.WRITE, () -> write(o.productPath(), o.builderPath(), output));
+                key.ifPresent(k -> outputCache.put(k, output));
+                record(o);
+            });
+            report.processed(file, System.nanoTime() - start);
+        }
+    }
+
+    private void record(Order order) {
+        manifest.record(order.productPath(),
+                order.generateBuilder() && order.separateBuilder() ? order.builderPath() : null);
+    }
+
+    /**
+     * Waits until all generated files are stored.
+     */
+    public void flush() {
+        writer.flush();
+    }
+
+    /**
+     * Checks whether the product and its builder are up to date.
+     * <p>
+     * The generator runs on the parsed units, nothing is printed or written.
+     * Every member and import that the generator adds is reported.
+     *
+     * @param  file location of the product class definition
+     * @return      descriptions of the missing members, empty if the product is
+     *              up to date
+     */
+    public List<String> check(Path file) {
+        var start = System.nanoTime();
+        var order = report.measure(Phase.PARSE, () -> orderFactory.makeOrder(file));
+        if (order.isEmpty() || !order.get().needsProcessing()) {
+            report.skipped();
+            return List.of();
         }
+        var o = order.get();
+        var separateBuilder = o.generateBuilder() && o.separateBuilder();
+        if (separateBuilder && !Files.exists(o.builderPath())) {
+            report.processed(file, System.nanoTime() - start);
+            return List.of("builder file " + o.builderPath() + " is missing");
+        }
+        var units = separateBuilder ? List.of(o.productUnit(), o.builderUnit()) : List.of(o.productUnit());
+        Set<Node> existing = Collections.newSetFromMap(new IdentityHashMap<>());
+        units.forEach(u -> existing.addAll(u.findAll(Node.class)));
+        report.measure(Phase.GENERATE, () -> generate(o));
+        var missing = new ArrayList<String>();
+        units.forEach(u -> missingMembers(u, existing, missing));
+        report.processed(file, System.nanoTime() - start);
+        return missing;
+    }
+
+    private static void missingMembers(CompilationUnit unit, Set<Node> existing, List<String> missing) {
+        unit.getImports().stream() //
+                .filter(not(existing::contains)) //
+                .map(i -> "import " + i.getNameAsString()) //
+                .forEach(missing::add);
+        unit.getTypes().forEach(t -> missingMembers(t, t.getNameAsString(), existing, missing));
+    }
+
+    private static void missingMembers(TypeDeclaration<?> type, String typeName, Set<Node> existing,
+            List<String> missing) {
+        if (!existing.contains(type)) {
+            missing.add("class " + typeName);
+            return;
+        }
+        for (var member : type.getMembers()) {
+            if (member instanceof TypeDeclaration<?> nested) {
+                missingMembers(nested, typeName + "." + nested.getNameAsString(), existing, missing);
+            } else if (!existing.contains(member)) {
+                missing.add(describe(member, typeName));
+            }
+        }
+    }
+
+    private static String describe(BodyDeclaration<?> member, String typeName) {
+        if (member instanceof MethodDeclaration method) {
+            return "method " + typeName + "." + method.getSignature().asString();
+        }
+        if (member instanceof ConstructorDeclaration constructor) {
+            return "constructor " + typeName + "." + constructor.getSignature().asString();
+        }
+        if (member instanceof FieldDeclaration field) {
+            return "field " + typeName + "." + field.getVariables().stream() //
+                    .map(VariableDeclarator::getNameAsString) //
+                    .collect(Collectors.joining(", "));
+        }
+        return "member of " + typeName;
     }
 
     private void generate(Order order) {
@@ -94,26 +308,70 @@ public class Processor {
                 : facade.separateWithConstructors(order);
     }
 
+    /**
+     * Sorts the members of the units.
+     * <p>
+     * Units printed with preserved layout keep their member order, sorting them
+     * would have no effect.
+     *
+     * @param order order containing the units
+     */
     private void sort(Order order) {
         var sorter = new Sorter(order.naming());
-        of(order).map(Order::builderUnit).ifPresent(sorter::sort);
-        of(order).map(Order::productUnit).ifPresent(sorter::sort);
+        of(order).map(Order::builderUnit).filter(this::needsSorting).ifPresent(sorter::sort);
+        of(order).map(Order::productUnit).filter(this::needsSorting).ifPresent(sorter::sort);
+    }
+
+    private boolean needsSorting(CompilationUnit unit) {
+        return !preserveLayout || !PreservingPrinter.isAvailableOn(unit);
     }
 
-    private void write(Order order) {
-        if (order.separateBuilder()) {
-            of(order).map(Order::builderUnit).ifPresent(u -> writeUnit(order.builderPath(), u));
+    /**
+     * Prints the units that are written in the configured encoding.
+     * <p>
+     * There is no builder content if the order only generates accessors.
+     *
+     * @param  order order containing the units
+     * @return       the content of product and separate builder file
+     */
+    private OutputCache.Output print(Order order) {
+        byte[] builder = null;
+        if (order.generateBuilder() && order.separateBuilder()) {
+            builder = of(order).map(Order::builderUnit).map(this::print).orElse(null);
         }
-        of(order).map(Order::productUnit).ifPresent(u -> writeUnit(order.productPath(), u));
+        var product = of(order).map(Order::productUnit).map(this::print).orElse(null);
+        return new OutputCache.Output(product, builder);
+    }
+
+    private byte[] print(CompilationUnit unit) {
+        return (preserveLayout ? PreservingPrinter.print(unit) : unit.toString()).getBytes(encoding);
     }
 
-    private void writeUnit(Path path, CompilationUnit unit) {
-        try {
-            createParentPath(path);
-            Files.write(path, unit.toString().getBytes());
-        } catch (IOException e) {
-            throw new MojoFileIOException(e);
+    private void write(Path productPath, Path builderPath, OutputCache.Output output) {
+        if (output.builder() != null && builderPath != null) {
+            writer.write(builderPath, output.builder());
         }
+        if (output.product() != null) {
+            writer.write(productPath, output.product());
+        }
+    }
+
+    /**
+     * Returns the number of files actually written.
+     *
+     * @return number of files
+     */
+    public long writtenFiles() {
+        return writer.writtenFiles();
+    }
+
+    /**
+     * Returns the number of files not written because the content was unchanged.
+     *
+     * @return number of files
+     */
+    public long unchangedFiles() {
+        return writer.unchangedFiles();
     }
 
 }
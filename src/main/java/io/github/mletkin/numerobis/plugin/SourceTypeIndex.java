@@ -0,0 +1,699 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static io.github.mletkin.numerobis.common.Util.createParentPath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.github.mletkin.numerobis.common.VisibleForTesting;
+import io.github.mletkin.numerobis.generator.common.HierarchySource;
+import io.github.mletkin.numerobis.generator.common.HierarchySource.Signature;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
+
+/**
+ * Index of the types declared in the project's source files.
+ * <p>
+ * The files are not parsed, a scanner reads the package, the imports and the
+ * headers of all type declarations including nested types. The names of the
+ * supertypes are resolved on first request. The bodies of methods and
+ * initializers are skipped without tokenizing them.
+ * <p>
+ * The headers found in a file may be kept in a cache file and are reused as
+ * long as size and modification time of the file do not change.
+ * <p>
+ * Files may be added concurrently.
+ */
+public final class SourceTypeIndex implements HierarchySource {
+
+    private static final Set<String> TYPE_KEYWORDS = Set.of("class", "interface", "enum");
+    private static final String ANNOTATION = "@interface";
+    private static final String HEADER_SEPARATOR = "|";
+    private static final String FIELD_SEPARATOR = ";";
+    private static final String LIST_SEPARATOR = "/";
+    private static final String FORMAT_KEY = "format";
+    private static final String FORMAT = "2";
+    private static final Set<String> NO_TYPE_NAMES = Set.of("extends", "super", "boolean", "byte", "char", "short",
+            "int", "long", "float", "double");
+    private static final Pattern NAME = Pattern.compile("[\\w$.]+");
+
+    private final Path cacheFile;
+    private final Charset encoding;
+    private final Map<String, Entry> cached;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Header> headers = new ConcurrentHashMap<>();
+    private final Map<String, Signature> signatures = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an index for UTF-8 encoded files without cache.
+     */
+    public SourceTypeIndex() {
+        this(null, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates an index.
+     *
+     * @param cacheFile file with the headers of the last run, {@code null} for no
+     *                      persistence
+     * @param encoding  encoding of the java files
+     */
+    public SourceTypeIndex(Path cacheFile, Charset encoding) {
+        this.cacheFile = cacheFile;
+        this.encoding = encoding;
+        this.cached = cacheFile != null && Files.exists(cacheFile) ? load(cacheFile) : Map.of();
+    }
+
+    /**
+     * Adds the types declared in a java file.
+     * <p>
+     * The file is only read if it changed since the cache was written.
+     *
+     * @param file the java file to scan
+     */
+    public void add(Path file) {
+        try {
+            var key = file.toAbsolutePath().normalize().toString();
+            var stamp = Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+            var entry = cached.get(key);
+            if (entry == null || !entry.stamp().equals(stamp)) {
+                entry = new Entry(stamp, scan(new String(Files.readAllBytes(file), encoding)));
+            }
+            entry.headers().forEach(h -> headers.putIfAbsent(h.typeName(), h));
+            if (cacheFile != null) {
+                entries.put(key, entry);
+            }
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    /**
+     * Adds the types declared in a source text.
+     *
+     * @param source the source text to scan
+     */
+    @VisibleForTesting
+    void add(String source) {
+        scan(source).forEach(h -> headers.putIfAbsent(h.typeName(), h));
+    }
+
+    private static List<Header> scan(String source) {
+        return new Scanner(new Tokenizer(source)).scan();
+    }
+
+    /**
+     * Writes the headers of the files added in this run to the cache file.
+     * <p>
+     * Files that were not added are dropped from the cache. The file is written
+     * under a temporary name and moved, so that concurrent builds never read an
+     * incomplete cache.
+     */
+    public void store() {
+        if (cacheFile == null) {
+            return;
+        }
+        var properties = new Properties();
+        entries.forEach((file, entry) -> properties.setProperty(file, entry.format()));
+        properties.setProperty(FORMAT_KEY, FORMAT);
+        createParentPath(cacheFile);
+        try {
+            var temp = Files.createTempFile(cacheFile.getParent(), "sources", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, null);
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    private static Map<String, Entry> load(Path cacheFile) {
+        var properties = new Properties();
+        try (InputStream in = Files.newInputStream(cacheFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+        var result = new HashMap<String, Entry>();
+        if (!FORMAT.equals(properties.remove(FORMAT_KEY))) {
+            return result;
+        }
+        properties.stringPropertyNames().forEach(file -> result.put(file, Entry.parse(properties.getProperty(file))));
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed types.
+     *
+     * @return number of types
+     */
+    public int size() {
+        return headers.size();
+    }
+
+    /**
+     * Computes a hash of all indexed type headers.
+     * <p>
+     * The hash changes when a type is added, removed or changes its supertypes,
+     * but not when only the bodies of the types change.
+     *
+     * @return the SHA-256 hash as hex string
+     */
+    public String fingerprint() {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            headers.values().stream() //
+                    .map(Header::toString) //
+                    .sorted() //
+                    .forEach(h -> digest.update(h.getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean contains(String typeName) {
+        return headers.containsKey(typeName);
+    }
+
+    @Override
+    public Optional<List<String>> supertypes(String typeName, TypeResolver resolver) {
+        return signature(typeName, resolver).map(Signature::rawSupertypes);
+    }
+
+    @Override
+    public Optional<Signature> signature(String typeName, TypeResolver resolver) {
+        var header = headers.get(typeName);
+        if (header == null) {
+            return Optional.empty();
+        }
+        return Optional.of(signatures.computeIfAbsent(typeName, k -> resolve(header, resolver)));
+    }
+
+    private Signature resolve(Header header, TypeResolver resolver) {
+        var supertypes = header.supertypes().stream() //
+                .map(type -> resolve(header, Signature.raw(type), resolver) //
+                        .map(name -> name + resolveArguments(header, type.substring(Signature.raw(type).length()),
+                                resolver)))
+                .flatMap(Optional::stream) //
+                .collect(Collectors.toList());
+        return new Signature(header.typeParameters(), supertypes);
+    }
+
+    private Optional<String> resolve(Header header, String name, TypeResolver resolver) {
+        return resolveEnclosed(header, name) //
+                .or(() -> resolver.resolve(name, header.packageName(), header.singleImports(),
+                        header.onDemandImports()));
+    }
+
+    /**
+     * Replaces the type names in type arguments by binary names.
+     * <p>
+     * Type parameters and names that cannot be resolved are kept.
+     */
+    private String resolveArguments(Header header, String arguments, TypeResolver resolver) {
+        return NAME.matcher(arguments).replaceAll(m -> {
+            var name = m.group();
+            if (NO_TYPE_NAMES.contains(name) || header.typeParameters().contains(name)) {
+                return Matcher.quoteReplacement(name);
+            }
+            return Matcher.quoteReplacement(resolve(header, name, resolver).orElse(name));
+        });
+    }
+
+    /**
+     * Resolves a name of a type declared in an enclosing type.
+     *
+     * @param  header header of the type using the name
+     * @param  name   the name to resolve
+     * @return        the binary name, empty if there is no enclosed type
+     */
+    private Optional<String> resolveEnclosed(Header header, String name) {
+        var dot = name.indexOf('.');
+        var simpleName = dot < 0 ? name : name.substring(0, dot);
+        var nested = dot < 0 ? "" : name.substring(dot).replace('.', '$');
+        return header.enclosing().stream() //
+                .map(outer -> outer + "$" + simpleName) //
+                .filter(headers::containsKey) //
+                .findFirst() //
+                .map(n -> n + nested);
+    }
+
+    /**
+     * Header information of a type declaration.
+     *
+     * @param typeName        binary name of the type
+     * @param packageName     package of the declaring file
+     * @param singleImports   single type imports of the declaring file
+     * @param onDemandImports packages imported on demand by the declaring file
+     * @param enclosing       binary names of the enclosing types, innermost first
+     * @param typeParameters  names of the type parameters
+     * @param supertypes      unresolved direct supertypes with type arguments
+     */
+    private record Header(String typeName, String packageName, List<String> singleImports,
+            List<String> onDemandImports, List<String> enclosing, List<String> typeParameters,
+            List<String> supertypes) {
+
+        private String format() {
+            return Stream.of(typeName, packageName, String.join(LIST_SEPARATOR, singleImports),
+                    String.join(LIST_SEPARATOR, onDemandImports), String.join(LIST_SEPARATOR, enclosing),
+                    String.join(LIST_SEPARATOR, typeParameters), String.join(LIST_SEPARATOR, supertypes)) //
+                    .collect(Collectors.joining(FIELD_SEPARATOR));
+        }
+
+        private static Header parse(String value) {
+            var fields = value.split(FIELD_SEPARATOR, -1);
+            return new Header(fields[0], fields[1], list(fields[2]), list(fields[3]), list(fields[4]),
+                    list(fields[5]), list(fields[6]));
+        }
+
+        private static List<String> list(String value) {
+            return value.isEmpty() ? List.of() : List.of(value.split(LIST_SEPARATOR));
+        }
+    }
+
+    /**
+     * Cached headers of a file.
+     *
+     * @param stamp   size and modification time of the file
+     * @param headers headers of the types declared in the file
+     */
+    private record Entry(String stamp, List<Header> headers) {
+
+        private String format() {
+            return Stream.concat(Stream.of(stamp), headers.stream().map(Header::format)) //
+                    .collect(Collectors.joining(HEADER_SEPARATOR));
+        }
+
+        private static Entry parse(String value) {
+            var parts = value.split("\\" + HEADER_SEPARATOR);
+            return new Entry(parts[0], Stream.of(parts).skip(1).map(Header::parse).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Splits the source lazily into words and symbols.
+     * <p>
+     * Comments are dropped, literals are replaced by a placeholder.
+     */
+    private static class Tokenizer {
+
+        private final String source;
+        private final List<String> tokens = new ArrayList<>();
+        private int n;
+
+        private Tokenizer(String source) {
+            this.source = source;
+        }
+
+        /**
+         * Returns a token, reading ahead as needed.
+         *
+         * @param  index index of the token
+         * @return       the token, an empty string after the end of the source
+         */
+        private String get(int index) {
+            while (tokens.size() <= index && next()) {
+                // read ahead
+            }
+            return index < tokens.size() ? tokens.get(index) : "";
+        }
+
+        private boolean has(int index) {
+            return !get(index).isEmpty();
+        }
+
+        /**
+         * Skips a block without creating tokens for its content.
+         *
+         * @param  from index of the token after the opening brace
+         * @return      index of the closing brace
+         */
+        private int skipBlock(int from) {
+            var depth = 1;
+            for (var index = from; index < tokens.size(); index++) {
+                depth += depth(tokens.get(index).charAt(0));
+                if (depth == 0) {
+                    return index;
+                }
+            }
+            while (n < source.length() && depth > 0) {
+                if (!skipComment() && !skipLiteral()) {
+                    depth += depth(source.charAt(n++));
+                }
+            }
+            tokens.add("}");
+            return tokens.size() - 1;
+        }
+
+        private static int depth(char c) {
+            return c == '{' ? 1 : c == '}' ? -1 : 0;
+        }
+
+        private boolean next() {
+            var length = source.length();
+            while (n < length) {
+                var c = source.charAt(n);
+                if (Character.isWhitespace(c)) {
+                    n++;
+                } else if (skipLiteral()) {
+                    tokens.add("0");
+                    return true;
+                } else if (!skipComment()) {
+                    var start = n++;
+                    if (Character.isJavaIdentifierPart(c) || c == '.') {
+                        while (n < length && (Character.isJavaIdentifierPart(source.charAt(n)) //
+                                || source.charAt(n) == '.')) {
+                            n++;
+                        }
+                    }
+                    tokens.add(source.substring(start, n));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean skipComment() {
+            if (source.startsWith("//", n)) {
+                n = skipTo("\n", n + 2);
+            } else if (source.startsWith("/*", n)) {
+                n = skipTo("*/", n + 2);
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        private boolean skipLiteral() {
+            if (source.startsWith("\"\"\"", n)) {
+                n = skipLiteral("\"\"\"", n + 3);
+            } else if (source.charAt(n) == '"' || source.charAt(n) == '\'') {
+                n = skipLiteral(String.valueOf(source.charAt(n)), n + 1);
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        private int skipTo(String end, int from) {
+            var index = source.indexOf(end, from);
+            return index < 0 ? source.length() : index + end.length();
+        }
+
+        private int skipLiteral(String delimiter, int from) {
+            var i = from;
+            while (i < source.length() && !source.startsWith(delimiter, i)) {
+                i += source.charAt(i) == '\\' ? 2 : 1;
+            }
+            return Math.min(i + delimiter.length(), source.length());
+        }
+    }
+
+    /**
+     * Extracts the type headers from the token list.
+     */
+    private static class Scanner {
+
+        private final Tokenizer tokens;
+        private final List<Header> result = new ArrayList<>();
+        private final List<String> singleImports = new ArrayList<>();
+        private final List<String> onDemandImports = new ArrayList<>();
+        private final Deque<String> frames = new ArrayDeque<>();
+        private String packageName = "";
+        private String pendingType;
+        private int pos;
+
+        private Scanner(Tokenizer tokens) {
+            this.tokens = tokens;
+        }
+
+        /**
+         * Scans the tokens.
+         * <p>
+         * The frame stack holds the binary type name for type bodies and an empty
+         * string for all other blocks. Declarations are only recognized at the top
+         * level and in type bodies, the content of other blocks is skipped.
+         *
+         * @return list of type headers
+         */
+        private List<Header> scan() {
+            while (tokens.has(pos)) {
+                var token = tokens.get(pos);
+                if (token.equals("{")) {
+                    frames.push(pendingType != null ? pendingType : "");
+                    pos = pendingType != null ? pos + 1 : tokens.skipBlock(pos + 1);
+                    pendingType = null;
+                } else if (token.equals("}")) {
+                    frames.poll();
+                    pos++;
+                } else if (frames.isEmpty() && token.equals("package")) {
+                    packageName = joinUntilSemicolon(pos + 1);
+                } else if (frames.isEmpty() && token.equals("import")) {
+                    addImport();
+                } else if (inTypeBody() && typeKeyword(token) != null) {
+                    declareType(typeKeyword(token));
+                } else {
+                    pos++;
+                }
+            }
+            return result;
+        }
+
+        private boolean inTypeBody() {
+            return frames.isEmpty() || !frames.peek().isEmpty();
+        }
+
+        /**
+         * Checks for the start of a type declaration.
+         *
+         * @param  token token at the current position
+         * @return       the keyword, {@code null} if no type is declared
+         */
+        private String typeKeyword(String token) {
+            if (token.equals("@") && token(pos + 1).equals("interface") && isIdentifier(token(pos + 2))) {
+                return ANNOTATION;
+            }
+            if (TYPE_KEYWORDS.contains(token) && isIdentifier(token(pos + 1))) {
+                return token;
+            }
+            if (token.equals("record") && isIdentifier(token(pos + 1)) //
+                    && (token(pos + 2).equals("(") || token(pos + 2).equals("<"))) {
+                return token;
+            }
+            return null;
+        }
+
+        private void declareType(String keyword) {
+            if (keyword.equals(ANNOTATION)) {
+                pos++;
+            }
+            var name = token(pos + 1);
+            var outer = frames.peek();
+            var typeName = outer != null ? outer + "$" + name : qualify(name);
+            var supertypes = new ArrayList<String>();
+            pos += 2;
+            var typeParameters = typeParameters();
+            if (keyword.equals("record")) {
+                skipBalanced("(", ")");
+            }
+            var collect = false;
+            var hasSuperclass = false;
+            while (tokens.has(pos) && !tokens.get(pos).equals("{")) {
+                var token = tokens.get(pos);
+                if (token.equals("extends") || token.equals("implements")) {
+                    collect = true;
+                    hasSuperclass |= token.equals("extends") && keyword.equals("class");
+                    pos++;
+                } else if (token.equals("permits")) {
+                    collect = false;
+                    pos++;
+                } else if (token.equals("<")) {
+                    skipBalanced("<", ">");
+                } else if (token.equals("@")) {
+                    skipAnnotation();
+                } else if (collect && isIdentifier(token)) {
+                    pos++;
+                    supertypes.add(token + typeArguments());
+                } else {
+                    pos++;
+                }
+            }
+            switch (keyword) {
+            case "class" -> {
+                if (!hasSuperclass) {
+                    supertypes.add(0, "java.lang.Object");
+                }
+            }
+            case "enum" -> supertypes.add(0, "java.lang.Enum");
+            case "record" -> supertypes.add(0, "java.lang.Record");
+            case ANNOTATION -> supertypes.add("java.lang.annotation.Annotation");
+            default -> {
+                // interfaces have no implicit supertype
+            }
+            }
+            result.add(new Header(typeName, packageName, List.copyOf(singleImports), List.copyOf(onDemandImports),
+                    enclosing(), typeParameters, List.copyOf(supertypes)));
+            pendingType = typeName;
+        }
+
+        /**
+         * Reads the names of declared type parameters, bounds are skipped.
+         *
+         * @return the names, empty if the type is not generic
+         */
+        private List<String> typeParameters() {
+            var result = new ArrayList<String>();
+            if (!token(pos).equals("<")) {
+                return result;
+            }
+            var depth = 0;
+            var expectName = false;
+            do {
+                var token = tokens.get(pos);
+                if (token.equals("@")) {
+                    skipAnnotation();
+                    continue;
+                }
+                if (expectName && depth == 1 && isIdentifier(token)) {
+                    result.add(token);
+                }
+                expectName = token.equals("<") && depth == 0 || token.equals(",") && depth == 1;
+                depth += token.equals("<") ? 1 : token.equals(">") ? -1 : 0;
+                pos++;
+            } while (depth > 0 && tokens.has(pos));
+            return List.copyOf(result);
+        }
+
+        /**
+         * Reads type arguments as source text, annotations are dropped.
+         *
+         * @return the arguments in angle brackets, empty if there are none
+         */
+        private String typeArguments() {
+            if (!token(pos).equals("<")) {
+                return "";
+            }
+            var text = new StringBuilder();
+            var depth = 0;
+            var previous = "";
+            do {
+                var token = tokens.get(pos);
+                if (token.equals("@")) {
+                    skipAnnotation();
+                    continue;
+                }
+                if (isWord(previous) && isWord(token)) {
+                    text.append(' ');
+                }
+                text.append(token).append(token.equals(",") ? " " : "");
+                depth += token.equals("<") ? 1 : token.equals(">") ? -1 : 0;
+                previous = token;
+                pos++;
+            } while (depth > 0 && tokens.has(pos));
+            return text.toString();
+        }
+
+        private void skipAnnotation() {
+            pos += 2;
+            skipBalanced("(", ")");
+        }
+
+        private static boolean isWord(String token) {
+            return isIdentifier(token) || token.equals("?");
+        }
+
+        private List<String> enclosing() {
+            return frames.stream().filter(f -> !f.isEmpty()).collect(Collectors.toList());
+        }
+
+        private void addImport() {
+            if (token(pos + 1).equals("static")) {
+                joinUntilSemicolon(pos + 2);
+                return;
+            }
+            var name = joinUntilSemicolon(pos + 1);
+            if (name.endsWith(".*")) {
+                onDemandImports.add(name.substring(0, name.length() - 2));
+            } else {
+                singleImports.add(name);
+            }
+        }
+
+        private String joinUntilSemicolon(int from) {
+            var name = new StringBuilder();
+            pos = from;
+            while (tokens.has(pos) && !tokens.get(pos).equals(";")) {
+                name.append(tokens.get(pos++));
+            }
+            pos++;
+            return name.toString();
+        }
+
+        private void skipBalanced(String open, String close) {
+            if (!token(pos).equals(open)) {
+                return;
+            }
+            var depth = 0;
+            do {
+                var token = tokens.get(pos++);
+                if (token.equals(open)) {
+                    depth++;
+                } else if (token.equals(close)) {
+                    depth--;
+                }
+            } while (depth > 0 && tokens.has(pos));
+        }
+
+        private String qualify(String name) {
+            return packageName.isEmpty() ? name : packageName + "." + name;
+        }
+
+        private String token(int index) {
+            return tokens.get(index);
+        }
+
+        private static boolean isIdentifier(String token) {
+            return !token.isEmpty() && Character.isJavaIdentifierStart(token.charAt(0));
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+import io.github.mletkin.numerobis.common.VisibleForTesting;
+
+/**
+ * Collects the java files of a source root.
+ * <p>
+ * Include and exclude patterns are globs relative to the source root. As in
+ * ant patterns {@code **}{@code /} also matches no directory at all, so
+ * {@code **}{@code /generated/**} excludes a top level directory
+ * {@code generated} too. Directories matched by an exclude pattern or by the
+ * directory part of an exclude pattern ending in {@code /**} are not entered at
+ * all.
+ * <p>
+ * Directories are listed in parallel if more than one thread is used. The
+ * result is sorted, so it does not depend on the listing order.
+ */
+public final class SourceWalker {
+
+    private static final String DEFAULT_INCLUDE = "**/*.java";
+    private static final String SUBTREE = "/**";
+    private static final String ANY_DIRECTORIES = "**/";
+
+    private final List<PathMatcher> includes;
+    private final List<PathMatcher> excludes;
+    private final List<PathMatcher> prunedDirectories;
+    private final int parallelism;
+
+    /**
+     * Creates a walker.
+     *
+     * @param includes    patterns of the files to collect, all java files if
+     *                        empty or {@code null}
+     * @param excludes    patterns of files and directories to skip
+     * @param parallelism number of threads listing directories
+     */
+    public SourceWalker(List<String> includes, List<String> excludes, int parallelism) {
+        this.includes = matchers(includes == null || includes.isEmpty() ? List.of(DEFAULT_INCLUDE) : includes);
+        this.excludes = matchers(excludes);
+        this.prunedDirectories = matchers(excludes == null ? List.of()
+                : excludes.stream() //
+                        .filter(p -> p.endsWith(SUBTREE)) //
+                        .map(p -> p.substring(0, p.length() - SUBTREE.length())) //
+                        .collect(Collectors.toList()));
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    private static List<PathMatcher> matchers(List<String> patterns) {
+        var variants = new LinkedHashSet<String>();
+        if (patterns != null) {
+            patterns.forEach(p -> addVariants(p, variants));
+        }
+        return variants.stream() //
+                .map(p -> FileSystems.getDefault().getPathMatcher("glob:" + p)) //
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds the pattern and all variants with {@code **}{@code /} dropped.
+     * <p>
+     * A glob requires the separator after {@code **}, the variants allow empty
+     * directory lists.
+     *
+     * @param pattern  the pattern
+     * @param variants set of patterns to extend
+     */
+    private static void addVariants(String pattern, Set<String> variants) {
+        if (!variants.add(pattern)) {
+            return;
+        }
+        for (int n = pattern.indexOf(ANY_DIRECTORIES); n >= 0; n = pattern.indexOf(ANY_DIRECTORIES, n + 1)) {
+            if (n == 0 || pattern.charAt(n - 1) == '/') {
+                addVariants(pattern.substring(0, n) + pattern.substring(n + ANY_DIRECTORIES.length()), variants);
+            }
+        }
+    }
+
+    /**
+     * Collects the java files of a source root.
+     *
+     * @param  root the source root
+     * @return      sorted list of files, empty if the root does not exist
+     */
+    public List<Path> walk(Path root) {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        var task = new Listing(root, root);
+        List<Path> files;
+        if (parallelism == 1) {
+            files = task.compute();
+        } else {
+            var pool = new ForkJoinPool(parallelism);
+            try {
+                files = pool.invoke(task);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+
+    /**
+     * Selects the files that would be collected by walking the source roots.
+     *
+     * @param  roots the source roots
+     * @param  files the files to check
+     * @return       the accepted files in the given order
+     */
+    public List<Path> select(List<Path> roots, List<Path> files) {
+        return files.stream() //
+                .filter(f -> roots.stream().anyMatch(r -> accepts(r, f))) //
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks whether a file would be collected by walking the source root.
+     *
+     * @param  root the source root
+     * @param  file the file to check
+     * @return      {@code true} if the file lies in the root, is included and no
+     *              directory on the way is skipped
+     */
+    public boolean accepts(Path root, Path file) {
+        if (!file.startsWith(root)) {
+            return false;
+        }
+        var relative = root.relativize(file);
+        for (var directory = relative.getParent(); directory != null; directory = directory.getParent()) {
+            if (isPruned(directory)) {
+                return false;
+            }
+        }
+        return isIncluded(relative);
+    }
+
+    /**
+     * Checks whether a directory is skipped.
+     *
+     * @param  relative path of the directory relative to the source root
+     * @return          {@code true} if the directory is not entered
+     */
+    @VisibleForTesting
+    boolean isPruned(Path relative) {
+        return matches(excludes, relative) || matches(prunedDirectories, relative);
+    }
+
+    /**
+     * Checks whether a file is collected.
+     *
+     * @param  relative path of the file relative to the source root
+     * @return          {@code true} if the file is collected
+     */
+    @VisibleForTesting
+    boolean isIncluded(Path relative) {
+        return matches(includes, relative) && !matches(excludes, relative);
+    }
+
+    private static boolean matches(List<PathMatcher> matchers, Path path) {
+        return matchers.stream().anyMatch(m -> m.matches(path));
+    }
+
+    /**
+     * Lists a directory and forks a task for each sub directory.
+     */
+    private class Listing extends RecursiveTask<List<Path>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path root;
+        private final transient Path directory;
+
+        Listing(Path root, Path directory) {
+            this.root = root;
+            this.directory = directory;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            var files = new ArrayList<Path>();
+            var subtasks = new ArrayList<Listing>();
+            try (var entries = Files.newDirectoryStream(directory)) {
+                for (var entry : entries) {
+                    var attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    var relative = root.relativize(entry);
+                    if (attributes.isDirectory()) {
+                        if (!isPruned(relative)) {
+                            subtasks.add(new Listing(root, entry));
+                        }
+                    } else if (isIncluded(relative)) {
+                        files.add(entry);
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                return files;
+            } catch (IOException e) {
+                throw new MojoFileIOException(e);
+            }
+            if (parallelism == 1) {
+                subtasks.forEach(t -> files.addAll(t.compute()));
+            } else {
+                invokeAll(subtasks).forEach(t -> files.addAll(t.join()));
+            }
+            return files;
+        }
+    }
+}
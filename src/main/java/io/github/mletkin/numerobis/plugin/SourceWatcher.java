@@ -0,0 +1,149 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Watches source roots for changed java files.
+ * <p>
+ * All directories below the roots are registered with a {@link WatchService},
+ * directories created later are registered when they appear. Events are
+ * collected until no event arrived for the debounce time, so that a burst of
+ * events -- e.g. an editor writing a temporary file and renaming it -- is
+ * reported as one change.
+ */
+public final class SourceWatcher implements Closeable {
+
+    private static final String JAVA = ".java";
+
+    private final WatchService service;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Duration debounce;
+
+    /**
+     * Creates a watcher and registers the directories of the source roots.
+     *
+     * @param  roots       the source roots, missing roots are ignored
+     * @param  debounce    quiet time that ends a burst of events
+     * @throws IOException if the directories can not be registered
+     */
+    public SourceWatcher(List<Path> roots, Duration debounce) throws IOException {
+        this.service = FileSystems.getDefault().newWatchService();
+        this.debounce = debounce;
+        for (var root : roots) {
+            if (Files.isDirectory(root)) {
+                registerTree(root, new TreeSet<>());
+            }
+        }
+    }
+
+    /**
+     * Registers a directory tree.
+     *
+     * @param  directory root of the tree
+     * @param  found     takes the java files found in the tree
+     * @throws IOException if a directory can not be registered
+     */
+    private void registerTree(Path directory, TreeSet<Path> found) throws IOException {
+        try (var walk = Files.walk(directory)) {
+            for (var path : walk.collect(Collectors.toList())) {
+                if (Files.isDirectory(path)) {
+                    directories.put(path.register(service, ENTRY_CREATE, ENTRY_MODIFY), path);
+                } else if (isJavaFile(path)) {
+                    found.add(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for changed java files.
+     *
+     * @param  timeout maximum time to wait for the first event
+     * @return         sorted list of changed files, empty if no file changed
+     *                 within the timeout
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws IOException          if a new directory can not be registered
+     */
+    public List<Path> next(Duration timeout) throws InterruptedException, IOException {
+        var changed = new TreeSet<Path>();
+        var key = service.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        while (key != null) {
+            collect(key, changed);
+            key = service.poll(debounce.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return changed.stream().filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+
+    private void collect(WatchKey key, TreeSet<Path> changed) throws IOException {
+        var directory = directories.get(key);
+        for (var event : key.pollEvents()) {
+            if (directory == null) {
+                continue;
+            }
+            if (event.kind() == OVERFLOW) {
+                registerTree(directory, changed);
+                continue;
+            }
+            var path = directory.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                registerTree(path, changed);
+            } else if (isJavaFile(path)) {
+                changed.add(path);
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    private static boolean isJavaFile(Path path) {
+        return path.getFileName().toString().endsWith(JAVA);
+    }
+
+    /**
+     * Returns the watched directories.
+     *
+     * @return list of directories
+     */
+    public List<Path> directories() {
+        return new ArrayList<>(directories.values());
+    }
+
+    @Override
+    public void close() throws IOException {
+        service.close();
+    }
+}
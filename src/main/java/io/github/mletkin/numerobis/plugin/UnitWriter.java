@@ -0,0 +1,302 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static io.github.mletkin.numerobis.common.Util.hasContent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write stage that stores the generated files.
+ * <p>
+ * Tasks submitted to a concurrent writer run on their own threads, so that the
+ * file system does not stall the generation. Virtual threads are used if the
+ * runtime supports them. The number of pending tasks is limited, a generator
+ * that outruns the file system is blocked on submission.
+ * <p>
+ * Files are written to a temporary file and moved to their location with an
+ * atomic rename. Readers never see a partially written file. Directories that
+ * were created or found once are not checked again.
+ * <p>
+ * An existing file is replaced at the end of its symbolic links and keeps its
+ * POSIX permissions, owner and group. Files with hard links and files whose
+ * owner can't be copied are overwritten in place.
+ */
+public final class UnitWriter implements Closeable {
+
+    private static final int PENDING = 256;
+
+    private final ExecutorService executor;
+    private final Semaphore pending = new Semaphore(PENDING);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+    private final LongAdder writtenFiles = new LongAdder();
+    private final LongAdder unchangedFiles = new LongAdder();
+
+    private UnitWriter(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a writer that runs the tasks on the submitting thread.
+     *
+     * @return the {@code UnitWriter} instance
+     */
+    public static UnitWriter synchronous() {
+        return new UnitWriter(null);
+    }
+
+    /**
+     * Creates a writer that runs the tasks concurrently to the submitter.
+     *
+     * @param  threads number of platform threads used if virtual threads are not
+     *                     available
+     * @return         the {@code UnitWriter} instance
+     */
+    public static UnitWriter concurrent(int threads) {
+        return new UnitWriter(executor(threads));
+    }
+
+    private static ExecutorService executor(int threads) {
+        try {
+            // available from java 21 on, the plugin runs on java 17
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+                var thread = new Thread(runnable, "numerobis-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Runs a task in the write stage.
+     * <p>
+     * Exceptions of concurrent tasks are thrown by the next call of
+     * {@link #flush()}.
+     *
+     * @param task the task to run
+     */
+    public void submit(Runnable task) {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        pending.acquireUninterruptibly();
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    pending.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            pending.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until all submitted tasks are finished.
+     *
+     * @throws RuntimeException the first exception thrown by a task
+     * @throws Error            the first error thrown by a task
+     */
+    public void flush() {
+        pending.acquireUninterruptibly(PENDING);
+        pending.release(PENDING);
+        var exception = failure.getAndSet(null);
+        if (exception instanceof Error error) {
+            throw error;
+        }
+        if (exception != null) {
+            throw (RuntimeException) exception;
+        }
+    }
+
+    /**
+     * Writes the content to the file unless the file already has the content.
+     * <p>
+     * Unchanged files keep their modification time, so that incremental
+     * compilation is not triggered.
+     *
+     * @param path    file to write
+     * @param content content to write
+     */
+    public void write(Path path, byte[] content) {
+        try {
+            if (hasContent(path, content)) {
+                unchangedFiles.increment();
+                return;
+            }
+            if (Files.exists(path)) {
+                replace(path.toRealPath(), content);
+            } else {
+                createDirectory(path.getParent());
+                writeAtomically(path, content, null);
+            }
+            writtenFiles.increment();
+        } catch (IOException e) {
+            throw new MojoFileIOException(e);
+        }
+    }
+
+    /**
+     * Replaces the content of an existing file.
+     *
+     * @param  target  the file, not a symbolic link
+     * @param  content content to write
+     * @throws IOException if the file can't be written
+     */
+    private static void replace(Path target, byte[] content) throws IOException {
+        var view = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        if (view == null) {
+            writeAtomically(target, content, null);
+        } else if (linkCount(target) > 1) {
+            writeInPlace(target, content);
+        } else {
+            writeAtomically(target, content, view.readAttributes());
+        }
+    }
+
+    private static int linkCount(Path file) throws IOException {
+        return file.getFileSystem().supportedFileAttributeViews().contains("unix")
+                ? (Integer) Files.getAttribute(file, "unix:nlink")
+                : 1;
+    }
+
+    /**
+     * Writes a temporary file and moves it to the target.
+     *
+     * @param  target     file to write
+     * @param  content    content to write
+     * @param  attributes attributes for the new file, {@code null} to keep the
+     *                        defaults
+     * @throws IOException if the file can't be written
+     */
+    private static void writeAtomically(Path target, byte[] content, PosixFileAttributes attributes)
+            throws IOException {
+        var temp = target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.write(temp, content, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            if (attributes != null && !copyAttributes(attributes, temp)) {
+                writeInPlace(target, content);
+                return;
+            }
+            move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Copies permissions, group and owner to a file.
+     *
+     * @param  attributes attributes of the replaced file
+     * @param  file       the new file
+     * @return            {@code false} if group or owner can't be changed
+     * @throws IOException if the file can't be accessed
+     */
+    private static boolean copyAttributes(PosixFileAttributes attributes, Path file) throws IOException {
+        var view = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+        view.setPermissions(attributes.permissions());
+        var current = view.readAttributes();
+        try {
+            if (!current.group().equals(attributes.group())) {
+                view.setGroup(attributes.group());
+            }
+            if (!current.owner().equals(attributes.owner())) {
+                view.setOwner(attributes.owner());
+            }
+            return true;
+        } catch (FileSystemException e) {
+            return false;
+        }
+    }
+
+    private static void writeInPlace(Path target, byte[] content) throws IOException {
+        Files.write(target, content, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private void createDirectory(Path directory) throws IOException {
+        if (directory != null && !directories.contains(directory)) {
+            Files.createDirectories(directory);
+            directories.add(directory);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns the number of files actually written.
+     *
+     * @return number of files
+     */
+    public long writtenFiles() {
+        return writtenFiles.sum();
+    }
+
+    /**
+     * Returns the number of files not written because the content was unchanged.
+     *
+     * @return number of files
+     */
+    public long unchangedFiles() {
+        return unchangedFiles.sum();
+    }
+
+    /**
+     * Waits for the pending tasks and stops the threads.
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+import com.github.javaparser.ParseProblemException;
+
+import io.github.mletkin.numerobis.common.VisibleForTesting;
+import io.github.mletkin.numerobis.generator.GeneratorException;
+
+/**
+ * Regenerates builders whenever a source file changes.
+ * <ul>
+ * <li>runs the generate goal once for all files
+ * <li>watches the source roots and processes the changed products
+ * <li>processes the product of a changed separate builder
+ * <li>keeps type index, parse cache and processor between the changes
+ * <li>logs files that cannot be processed and keeps watching
+ * <li>runs until the maven process is stopped
+ * </ul>
+ * The type index is not updated, changes of the type hierarchy need a restart.
+ */
+@Mojo(name = "watch", requiresDependencyResolution = ResolutionScope.COMPILE)
+public class WatchMojo extends BuilderMojo {
+
+    /**
+     * Quiet time in milliseconds that ends a burst of file events.
+     */
+    @Parameter(defaultValue = "20")
+    private int debounce;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        super.execute();
+        var settings = settings();
+        var manifest = manifest(settings);
+        var walker = sourceWalker();
+        var roots = sourceRoots();
+        try (var writer = UnitWriter.concurrent(threadCount());
+                var watcher = new SourceWatcher(roots, Duration.ofMillis(debounce))) {
+            var processor = new Processor(settings) //
+                    .withManifest(manifest) //
+                    .withParseCache(parseCache()) //
+                    .withTypeResolver(typeResolver()) //
+                    .withWriter(writer);
+            getLog().info("watching " + watcher.directories().size() + " directories, stop with Ctrl-C");
+            while (!Thread.currentThread().isInterrupted()) {
+                var changed = watcher.next(Duration.ofDays(1));
+                var start = System.nanoTime();
+                var products = changed.stream() //
+                        .map(file -> manifest.productOf(file).orElse(file)) //
+                        .filter(file -> roots.stream().anyMatch(root -> walker.accepts(root, file))) //
+                        .distinct() //
+                        .collect(Collectors.toList());
+                if (products.isEmpty()) {
+                    continue;
+                }
+                var written = processor.writtenFiles();
+                process(processor, products);
+                manifest.store();
+                logChange(products, processor.writtenFiles() - written, System.nanoTime() - start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new MojoExecutionException("watching the source roots failed", e);
+        }
+    }
+
+    /**
+     * Processes the changed products.
+     * <p>
+     * A product that cannot be parsed or generated is logged and skipped, it is
+     * processed again with its next change. The remaining products are
+     * processed and all generated files are stored.
+     *
+     * @param  processor processor for the products
+     * @param  products  the changed products
+     * @return           number of products that failed
+     */
+    @VisibleForTesting
+    int process(Processor processor, List<Path> products) {
+        var failed = new AtomicInteger();
+        try {
+            forEach(products, file -> {
+                try {
+                    processor.process(file);
+                } catch (ParseProblemException | GeneratorException e) {
+                    failed.incrementAndGet();
+                    getLog().error(file + ": " + e.getMessage());
+                }
+            });
+        } finally {
+            processor.flush();
+        }
+        return failed.get();
+    }
+
+    private void logChange(List<Path> products, long written, long nanos) {
+        products.forEach(p -> getLog().debug("changed: " + p));
+        var message = products.size() + " changed files processed, " + written + " files written in "
+                + nanos / 1_000_000 + " ms";
+        if (written > 0) {
+            getLog().info(message);
+        } else {
+            // usually the event caused by writing the generated code
+            getLog().debug(message);
+        }
+    }
+
+    @Override
+    protected void logConfiguration() {
+        super.logConfiguration();
+        getLog().info("debounce: " + debounce + " ms");
+    }
+}
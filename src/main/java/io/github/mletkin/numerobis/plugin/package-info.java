@@ -1,8 +1,9 @@
 /**
  * Plugin entry point.
  * <p>
- * This package contains the entry point {@code BuilderMojo} for the maven
- * plugin. The {@code Processsor} class capsules the java class processing
- * classes from the maven plugin layer.
+ * This package contains the entry points {@code BuilderMojo},
+ * {@code CheckMojo} and {@code WatchMojo} for the maven plugin and
+ * {@code GeneratorCli} for the command line. The {@code Processsor} class
+ * capsules the java class processing classes from the maven plugin layer.
  */
 package io.github.mletkin.numerobis.plugin;
@@ -0,0 +1,171 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.processor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.Generated;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+
+import com.sun.source.util.Trees;
+
+import io.github.mletkin.numerobis.annotation.GenerateBuilder;
+import io.github.mletkin.numerobis.generator.GeneratorException;
+
+/**
+ * Annotation processor that generates separate builder classes during
+ * compilation.
+ * <p>
+ * The processor is an alternative to the {@code generate} goal. It reads the
+ * products from the model of the compiler, so the sources are not parsed a
+ * second time and types are resolved by the compiler. The generated builders
+ * are written to the generated sources directory of the compiler, product files
+ * are never changed. Hence only separate builders are generated and accessors
+ * are not supported.
+ * <p>
+ * Generated builders are marked with {@link Generated}. A builder that exists
+ * in the sources without the mark is written by hand and is left alone, a
+ * builder generated by an earlier compilation is replaced.
+ * <p>
+ * The processor is not registered as service, it must be named explicitly,
+ * e.g. with the compiler option {@code -processor}.
+ */
+@SupportedAnnotationTypes("io.github.mletkin.numerobis.annotation.GenerateBuilder")
+@SupportedOptions({ //
+        ProcessorOptions.BUILDER_CREATION, //
+        ProcessorOptions.PRODUCTS_ARE_MUTABLE, //
+        ProcessorOptions.FREEZE_IMMUTABLE_PRODUCTS, //
+        ProcessorOptions.RESETTABLE_BUILDERS, //
+        ProcessorOptions.POOLED_BUILDERS, //
+        ProcessorOptions.LIST_ADDER_VARIANTS, //
+        ProcessorOptions.LIST_ADDER_STYLE, //
+        ProcessorOptions.ARRAY_ADDERS, //
+        ProcessorOptions.LIST_MUTATOR_VARIANTS, //
+        ProcessorOptions.LIST_MUTATOR_COPY, //
+        ProcessorOptions.NAMING + "factoryMethod", //
+        ProcessorOptions.NAMING + "buildMethod", //
+        ProcessorOptions.NAMING + "mutatorPrefix", //
+        ProcessorOptions.NAMING + "adderPrefix", //
+        ProcessorOptions.NAMING + "builderClassPostfix", //
+        ProcessorOptions.NAMING + "productField", //
+        ProcessorOptions.NAMING + "resetMethod", //
+        ProcessorOptions.NAMING + "poolMethod", //
+        ProcessorOptions.NAMING + "poolField" })
+public class BuilderProcessor extends AbstractProcessor {
+
+    private ProcessorOptions options;
+    private Trees trees;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        try {
+            trees = Trees.instance(processingEnv);
+        } catch (IllegalArgumentException e) {
+            // not javac, every existing builder counts as source
+            trees = null;
+        }
+        try {
+            options = ProcessorOptions.of(processingEnv.getOptions());
+        } catch (IllegalArgumentException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR, "invalid builder option: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (options == null) {
+            return false;
+        }
+        roundEnv.getElementsAnnotatedWith(GenerateBuilder.class).stream() //
+                .filter(e -> e.getKind() == ElementKind.CLASS || e.getKind() == ElementKind.RECORD) //
+                .map(TypeElement.class::cast) //
+                .forEach(this::generate);
+        return false;
+    }
+
+    /**
+     * Generates the builder for a product.
+     * <p>
+     * Errors are reported to the compiler and do not stop the processing of
+     * other products.
+     *
+     * @param product the product class or record
+     */
+    private void generate(TypeElement product) {
+        var builder = new BuilderSource(processingEnv, options, product);
+        try {
+            var source = builder.source();
+            if (isHandWritten(processingEnv.getElementUtils().getTypeElement(builder.builderName()))) {
+                processingEnv.getMessager().printMessage(Kind.WARNING,
+                        "builder " + builder.builderName() + " exists and is not generated", product);
+                return;
+            }
+            var file = processingEnv.getFiler().createSourceFile(builder.builderName(), product);
+            try (var writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (GeneratorException | FilerException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR, e.getMessage(), product);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR,
+                    "builder " + builder.builderName() + " could not be written: " + e.getMessage(), product);
+        }
+    }
+
+    /**
+     * Checks whether an existing builder was written by hand.
+     * <p>
+     * Builders known only from a class file are left from an earlier
+     * compilation, a builder written by hand would be compiled from its source.
+     *
+     * @param  builder the existing builder class, may be {@code null}
+     * @return         {@code true} if the builder must not be replaced
+     */
+    private boolean isHandWritten(TypeElement builder) {
+        if (builder == null || isGenerated(builder)) {
+            return false;
+        }
+        return trees == null || trees.getPath(builder) != null;
+    }
+
+    private static boolean isGenerated(TypeElement builder) {
+        return builder.getAnnotationMirrors().stream() //
+                .filter(a -> a.getAnnotationType().toString().equals(Generated.class.getName())) //
+                .flatMap(a -> a.getElementValues().entrySet().stream()) //
+                .filter(e -> e.getKey().getSimpleName().contentEquals("value")) //
+                .flatMap(e -> ((List<?>) e.getValue().getValue()).stream()) //
+                .map(v -> ((AnnotationValue) v).getValue()) //
+                .anyMatch(BuilderProcessor.class.getName()::equals);
+    }
+}
@@ -0,0 +1,672 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.processor;
+
+import static io.github.mletkin.numerobis.common.Util.firstLetterUppercase;
+import static io.github.mletkin.numerobis.common.Util.firstNotEmpty;
+import static java.util.function.Predicate.not;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+
+import io.github.mletkin.numerobis.annotation.GenerateAdder;
+import io.github.mletkin.numerobis.annotation.GenerateListMutator;
+import io.github.mletkin.numerobis.annotation.GenerateMutator;
+import io.github.mletkin.numerobis.annotation.Ignore;
+import io.github.mletkin.numerobis.annotation.Immutable;
+import io.github.mletkin.numerobis.annotation.Mutable;
+import io.github.mletkin.numerobis.common.PackageVisible;
+import io.github.mletkin.numerobis.generator.GeneratorException;
+import io.github.mletkin.numerobis.generator.ListMutatorVariant;
+import io.github.mletkin.numerobis.plugin.Naming;
+
+/**
+ * Produces the source of a separate builder class from the model of the
+ * product.
+ * <p>
+ * The generated members are those the {@code generate} goal adds to a new
+ * separate builder file. Types are written fully qualified, so the builder
+ * needs no imports. The builder is marked as generated by the processor.
+ */
+@PackageVisible
+class BuilderSource {
+
+    private static final String STREAM_TYPE = "java.util.stream.Stream";
+    private static final String COLLECTORS_TYPE = "java.util.stream.Collectors";
+    private static final String COLLECTION_TYPE = "java.util.Collection";
+    private static final String ARRAYS_TYPE = "java.util.Arrays";
+    private static final String COLLECTIONS_TYPE = "java.util.Collections";
+    private static final String INDENT = "    ";
+    private static final String ITEM = "item";
+    private static final String ITEMS = "items";
+    private static final ListMutatorVariant[] DEFAULT_ADDER = { ListMutatorVariant.ITEM };
+    private static final ListMutatorVariant[] DEFAULT_MUTATOR = { ListMutatorVariant.OBJECT };
+
+    private final ProcessingEnvironment env;
+    private final ProcessorOptions options;
+    private final Naming naming;
+    private final TypeElement product;
+    private final List<String> members = new ArrayList<>();
+    private final Set<String> signatures = new HashSet<>();
+
+    /**
+     * Creates a source generator for a product.
+     *
+     * @param env     environment of the processor
+     * @param options settings of the processor
+     * @param product the product class or record
+     */
+    @PackageVisible
+    BuilderSource(ProcessingEnvironment env, ProcessorOptions options, TypeElement product) {
+        this.env = env;
+        this.options = options;
+        this.naming = options.naming();
+        this.product = product;
+    }
+
+    /**
+     * Returns the fully qualified name of the builder class.
+     *
+     * @return the name
+     */
+    @PackageVisible
+    String builderName() {
+        var packageName = packageName();
+        return packageName.isEmpty() ? builderSimpleName() : packageName + "." + builderSimpleName();
+    }
+
+    private String builderSimpleName() {
+        return productName() + naming.builderClassPostfix();
+    }
+
+    private String productName() {
+        return product.getSimpleName().toString();
+    }
+
+    private String packageName() {
+        return env.getElementUtils().getPackageOf(product).getQualifiedName().toString();
+    }
+
+    /**
+     * Produces the source of the builder class.
+     *
+     * @return the java source
+     * @throws GeneratorException if no builder can be generated for the product
+     */
+    @PackageVisible
+    String source() {
+        if (!(product.getEnclosingElement() instanceof PackageElement)) {
+            throw GeneratorException.nestedProductNotSupported();
+        }
+        if (!product.getTypeParameters().isEmpty()) {
+            throw GeneratorException.genericProductNotSupported();
+        }
+        if (product.getKind() == ElementKind.RECORD) {
+            addRecordMembers();
+        } else {
+            addClassMembers();
+        }
+        var text = new StringBuilder();
+        if (!packageName().isEmpty()) {
+            text.append("package ").append(packageName()).append(";\n\n");
+        }
+        text.append("@javax.annotation.processing.Generated(\"") //
+                .append(BuilderProcessor.class.getName()) //
+                .append("\")\n");
+        text.append("public class ").append(builderSimpleName()).append(" {\n");
+        members.forEach(m -> text.append('\n').append(m));
+        return text.append("}\n").toString();
+    }
+
+    private void addRecordMembers() {
+        var components = product.getRecordComponents();
+        components.forEach(c -> add("private " + type(c.asType()) + " " + c.getSimpleName() + ";"));
+        components.forEach(c -> addMutator(naming.mutatorPrefix() + firstLetterUppercase(c.getSimpleName().toString()),
+                type(c.asType()), c.getSimpleName().toString(), //
+                "this." + c.getSimpleName() + " = " + c.getSimpleName() + ";"));
+        if (isResettable()) {
+            var statements = components.stream() //
+                    .map(c -> "this." + c.getSimpleName() + " = " + defaultValue(c.asType()) + ";") //
+                    .collect(Collectors.toCollection(ArrayList::new));
+            statements.add("return this;");
+            add("public " + builderSimpleName() + " " + naming.resetMethod() + "()", statements.toArray(String[]::new));
+        }
+        if (options.pooledBuilders()) {
+            addPool("", "", "new " + builderSimpleName() + "()");
+        }
+        var arguments = components.stream().map(c -> c.getSimpleName().toString()).collect(Collectors.joining(", "));
+        addBuildMethod("return new " + productName() + "(" + arguments + ");");
+    }
+
+    private void addClassMembers() {
+        var constructors = ElementFilter.constructorsIn(product.getEnclosedElements()).stream() //
+                .filter(this::process) //
+                .collect(Collectors.toList());
+        if (constructors.isEmpty()) {
+            throw GeneratorException.noConstructorFound();
+        }
+        add("private " + productName() + " " + naming.productField() + ";");
+        if (options.useFactoryMethods()) {
+            addFactoryMethods(constructors);
+        } else {
+            addConstructors(constructors);
+        }
+        var fields = ElementFilter.fieldsIn(product.getEnclosedElements()).stream() //
+                .filter(this::process) //
+                .collect(Collectors.toList());
+        fields.forEach(this::addMutators);
+        fields.stream().filter(this::isCollection).filter(not(this::hasWildcardItem)).forEach(this::addAdders);
+        var bufferedArrays = fields.stream().filter(this::isBufferedArray).collect(Collectors.toList());
+        bufferedArrays.forEach(this::addArrayAdders);
+        if (isResettable()) {
+            for (var constructor : constructors) {
+                var statements = new ArrayList<String>();
+                statements.add(naming.productField() + " = " + newProduct(constructor) + ";");
+                bufferedArrays.forEach(f -> statements.add(f.getSimpleName() + "Count = 0;"));
+                statements.add("return this;");
+                add("public " + builderSimpleName() + " " + naming.resetMethod() + "(" + parameters(constructor) + ")",
+                        statements.toArray(String[]::new));
+            }
+        }
+        if (options.pooledBuilders()) {
+            constructors.forEach(c -> addPool(parameters(c), arguments(c), options.useFactoryMethods() //
+                    ? naming.factoryMethod() + "(" + arguments(c) + ")"
+                    : "new " + builderSimpleName() + "(" + arguments(c) + ")"));
+        }
+        var flushes = bufferedArrays.stream() //
+                .map(f -> "flush" + firstLetterUppercase(f.getSimpleName().toString()) + "();");
+        var statements = isFrozen() //
+                ? freezeStatements(fields)
+                : new String[] { "return " + naming.productField() + ";" };
+        addBuildMethod(Stream.of(builtGuard(), flushes, Stream.of(statements)) //
+                .flatMap(s -> s) //
+                .toArray(String[]::new));
+    }
+
+    /**
+     * Produces the statements of a build method that freezes the product.
+     * <p>
+     * Fields declared as {@code List}, {@code Set} or {@code Collection} get an
+     * unmodifiable copy that may contain {@code null}, the builder releases the
+     * product.
+     *
+     * @param  fields the processed fields of the product
+     * @return        the statements of the build method
+     */
+    private String[] freezeStatements(List<VariableElement> fields) {
+        var product = naming.productField();
+        var statements = new ArrayList<String>();
+        for (var field : fields) {
+            var copyClass = copyClass(field);
+            if (copyClass != null && !field.getModifiers().contains(Modifier.FINAL)) {
+                var access = product + "." + field.getSimpleName();
+                var unmodifiable = copyClass == ArrayList.class ? "unmodifiableList" : "unmodifiableSet";
+                statements.add(access + " = " + access + " != null ? " + Collections.class.getName() + "."
+                        + unmodifiable + "(new " + copyClass.getName() + "<>(" + access + ")) : null;");
+            }
+        }
+        var built = "built" + firstLetterUppercase(product);
+        statements.add(productName() + " " + built + " = " + product + ";");
+        statements.add(product + " = null;");
+        statements.add("return " + built + ";");
+        return statements.toArray(String[]::new);
+    }
+
+    private Class<?> copyClass(VariableElement field) {
+        if (isDeclared(field, List.class) || isDeclared(field, Collection.class)) {
+            return ArrayList.class;
+        }
+        return isDeclared(field, Set.class) ? LinkedHashSet.class : null;
+    }
+
+    private boolean isFrozen() {
+        return options.freezeImmutableProducts() && !isProductMutable() && product.getKind() != ElementKind.RECORD;
+    }
+
+    /**
+     * Produces the check that fails if a frozen product was already built.
+     *
+     * @return the statements, empty if the product is not frozen
+     */
+    private Stream<String> builtGuard() {
+        return isFrozen() //
+                ? Stream.of("if (" + naming.productField() + " == null) {", //
+                        INDENT + "throw new IllegalStateException(\"product already built\");", //
+                        "}")
+                : Stream.empty();
+    }
+
+    private boolean isDeclared(VariableElement field, Class<?> type) {
+        return field.asType() instanceof DeclaredType declared
+                && ((TypeElement) declared.asElement()).getQualifiedName().contentEquals(type.getName());
+    }
+
+    private boolean isResettable() {
+        return options.resettableBuilders() || options.pooledBuilders();
+    }
+
+    /**
+     * Adds a pool method that returns the builder of the current thread.
+     * <p>
+     * The first call in a thread creates the builder, later calls reset it.
+     *
+     * @param parameters parameters of the pool method
+     * @param arguments  arguments for the reset method
+     * @param creation   expression that creates a new builder
+     */
+    private void addPool(String parameters, String arguments, String creation) {
+        var pool = naming.poolField();
+        if (signatures.add(pool)) {
+            add("private static final ThreadLocal<" + builderSimpleName() + "> " + pool + " = new ThreadLocal<>();");
+        }
+        add("public static " + builderSimpleName() + " " + naming.poolMethod() + "(" + parameters + ")", //
+                builderSimpleName() + " builder = " + pool + ".get();", //
+                "if (builder == null) {", //
+                INDENT + "builder = " + creation + ";", //
+                INDENT + pool + ".set(builder);", //
+                INDENT + "return builder;", //
+                "}", //
+                "return builder." + naming.resetMethod() + "(" + arguments + ");");
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        if (!type.getKind().isPrimitive()) {
+            return "null";
+        }
+        return type.getKind() == TypeKind.BOOLEAN ? "false" : "0";
+    }
+
+    private boolean process(ExecutableElement constructor) {
+        return constructor.getAnnotation(Ignore.class) == null
+                && !constructor.getModifiers().contains(Modifier.PRIVATE);
+    }
+
+    private boolean process(VariableElement field) {
+        return field.getAnnotation(Ignore.class) == null //
+                && !field.getModifiers().contains(Modifier.PRIVATE)
+                && !field.getModifiers().contains(Modifier.STATIC);
+    }
+
+    private boolean isProductMutable() {
+        return product.getAnnotation(Mutable.class) != null
+                || (options.productsAreMutable() && product.getAnnotation(Immutable.class) == null);
+    }
+
+    private void addConstructors(List<ExecutableElement> constructors) {
+        for (var constructor : constructors) {
+            add("public " + builderSimpleName() + "(" + parameters(constructor) + ")", //
+                    naming.productField() + " = new " + productName() + "(" + arguments(constructor) + ");");
+        }
+        if (isProductMutable()) {
+            add("public " + builderSimpleName() + "(" + productName() + " " + naming.productField() + ")", //
+                    "this." + naming.productField() + " = " + naming.productField() + ";");
+        }
+    }
+
+    private void addFactoryMethods(List<ExecutableElement> constructors) {
+        add("private " + builderSimpleName() + "(" + productName() + " " + naming.productField() + ")", //
+                "this." + naming.productField() + " = " + naming.productField() + ";");
+        for (var constructor : constructors) {
+            add(factoryMethod(parameters(constructor)), //
+                    "return new " + builderSimpleName() + "(" + newProduct(constructor) + ");");
+        }
+        if (isProductMutable()) {
+            add(factoryMethod(productName() + " " + naming.productField()), //
+                    "return new " + builderSimpleName() + "(" + naming.productField() + ");");
+        }
+    }
+
+    private String factoryMethod(String parameters) {
+        return "public static " + builderSimpleName() + " " + naming.factoryMethod() + "(" + parameters + ")";
+    }
+
+    private String newProduct(ExecutableElement constructor) {
+        return "new " + productName() + "(" + arguments(constructor) + ")";
+    }
+
+    private void addMutators(VariableElement field) {
+        var name = field.getSimpleName().toString();
+        var access = naming.productField() + "." + name;
+        if (!isCollection(field)) {
+            var mutator = field.getAnnotation(GenerateMutator.class);
+            var methodName = mutator != null && !mutator.name().isEmpty() ? mutator.name() : mutatorName(name);
+            if (isBufferedArray(field)) {
+                addMutator(methodName, type(field.asType()), name, access + " = " + name + ";", name + "Count = 0;");
+            } else {
+                addMutator(methodName, type(field.asType()), name, access + " = " + name + ";");
+            }
+            return;
+        }
+        var mutator = field.getAnnotation(GenerateListMutator.class);
+        var methodName = mutator != null && !mutator.name().isEmpty() ? mutator.name() : mutatorName(name);
+        var annotated = mutator != null ? variants(mutator.variants()) : null;
+        var item = type(itemType(field));
+        for (var variant : variants(annotated, options.mutatorVariants(), DEFAULT_MUTATOR)) {
+            switch (variant) {
+            case OBJECT -> addMutator(methodName, type(field.asType()), name, access + " = " + name + ";");
+            case STREAM -> addMutator(methodName, STREAM_TYPE + "<" + item + ">", ITEMS, //
+                    access + " = items.collect(" + collector(field) + ");");
+            case COLLECTION -> addMutator(methodName, COLLECTION_TYPE + "<" + item + ">", ITEMS, //
+                    access + " = " + (options.directCopies() //
+                            ? copy(field, ITEMS)
+                            : "items.stream().collect(" + collector(field) + ")") + ";");
+            case VARARG -> addMutator(methodName, item + "...", ITEMS, options.directCopies() //
+                    ? new String[] { access + " = " + copy(field, "items.length") + ";",
+                            COLLECTIONS_TYPE + ".addAll(" + access + ", items);" }
+                    : new String[] { access + " = " + STREAM_TYPE + ".of(items).collect(" + collector(field) + ");" });
+            default -> throw GeneratorException.variantNotSupported(variant);
+            }
+        }
+    }
+
+    private String mutatorName(String fieldName) {
+        return naming.mutatorPrefix() + firstLetterUppercase(fieldName);
+    }
+
+    private String collector(VariableElement field) {
+        if (isSubtype(field.asType(), List.class)) {
+            return COLLECTORS_TYPE + ".toList()";
+        }
+        if (isSubtype(field.asType(), Set.class)) {
+            return COLLECTORS_TYPE + ".toSet()";
+        }
+        throw GeneratorException.collectorNotFound(field.getSimpleName().toString());
+    }
+
+    private String copy(VariableElement field, String source) {
+        if (isSubtype(field.asType(), List.class)) {
+            return "new java.util.ArrayList<>(" + source + ")";
+        }
+        if (isSubtype(field.asType(), Set.class)) {
+            return "new java.util.HashSet<>(" + source + ")";
+        }
+        throw GeneratorException.collectorNotFound(field.getSimpleName().toString());
+    }
+
+    private void addAdders(VariableElement field) {
+        var name = field.getSimpleName().toString();
+        var access = naming.productField() + "." + name;
+        var methodName = naming.adderPrefix() + stripPlural(firstLetterUppercase(name));
+        var adder = field.getAnnotation(GenerateAdder.class);
+        var annotated = adder != null ? variants(adder.variants()) : null;
+        var item = type(itemType(field));
+        for (var variant : variants(annotated, options.adderVariants(), DEFAULT_ADDER)) {
+            switch (variant) {
+            case ITEM -> addMutator(methodName, item, ITEM, access + ".add(item);");
+            case STREAM -> addMutator(methodName, STREAM_TYPE + "<" + item + ">", ITEMS, //
+                    "items.forEach(" + access + "::add);");
+            case COLLECTION -> addMutator(methodName, COLLECTION_TYPE + "<" + item + ">", ITEMS, //
+                    access + ".addAll(items);");
+            case VARARG -> addMutator(methodName, item + "...", ITEMS, varArgAdder(field, adder, access));
+            default -> throw GeneratorException.variantNotSupported(variant);
+            }
+        }
+    }
+
+    private String[] varArgAdder(VariableElement field, GenerateAdder adder, String access) {
+        var style = adder != null && adder.style() != GenerateAdder.Style.DEFAULT //
+                ? adder.style()
+                : options.adderStyle();
+        if (style != GenerateAdder.Style.BULK) {
+            return new String[] { STREAM_TYPE + ".of(items).forEach(" + access + "::add);" };
+        }
+        var addAll = COLLECTIONS_TYPE + ".addAll(" + access + ", items);";
+        return isArrayList(field) //
+                ? new String[] { access + ".ensureCapacity(" + access + ".size() + items.length);", addAll }
+                : new String[] { addAll };
+    }
+
+    private boolean isBufferedArray(VariableElement field) {
+        if (!options.arrayAdders() || field.asType().getKind() != TypeKind.ARRAY) {
+            return false;
+        }
+        var adder = field.getAnnotation(GenerateAdder.class);
+        var suppressed = adder != null && adder.variants().length > 0
+                && Stream.of(adder.variants()).allMatch(GenerateAdder.Variant.NONE::equals);
+        return !suppressed && !isGenericOrArray(((ArrayType) field.asType()).getComponentType());
+    }
+
+    /**
+     * Checks whether an array of the type can't be created with {@code new}.
+     *
+     * @param  component component type of an array field
+     * @return           {@code true} for arrays, type variables and parameterized
+     *                   types
+     */
+    private static boolean isGenericOrArray(TypeMirror component) {
+        return switch (component.getKind()) {
+        case ARRAY, TYPEVAR -> true;
+        case DECLARED -> !((DeclaredType) component).getTypeArguments().isEmpty();
+        default -> false;
+        };
+    }
+
+    /**
+     * Adds the adders of an array field.
+     * <p>
+     * The adders collect the items in a buffer that doubles its size when full,
+     * the build method appends the buffer to the field with one exact copy.
+     *
+     * @param field the array field
+     */
+    private void addArrayAdders(VariableElement field) {
+        var name = field.getSimpleName().toString();
+        var access = naming.productField() + "." + name;
+        var item = type(((ArrayType) field.asType()).getComponentType());
+        var arrayType = type(field.asType());
+        var buffer = name + "Buffer";
+        var count = name + "Count";
+        var grow = "grow" + firstLetterUppercase(name);
+        add("private " + arrayType + " " + buffer + ";");
+        add("private int " + count + ";");
+        add("private void " + grow + "(int length)", //
+                "if (" + buffer + " == null) {", //
+                INDENT + buffer + " = new " + item + "[Math.max(length, 8)];", //
+                "} else if (" + count + " + length > " + buffer + ".length) {", //
+                INDENT + buffer + " = " + ARRAYS_TYPE + ".copyOf(" + buffer + ", Math.max(" + count + " + length, 2 * "
+                        + buffer + ".length));", //
+                "}");
+        add("private void flush" + firstLetterUppercase(name) + "()", //
+                "if (" + count + " > 0) {", //
+                INDENT + "int length = " + access + " != null ? " + access + ".length : 0;", //
+                INDENT + arrayType + " items = " + access + " != null ? " + ARRAYS_TYPE + ".copyOf(" + access
+                        + ", length + " + count + ") : new " + item + "[" + count + "];", //
+                INDENT + "System.arraycopy(" + buffer + ", 0, items, length, " + count + ");", //
+                INDENT + access + " = items;", //
+                INDENT + count + " = 0;", //
+                "}");
+        var methodName = naming.adderPrefix() + stripPlural(firstLetterUppercase(name));
+        var adder = field.getAnnotation(GenerateAdder.class);
+        var variants = Stream.of(variants(adder != null ? variants(adder.variants()) : null, options.adderVariants(),
+                DEFAULT_ADDER)) //
+                .filter(v -> v == ListMutatorVariant.ITEM || v == ListMutatorVariant.VARARG) //
+                .toArray(ListMutatorVariant[]::new);
+        for (var variant : variants.length > 0 ? variants : DEFAULT_ADDER) {
+            if (variant == ListMutatorVariant.ITEM) {
+                addMutator(methodName, item, ITEM, grow + "(1);", buffer + "[" + count + "++] = item;");
+            } else {
+                addMutator(methodName, item + "...", ITEMS, grow + "(items.length);", //
+                        "System.arraycopy(items, 0, " + buffer + ", " + count + ", items.length);", //
+                        count + " += items.length;");
+            }
+        }
+    }
+
+    private boolean isArrayList(VariableElement field) {
+        var types = env.getTypeUtils();
+        var arrayList = env.getElementUtils().getTypeElement(ArrayList.class.getName());
+        return field.asType().getKind() == TypeKind.DECLARED
+                && types.isSameType(types.erasure(field.asType()), types.erasure(arrayList.asType()));
+    }
+
+    private static String stripPlural(String name) {
+        return name.endsWith("s") ? name.substring(0, name.length() - 1) : name;
+    }
+
+    private static ListMutatorVariant[] variants(Enum<?>[] annotated) {
+        return Stream.of(annotated) //
+                .map(v -> ListMutatorVariant.valueOf(v.name())) //
+                .toArray(ListMutatorVariant[]::new);
+    }
+
+    /**
+     * Selects the variants to generate.
+     * <p>
+     * The variants of the annotation take precedence over the configured
+     * variants.
+     *
+     * @param  annotated       variants of the annotation, may be {@code null}
+     * @param  configured      variants of the processor options
+     * @param  defaultVariants variants used if neither is given
+     * @return                 the variants without {@code NONE}
+     */
+    private static ListMutatorVariant[] variants(ListMutatorVariant[] annotated, ListMutatorVariant[] configured,
+            ListMutatorVariant[] defaultVariants) {
+        return Stream.of(firstNotEmpty(annotated, configured).orElse(defaultVariants)) //
+                .filter(not(ListMutatorVariant.NONE::equals)) //
+                .toArray(ListMutatorVariant[]::new);
+    }
+
+    private void addMutator(String methodName, String parameterType, String parameterName, String... statements) {
+        if (signatures.add(methodName + "(" + parameterType + ")")) {
+            var body = Stream.of(builtGuard(), Stream.of(statements), Stream.of("return this;")) //
+                    .flatMap(s -> s) //
+                    .toArray(String[]::new);
+            add("public " + builderSimpleName() + " " + methodName + "(" + parameterType + " " + parameterName + ")", //
+                    body);
+        }
+    }
+
+    private void addBuildMethod(String... statements) {
+        add("public " + productName() + " " + naming.buildMethod() + "()", statements);
+    }
+
+    private boolean isCollection(VariableElement field) {
+        return isSubtype(field.asType(), Collection.class);
+    }
+
+    private boolean hasWildcardItem(VariableElement field) {
+        var arguments = collectionArguments(field.asType());
+        return !arguments.isEmpty() && arguments.get(0).getKind() == TypeKind.WILDCARD;
+    }
+
+    private boolean isSubtype(TypeMirror type, Class<?> superType) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        var types = env.getTypeUtils();
+        var superElement = env.getElementUtils().getTypeElement(superType.getName());
+        return superElement != null && types.isSubtype(types.erasure(type), types.erasure(superElement.asType()));
+    }
+
+    /**
+     * Returns the item type of a collection field.
+     *
+     * @param  field the collection field
+     * @return       the type argument of {@code Collection} or {@code Object} for
+     *               raw types
+     */
+    private TypeMirror itemType(VariableElement field) {
+        var arguments = collectionArguments(field.asType());
+        var argument = arguments.isEmpty() ? null : arguments.get(0);
+        if (argument instanceof WildcardType wildcard) {
+            argument = wildcard.getExtendsBound();
+        }
+        return argument != null ? argument : env.getElementUtils().getTypeElement(Object.class.getName()).asType();
+    }
+
+    /**
+     * Follows the supertypes of a collection type up to {@code Collection}.
+     *
+     * @param  type a subtype of {@code Collection}
+     * @return      the type arguments of {@code Collection}, empty for raw types
+     */
+    private List<? extends TypeMirror> collectionArguments(TypeMirror type) {
+        var types = env.getTypeUtils();
+        var collection = env.getElementUtils().getTypeElement(COLLECTION_TYPE);
+        if (types.isSameType(types.erasure(type), types.erasure(collection.asType()))) {
+            return ((DeclaredType) type).getTypeArguments();
+        }
+        return types.directSupertypes(type).stream() //
+                .filter(t -> isSubtype(t, Collection.class)) //
+                .findFirst() //
+                .<List<? extends TypeMirror>> map(this::collectionArguments) //
+                .orElse(List.of());
+    }
+
+    private static String type(TypeMirror type) {
+        return type.toString();
+    }
+
+    private static String parameters(ExecutableElement constructor) {
+        var parameters = constructor.getParameters();
+        var result = new ArrayList<String>();
+        for (int n = 0; n < parameters.size(); n++) {
+            var type = type(parameters.get(n).asType());
+            if (constructor.isVarArgs() && n == parameters.size() - 1) {
+                type = type.substring(0, type.length() - "[]".length()) + "...";
+            }
+            result.add(type + " " + parameters.get(n).getSimpleName());
+        }
+        return String.join(", ", result);
+    }
+
+    private static String arguments(ExecutableElement constructor) {
+        return constructor.getParameters().stream() //
+                .map(p -> p.getSimpleName().toString()) //
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Adds a field or a method to the builder.
+     *
+     * @param declaration declaration of the member
+     * @param statements  statements of the body, none for a field
+     */
+    private void add(String declaration, String... statements) {
+        var text = new StringBuilder(INDENT).append(declaration);
+        if (statements.length == 0) {
+            members.add(text.append('\n').toString());
+            return;
+        }
+        text.append(" {\n");
+        for (var statement : statements) {
+            text.append(INDENT).append(INDENT).append(statement).append('\n');
+        }
+        members.add(text.append(INDENT).append("}\n").toString());
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.processor;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import io.github.mletkin.numerobis.annotation.GenerateAdder;
+import io.github.mletkin.numerobis.annotation.GenerateListMutator;
+import io.github.mletkin.numerobis.common.PackageVisible;
+import io.github.mletkin.numerobis.generator.ListMutatorVariant;
+import io.github.mletkin.numerobis.plugin.Naming;
+
+/**
+ * Settings of the annotation processor.
+ * <p>
+ * The settings are passed as compiler options ({@code -Akey=value}), the keys
+ * and values correspond to the parameters of the {@code generate} goal.
+ */
+@PackageVisible
+final class ProcessorOptions {
+
+    @PackageVisible
+    static final String BUILDER_CREATION = "numerobis.builderCreation";
+    @PackageVisible
+    static final String PRODUCTS_ARE_MUTABLE = "numerobis.productsAreMutable";
+    @PackageVisible
+    static final String FREEZE_IMMUTABLE_PRODUCTS = "numerobis.freezeImmutableProducts";
+    @PackageVisible
+    static final String RESETTABLE_BUILDERS = "numerobis.resettableBuilders";
+    @PackageVisible
+    static final String POOLED_BUILDERS = "numerobis.pooledBuilders";
+    @PackageVisible
+    static final String LIST_ADDER_VARIANTS = "numerobis.listAdderVariants";
+    @PackageVisible
+    static final String LIST_ADDER_STYLE = "numerobis.listAdderStyle";
+    @PackageVisible
+    static final String ARRAY_ADDERS = "numerobis.arrayAdders";
+    @PackageVisible
+    static final String LIST_MUTATOR_VARIANTS = "numerobis.listMutatorVariants";
+    @PackageVisible
+    static final String LIST_MUTATOR_COPY = "numerobis.listMutatorCopy";
+    @PackageVisible
+    static final String NAMING = "numerobis.naming.";
+
+    private static final String CONSTRUCTOR = "CONSTRUCTOR";
+    private static final String FACTORY = "FACTORY";
+    private static final String STREAM = "STREAM";
+    private static final String DIRECT = "DIRECT";
+
+    private final boolean useFactoryMethods;
+    private final boolean productsAreMutable;
+    private final boolean freezeImmutableProducts;
+    private final boolean resettableBuilders;
+    private final boolean pooledBuilders;
+    private final ListMutatorVariant[] adderVariants;
+    private final GenerateAdder.Style adderStyle;
+    private final boolean arrayAdders;
+    private final ListMutatorVariant[] mutatorVariants;
+    private final boolean directCopies;
+    private final Naming naming;
+
+    private ProcessorOptions(Map<String, String> options) {
+        var creation = options.getOrDefault(BUILDER_CREATION, FACTORY).toUpperCase(Locale.ROOT);
+        if (!creation.equals(FACTORY) && !creation.equals(CONSTRUCTOR)) {
+            throw new IllegalArgumentException("unknown builder creation " + creation);
+        }
+        this.useFactoryMethods = creation.equals(FACTORY);
+        this.productsAreMutable = Boolean.parseBoolean(options.get(PRODUCTS_ARE_MUTABLE));
+        this.freezeImmutableProducts = Boolean.parseBoolean(options.get(FREEZE_IMMUTABLE_PRODUCTS));
+        this.resettableBuilders = Boolean.parseBoolean(options.get(RESETTABLE_BUILDERS));
+        this.pooledBuilders = Boolean.parseBoolean(options.get(POOLED_BUILDERS));
+        this.adderVariants = variants(options.get(LIST_ADDER_VARIANTS), GenerateAdder.Variant.class);
+        this.adderStyle = GenerateAdder.Style
+                .valueOf(options.getOrDefault(LIST_ADDER_STYLE, STREAM).toUpperCase(Locale.ROOT));
+        this.arrayAdders = Boolean.parseBoolean(options.get(ARRAY_ADDERS));
+        this.mutatorVariants = variants(options.get(LIST_MUTATOR_VARIANTS), GenerateListMutator.Variant.class);
+        var copy = options.getOrDefault(LIST_MUTATOR_COPY, STREAM).toUpperCase(Locale.ROOT);
+        if (!copy.equals(STREAM) && !copy.equals(DIRECT)) {
+            throw new IllegalArgumentException("unknown list mutator copy " + copy);
+        }
+        this.directCopies = copy.equals(DIRECT);
+        this.naming = Naming.of(namingSettings(options));
+    }
+
+    /**
+     * Reads the settings from the compiler options.
+     *
+     * @param  options the options passed to the processor
+     * @return         the settings
+     * @throws IllegalArgumentException if an option has an invalid value
+     */
+    @PackageVisible
+    static ProcessorOptions of(Map<String, String> options) {
+        return new ProcessorOptions(options);
+    }
+
+    private static <E extends Enum<E>> ListMutatorVariant[] variants(String list, Class<E> annotationVariant) {
+        if (list == null || list.isBlank()) {
+            return new ListMutatorVariant[0];
+        }
+        return Stream.of(list.split(",")) //
+                .map(String::trim) //
+                .map(v -> Enum.valueOf(annotationVariant, v.toUpperCase(Locale.ROOT))) //
+                .map(v -> ListMutatorVariant.valueOf(v.name())) //
+                .toArray(ListMutatorVariant[]::new);
+    }
+
+    private static Map<String, String> namingSettings(Map<String, String> options) {
+        var result = new HashMap<String, String>();
+        options.forEach((key, value) -> {
+            if (key.startsWith(NAMING)) {
+                result.put(key.substring(NAMING.length()), value);
+            }
+        });
+        return result;
+    }
+
+    @PackageVisible
+    boolean useFactoryMethods() {
+        return useFactoryMethods;
+    }
+
+    @PackageVisible
+    boolean productsAreMutable() {
+        return productsAreMutable;
+    }
+
+    @PackageVisible
+    boolean freezeImmutableProducts() {
+        return freezeImmutableProducts;
+    }
+
+    @PackageVisible
+    boolean resettableBuilders() {
+        return resettableBuilders;
+    }
+
+    @PackageVisible
+    boolean pooledBuilders() {
+        return pooledBuilders;
+    }
+
+    @PackageVisible
+    ListMutatorVariant[] adderVariants() {
+        return adderVariants;
+    }
+
+    @PackageVisible
+    GenerateAdder.Style adderStyle() {
+        return adderStyle;
+    }
+
+    @PackageVisible
+    boolean arrayAdders() {
+        return arrayAdders;
+    }
+
+    @PackageVisible
+    ListMutatorVariant[] mutatorVariants() {
+        return mutatorVariants;
+    }
+
+    @PackageVisible
+    boolean directCopies() {
+        return directCopies;
+    }
+
+    @PackageVisible
+    Naming naming() {
+        return naming;
+    }
+}
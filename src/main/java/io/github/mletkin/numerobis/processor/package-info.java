@@ -0,0 +1,8 @@
+/**
+ * Annotation processor.
+ * <p>
+ * The {@code BuilderProcessor} generates separate builder classes from the
+ * model of the java compiler as alternative to the source rewriting maven
+ * plugin.
+ */
+package io.github.mletkin.numerobis.processor;
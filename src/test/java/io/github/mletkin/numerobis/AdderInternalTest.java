@@ -141,4 +141,57 @@ class AdderInternalTest {
         );
     }
 
+    @Test
+    void addsBulkVarargAdder() {
+        var product = "WithList";
+        var order = mkOrder(product);
+        var result = facade //
+                .withAdderVariants(asArray(ListMutatorVariant.VARARG)) //
+                .withBulkAdders(true) //
+                .embeddedWithConstructors(order) //
+                .execute();
+
+        assertThat(builder(result, product)).contains( //
+                "public Builder addX(String... items) {" //
+                        + "        Collections.addAll(product.x, items);" //
+                        + "        return this;" //
+                        + "    }");
+    }
+
+    @Test
+    void annotationStyleOverridesDefaultStream() {
+        var product = "AdderStyle";
+        var order = mkOrder(product);
+        var result = facade //
+                .withAdderVariants(asArray(ListMutatorVariant.VARARG)) //
+                .embeddedWithConstructors(order) //
+                .execute();
+
+        assertThat(builder(result, product)) //
+                .contains("Collections.addAll(product.names, items);") //
+                .contains("Stream.of(items).forEach(product.values::add);") //
+                .contains("Stream.of(items).forEach(product.keys::add);") //
+                .contains("Collections.addAll(product.tags, items);") //
+                .doesNotContain("addTag(String item)");
+    }
+
+    @Test
+    void annotationStyleOverridesDefaultBulk() {
+        var product = "AdderStyle";
+        var order = mkOrder(product);
+        var result = facade //
+                .withAdderVariants(asArray(ListMutatorVariant.VARARG)) //
+                .withBulkAdders(true) //
+                .embeddedWithConstructors(order) //
+                .execute();
+
+        assertThat(builder(result, product)) //
+                .contains("Collections.addAll(product.names, items);") //
+                .contains("public Builder addValue(String... items) {" //
+                        + "        product.values.ensureCapacity(product.values.size() + items.length);" //
+                        + "        Collections.addAll(product.values, items);" //
+                        + "        return this;" //
+                        + "    }") //
+                .contains("Stream.of(items).forEach(product.keys::add);");
+    }
 }
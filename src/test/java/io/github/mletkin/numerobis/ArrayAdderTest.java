@@ -0,0 +1,150 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis;
+
+import static io.github.mletkin.numerobis.Fixture.asString;
+import static io.github.mletkin.numerobis.Fixture.builder;
+import static io.github.mletkin.numerobis.Fixture.mkOrder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.mletkin.numerobis.generator.Facade;
+import io.github.mletkin.numerobis.generator.ListMutatorVariant;
+
+class ArrayAdderTest {
+
+    private Facade facade = new Facade().withArrayAdders(true);
+
+    @Test
+    void itemAdderWritesIntoBuffer() {
+        var product = "ArrayAdder";
+        var result = facade.embeddedWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(builder(result, product)) //
+                .contains("private int[] valuesBuffer;") //
+                .contains("private int valuesCount;") //
+                .contains("public Builder addValue(int item) {" //
+                        + "        growValues(1);" //
+                        + "        valuesBuffer[valuesCount++] = item;" //
+                        + "        return this;" //
+                        + "    }") //
+                .contains("public Builder addName(String item) {") //
+                .doesNotContain("addValue(int... items)");
+    }
+
+    @Test
+    void bufferDoublesWhenFull() {
+        var product = "ArrayAdder";
+        var result = facade.separateWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(asString(result)) //
+                .contains("import java.util.Arrays;") //
+                .contains("private void growValues(int length) {" //
+                        + "        if (valuesBuffer == null) {" //
+                        + "            valuesBuffer = new int[Math.max(length, 8)];" //
+                        + "        } else if (valuesCount + length > valuesBuffer.length) {" //
+                        + "            valuesBuffer = Arrays.copyOf(valuesBuffer, "
+                        + "Math.max(valuesCount + length, 2 * valuesBuffer.length));" //
+                        + "        }" //
+                        + "    }");
+    }
+
+    @Test
+    void buildMethodAppendsBuffer() {
+        var product = "ArrayAdder";
+        var result = facade.separateWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(asString(result)) //
+                .contains("private void flushValues() {" //
+                        + "        if (valuesCount > 0) {" //
+                        + "            int length = product.values != null ? product.values.length : 0;" //
+                        + "            int[] items = product.values != null ? "
+                        + "Arrays.copyOf(product.values, length + valuesCount) : new int[valuesCount];" //
+                        + "            System.arraycopy(valuesBuffer, 0, items, length, valuesCount);" //
+                        + "            product.values = items;" //
+                        + "            valuesCount = 0;" //
+                        + "        }" //
+                        + "    }") //
+                .contains("public ArrayAdder build() {" //
+                        + "        flushValues();" //
+                        + "        flushNames();" //
+                        + "        return product;" //
+                        + "    }");
+    }
+
+    @Test
+    void varArgAdderCopiesItems() {
+        var product = "ArrayAdder";
+        var result = facade.withAdderVariants(new ListMutatorVariant[] { ListMutatorVariant.VARARG })
+                .separateWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(asString(result)) //
+                .contains("public ArrayAdderBuilder addValue(int... items) {" //
+                        + "        growValues(items.length);" //
+                        + "        System.arraycopy(items, 0, valuesBuffer, valuesCount, items.length);" //
+                        + "        valuesCount += items.length;" //
+                        + "        return this;" //
+                        + "    }") //
+                .doesNotContain("addValue(int item)");
+    }
+
+    @Test
+    void mutatorDiscardsBuffer() {
+        var product = "ArrayAdder";
+        var result = facade.separateWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(asString(result)).contains( //
+                "public ArrayAdderBuilder withValues(int[] values) {" //
+                        + "        product.values = values;" //
+                        + "        valuesCount = 0;" //
+                        + "        return this;" //
+                        + "    }");
+    }
+
+    @Test
+    void suppressedAndMultiDimensionalArraysGetNoAdders() {
+        var product = "ArrayAdder";
+        var result = facade.separateWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(asString(result)) //
+                .doesNotContain("addIgnored") //
+                .doesNotContain("ignoredCount") //
+                .doesNotContain("addMatrix") //
+                .doesNotContain("matrixBuffer");
+    }
+
+    @Test
+    void genericArraysGetNoAdders() {
+        var product = "GenericArrayAdder";
+        var result = facade.embeddedWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(builder(result, product)) //
+                .contains("public Builder addName(String item) {") //
+                .doesNotContain("addList") //
+                .doesNotContain("listsBuffer") //
+                .doesNotContain("addItem") //
+                .doesNotContain("itemsBuffer");
+    }
+
+    @Test
+    void noArrayAddersByDefault() {
+        var product = "ArrayAdder";
+        var result = new Facade().separateWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(asString(result)).doesNotContain("Buffer").doesNotContain("addValue");
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis;
+
+import static io.github.mletkin.numerobis.Fixture.asString;
+import static io.github.mletkin.numerobis.Fixture.builder;
+import static io.github.mletkin.numerobis.Fixture.mkOrder;
+import static io.github.mletkin.numerobis.Fixture.mkOrderMutableProduct;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.mletkin.numerobis.generator.Facade;
+import io.github.mletkin.numerobis.plugin.Naming;
+
+class FrozenProductTest {
+
+    private Facade facade = new Facade().withFrozenImmutableProducts(true);
+
+    @Test
+    void buildMethodFreezesImmutableProductInEmbeddedBuilder() {
+        var product = "Frozen";
+        var result = facade.embeddedWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(builder(result, product)).contains( //
+                "public Frozen build() {" //
+                        + "        if (product == null) {" //
+                        + "            throw new IllegalStateException(\"product already built\");" //
+                        + "        }" //
+                        + "        product.names = product.names != null ? " //
+                        + "Collections.unmodifiableList(new ArrayList<>(product.names)) : null;" //
+                        + "        product.keys = product.keys != null ? " //
+                        + "Collections.unmodifiableSet(new LinkedHashSet<>(product.keys)) : null;" //
+                        + "        product.values = product.values != null ? " //
+                        + "Collections.unmodifiableList(new ArrayList<>(product.values)) : null;" //
+                        + "        Frozen builtProduct = product;" //
+                        + "        product = null;" //
+                        + "        return builtProduct;" //
+                        + "    }");
+    }
+
+    @Test
+    void mutatorsFailAfterBuildOfImmutableProduct() {
+        var product = "Frozen";
+        var result = facade.embeddedWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(builder(result, product)).contains( //
+                "public Builder withName(String name) {" //
+                        + "        if (product == null) {" //
+                        + "            throw new IllegalStateException(\"product already built\");" //
+                        + "        }" //
+                        + "        product.name = name;" //
+                        + "        return this;" //
+                        + "    }");
+    }
+
+    @Test
+    void localVariableDoesNotClashWithProductField() {
+        var product = "Frozen";
+        var naming = Naming.of(Map.of("productField", "result"));
+        var result = facade.embeddedWithFactoryMethods(mkOrder(product, naming)).execute();
+
+        assertThat(builder(result, product)).contains( //
+                "        Frozen builtResult = result;" //
+                        + "        result = null;" //
+                        + "        return builtResult;");
+    }
+
+    @Test
+    void buildMethodFreezesImmutableProductInSeparateBuilder() {
+        var product = "Frozen";
+        var result = facade.separateWithConstructors(mkOrder(product)).execute();
+
+        assertThat(asString(result)) //
+                .contains("import java.util.Collections;") //
+                .contains("import java.util.ArrayList;") //
+                .contains("import java.util.LinkedHashSet;") //
+                .contains("product.names = product.names != null ? " //
+                        + "Collections.unmodifiableList(new ArrayList<>(product.names)) : null;") //
+                .doesNotContain("(product.items)") //
+                .doesNotContain("(product.fixed)") //
+                .doesNotContain("(product.name)");
+    }
+
+    @Test
+    void buildMethodReturnsMutableProduct() {
+        var product = "Frozen";
+        var result = facade.embeddedWithFactoryMethods(mkOrderMutableProduct(product)).execute();
+
+        assertThat(builder(result, product)).contains( //
+                "public Frozen build() {" //
+                        + "        return product;" //
+                        + "    }");
+    }
+
+    @Test
+    void buildMethodReturnsProductByDefault() {
+        var product = "Frozen";
+        var result = new Facade().embeddedWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(builder(result, product)).contains( //
+                "public Frozen build() {" //
+                        + "        return product;" //
+                        + "    }");
+    }
+}
@@ -132,6 +132,56 @@ class ListMutatorInternalTest {
         );
     }
 
+    @ParameterizedTest
+    @MethodSource("directCopyCases")
+    void addsDirectCopyMutator(String product, ListMutatorVariant variant, String method) {
+        var order = mkOrder(product);
+        var result = facade //
+                .withMutatorVariants(asArray(variant)) //
+                .withDirectCopies(true) //
+                .embeddedWithConstructors(order) //
+                .execute();
+
+        assertThat(builder(result, product)).as(product + " " + variant).contains(method);
+    }
+
+    static Stream<Arguments> directCopyCases() {
+        return Stream.of( //
+                Arguments.of("WithList", ListMutatorVariant.COLLECTION, //
+                        "public Builder withX(Collection<String> items) {" //
+                                + "        product.x = new ArrayList<>(items);" //
+                                + "        return this;" //
+                                + "    }"),
+
+                Arguments.of("WithList", ListMutatorVariant.VARARG, //
+                        "public Builder withX(String... items) {" //
+                                + "        product.x = new ArrayList<>(items.length);" //
+                                + "        Collections.addAll(product.x, items);" //
+                                + "        return this;" //
+                                + "    }"),
+
+                Arguments.of("WithList", ListMutatorVariant.STREAM, //
+                        "public Builder withX(Stream<String> items) {" //
+                                + "        product.x = items.collect(Collectors.toList());" //
+                                + "        return this;" //
+                                + "    }"),
+
+                Arguments.of("WithSet", ListMutatorVariant.COLLECTION, //
+                        "public Builder withX(Collection<String> items) {" //
+                                + "        product.x = new HashSet<>(items);" //
+                                + "        return this;" //
+                                + "    }"),
+
+                Arguments.of("WithSet", ListMutatorVariant.VARARG, //
+                        "public Builder withX(String... items) {" //
+                                + "        product.x = new HashSet<>(items.length);" //
+                                + "        Collections.addAll(product.x, items);" //
+                                + "        return this;" //
+                                + "    }")
+
+        );
+    }
+
     // @Test
     // void retainsObjectMutatorForList() {
     // ListMutatorVariant[] variants = { ListMutatorVariant.OBJECT };
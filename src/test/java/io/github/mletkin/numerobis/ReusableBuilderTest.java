@@ -0,0 +1,115 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis;
+
+import static io.github.mletkin.numerobis.Fixture.asString;
+import static io.github.mletkin.numerobis.Fixture.builder;
+import static io.github.mletkin.numerobis.Fixture.mkOrder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.mletkin.numerobis.generator.Facade;
+import io.github.mletkin.numerobis.plugin.Naming;
+
+class ReusableBuilderTest {
+
+    private Facade facade = new Facade().withResettableBuilders(true);
+
+    @Test
+    void resetMethodsMatchProductConstructors() {
+        var product = "Reusable";
+        var result = facade.embeddedWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(builder(result, product)) //
+                .contains("public Builder reset() {" //
+                        + "        product = new Reusable();" //
+                        + "        return this;" //
+                        + "    }") //
+                .contains("public Builder reset(int x) {" //
+                        + "        product = new Reusable(x);" //
+                        + "        return this;" //
+                        + "    }") //
+                .doesNotContain("POOL");
+    }
+
+    @Test
+    void pooledFactoryUsesFactoryMethod() {
+        var product = "Reusable";
+        var result = new Facade().withPooledBuilders(true).separateWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(asString(result)) //
+                .contains("private static final ThreadLocal<ReusableBuilder> POOL = new ThreadLocal<>();") //
+                .contains("public ReusableBuilder reset(int x) {") //
+                .contains("public static ReusableBuilder pooled(int x) {" //
+                        + "        ReusableBuilder builder = POOL.get();" //
+                        + "        if (builder == null) {" //
+                        + "            builder = of(x);" //
+                        + "            POOL.set(builder);" //
+                        + "            return builder;" //
+                        + "        }" //
+                        + "        return builder.reset(x);" //
+                        + "    }");
+    }
+
+    @Test
+    void poolFieldNameIsConfigurable() {
+        var product = "Reusable";
+        var naming = Naming.of(Map.of("poolField", "BUILDERS"));
+        var result = new Facade().withPooledBuilders(true).separateWithFactoryMethods(mkOrder(product, naming))
+                .execute();
+
+        assertThat(asString(result)) //
+                .contains("private static final ThreadLocal<ReusableBuilder> BUILDERS = new ThreadLocal<>();") //
+                .contains("ReusableBuilder builder = BUILDERS.get();") //
+                .contains("BUILDERS.set(builder);") //
+                .doesNotContain("POOL");
+    }
+
+    @Test
+    void pooledFactoryUsesConstructor() {
+        var product = "Reusable";
+        var result = new Facade().withPooledBuilders(true).embeddedWithConstructors(mkOrder(product)).execute();
+
+        assertThat(builder(result, product)) //
+                .contains("builder = new Builder();") //
+                .contains("builder = new Builder(x);");
+    }
+
+    @Test
+    void recordBuilderResetsFields() {
+        var product = "ReusableRecord";
+        var result = new Facade().withPooledBuilders(true).forRecordEmbedded(mkOrder(product)).execute();
+
+        assertThat(asString(result)) //
+                .contains("this.x = 0;" //
+                        + "            this.flag = false;" //
+                        + "            this.name = null;" //
+                        + "            return this;") //
+                .contains("public static Builder pooled() {") //
+                .contains("builder = new Builder();");
+    }
+
+    @Test
+    void noResetMethodsByDefault() {
+        var product = "Reusable";
+        var result = new Facade().embeddedWithFactoryMethods(mkOrder(product)).execute();
+
+        assertThat(builder(result, product)).doesNotContain("reset").doesNotContain("POOL");
+    }
+}
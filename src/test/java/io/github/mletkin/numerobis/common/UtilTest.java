@@ -17,6 +17,9 @@ package io.github.mletkin.numerobis.common;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -75,4 +78,39 @@ class UtilTest {
         }
 
     }
+
+    @Nested
+    class HasContent {
+
+        @Test
+        void missingFileHasNoContent(@TempDir Path dir) throws IOException {
+            assertThat(Util.hasContent(dir.resolve("foo"), bytes("foo"))).isFalse();
+        }
+
+        @Test
+        void sameContent(@TempDir Path dir) throws IOException {
+            var content = "x".repeat(20000);
+            var file = Files.writeString(dir.resolve("foo"), content);
+
+            assertThat(Util.hasContent(file, bytes(content))).isTrue();
+        }
+
+        @Test
+        void differentContentWithSameLength(@TempDir Path dir) throws IOException {
+            var file = Files.writeString(dir.resolve("foo"), "x".repeat(20000) + "a");
+
+            assertThat(Util.hasContent(file, bytes("x".repeat(20000) + "b"))).isFalse();
+        }
+
+        @Test
+        void differentLength(@TempDir Path dir) throws IOException {
+            var file = Files.writeString(dir.resolve("foo"), "foo");
+
+            assertThat(Util.hasContent(file, bytes("foobar"))).isFalse();
+        }
+
+        private byte[] bytes(String str) {
+            return str.getBytes(StandardCharsets.UTF_8);
+        }
+    }
 }
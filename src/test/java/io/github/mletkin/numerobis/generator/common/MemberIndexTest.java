@@ -0,0 +1,85 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.generator.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.Modifier.Keyword;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+
+class MemberIndexTest {
+
+    private ClassOrInterfaceDeclaration clazz = StaticJavaParser.parse("class Foo {" //
+            + "    int x, y;" //
+            + "    Foo() {}" //
+            + "    void bar() {}" //
+            + "    void bar(int x) {}" //
+            + "    class Inner { void baz() {} }" //
+            + "}").getClassByName("Foo").get();
+
+    @Test
+    void indexesParsedMembers() {
+        var index = MemberIndex.of(clazz);
+
+        assertThat(index.methods("bar")).hasSize(2);
+        assertThat(index.constructors()).hasSize(1);
+        assertThat(index.field("x")).isPresent();
+        assertThat(index.field("y")).isPresent();
+    }
+
+    @Test
+    void ignoresMembersOfNestedTypes() {
+        assertThat(MemberIndex.of(clazz).methods("baz")).isEmpty();
+    }
+
+    @Test
+    void followsAddedMembers() {
+        var index = MemberIndex.of(clazz);
+
+        clazz.addMethod("qux", Keyword.PUBLIC);
+        clazz.addConstructor(Keyword.PUBLIC);
+        clazz.addField("int", "z");
+
+        assertThat(index.methods("qux")).hasSize(1);
+        assertThat(index.constructors()).hasSize(2);
+        assertThat(index.field("z")).isPresent();
+    }
+
+    @Test
+    void followsRemovedMembers() {
+        var index = MemberIndex.of(clazz);
+
+        clazz.getMethodsByName("bar").forEach(MethodDeclaration::remove);
+
+        assertThat(index.methods("bar")).isEmpty();
+    }
+
+    @Test
+    void indexIsReusedAndRebuiltForNewMemberList() {
+        var index = MemberIndex.of(clazz);
+        assertThat(MemberIndex.of(clazz)).isSameAs(index);
+
+        clazz.setMembers(new NodeList<>());
+
+        assertThat(MemberIndex.of(clazz)).isNotSameAs(index);
+        assertThat(MemberIndex.of(clazz).methods("bar")).isEmpty();
+    }
+}
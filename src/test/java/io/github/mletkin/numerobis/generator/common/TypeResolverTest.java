@@ -0,0 +1,135 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.generator.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.type.Type;
+
+class TypeResolverTest {
+
+    private TypeResolver resolver = new TypeResolver(List.of());
+
+    @ParameterizedTest
+    @ValueSource(strings = { //
+            "import java.util.List; class Foo { List<String> x; }", //
+            "import java.util.*; class Foo { List<String> x; }", //
+            "class Foo { java.util.List<String> x; }", //
+            "import java.util.ArrayList; class Foo { ArrayList<String> x; }" })
+    void collectionTypeIsRecognized(String source) {
+        var unit = StaticJavaParser.parse(source);
+
+        assertThat(resolver.isSubtype(fieldType(unit), Collection.class, unit)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { //
+            "class Foo { List<String> x; }", //
+            "import java.util.ArrayList; class Foo { List<String> x; }", //
+            "import java.util.Map; class Foo { Map<String, String> x; }", //
+            "class Foo { int x; }" })
+    void otherTypeIsNotRecognized(String source) {
+        var unit = StaticJavaParser.parse(source);
+
+        assertThat(resolver.isSubtype(fieldType(unit), Collection.class, unit)).isFalse();
+    }
+
+    @Test
+    void javaLangIsImplicitlyImported() {
+        var unit = StaticJavaParser.parse("class Foo { StringBuilder x; }");
+
+        assertThat(resolver.resolve(fieldType(unit), unit)).contains("java.lang.StringBuilder");
+    }
+
+    @Test
+    void singleImportShadowsOnDemandImport() {
+        var unit = StaticJavaParser.parse("import java.util.*; import foo.List; class Foo { List<String> x; }");
+
+        assertThat(resolver.resolve(fieldType(unit), unit)).contains("foo.List");
+    }
+
+    @Test
+    void nestedTypeIsResolved() {
+        var unit = StaticJavaParser.parse("import java.util.Map; class Foo { Map.Entry<String, String> x; }");
+
+        assertThat(resolver.resolve(fieldType(unit), unit)).contains("java.util.Map$Entry");
+    }
+
+    @Test
+    void hierarchySourceIsConsultedFirst() {
+        var source = new HierarchySource() {
+
+            @Override
+            public boolean contains(String typeName) {
+                return typeName.equals("foo.Bars");
+            }
+
+            @Override
+            public Optional<List<String>> supertypes(String typeName, TypeResolver resolver) {
+                return Optional.of(List.of("java.util.ArrayList"));
+            }
+        };
+        var unit = StaticJavaParser.parse("package foo; class Foo { Bars x; }");
+
+        assertThat(new TypeResolver(List.of(source)).isSubtype(fieldType(unit), Collection.class, unit)).isTrue();
+    }
+
+    @Test
+    void resolutionIsCached() {
+        var unit = StaticJavaParser.parse("import java.util.List; class Foo { List<String> x; List<Integer> y; }");
+
+        resolver.resolve(fieldType(unit), unit);
+        resolver.resolve(unit.getType(0).getFields().get(1).getElementType(), unit);
+
+        assertThat(resolver.misses()).isEqualTo(1);
+        assertThat(resolver.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void unitsWithSameImportsShareTheCache() {
+        var first = StaticJavaParser.parse("import java.util.List; class Foo { List<String> x; }");
+        var second = StaticJavaParser.parse("import java.util.List; class Bar { List<String> x; }");
+
+        resolver.resolve(fieldType(first), first);
+        resolver.resolve(fieldType(second), second);
+
+        assertThat(resolver.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void addedImportIsRecognized() {
+        var unit = StaticJavaParser.parse("class Foo { List<String> x; }");
+        assertThat(resolver.resolve(fieldType(unit), unit)).isEmpty();
+
+        unit.addImport("java.util.List");
+
+        assertThat(resolver.resolve(fieldType(unit), unit)).contains("java.util.List");
+    }
+
+    private static Type fieldType(CompilationUnit unit) {
+        return unit.getType(0).getFields().get(0).getElementType();
+    }
+}
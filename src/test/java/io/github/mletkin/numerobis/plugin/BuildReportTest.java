@@ -0,0 +1,82 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.mletkin.numerobis.plugin.BuildReport.FileTime;
+import io.github.mletkin.numerobis.plugin.BuildReport.Phase;
+
+class BuildReportTest {
+
+    @TempDir
+    Path dir;
+
+    private BuildReport report = new BuildReport();
+
+    @Test
+    void phaseIsMeasured() {
+        var result = report.measure(Phase.GENERATE, () -> new StringBuilder("x".repeat(10_000)).toString());
+
+        assertThat(result).hasSize(10_000);
+        assertThat(report.nanos(Phase.GENERATE)).isPositive();
+        assertThat(report.allocatedBytes(Phase.GENERATE)).isGreaterThanOrEqualTo(10_000);
+        assertThat(report.nanos(Phase.SORT)).isZero();
+    }
+
+    @Test
+    void onlyTheSlowestFilesAreKept() {
+        IntStream.range(0, 30).forEach(n -> report.processed(Path.of("F" + n + ".java"), n));
+        report.skipped();
+
+        assertThat(report.processedFiles()).isEqualTo(30);
+        assertThat(report.skippedFiles()).isEqualTo(1);
+        assertThat(report.slowest()).hasSize(BuildReport.SLOWEST) //
+                .first().isEqualTo(new FileTime(Path.of("F29.java"), 29));
+        assertThat(report.slowest()).last().isEqualTo(new FileTime(Path.of("F10.java"), 10));
+    }
+
+    @Test
+    void reportIsWrittenAsJson() throws IOException {
+        report.processed(Path.of("a\\\"b.java"), 1_500_000);
+        var file = dir.resolve("numerobis/report.json");
+
+        report.write(file);
+
+        assertThat(Files.readString(file)) //
+                .contains("\"processedFiles\": 1,") //
+                .contains("{ \"phase\": \"PARSE\", \"millis\": 0.000, \"allocatedBytes\": 0 }") //
+                .contains("{ \"file\": \"a\\\\\\\"b.java\", \"millis\": 1.500 }");
+    }
+
+    @Test
+    void summaryListsPhasesAndFiles() {
+        report.processed(Path.of("Foo.java"), 2_000_000);
+
+        assertThat(report.summary()) //
+                .anyMatch(l -> l.contains("1 files processed, 0 files skipped")) //
+                .anyMatch(l -> l.contains("WRITE")) //
+                .anyMatch(l -> l.endsWith("ms Foo.java"));
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.mletkin.numerobis.generator.common.HierarchySource.Signature;
+
+class ClasspathTypeIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void headerOfJdkClassIsRead() throws IOException {
+        try (var in = ClassLoader.getSystemResourceAsStream("java/util/ArrayList.class")) {
+            var header = ClasspathTypeIndex.readHeader(in).get();
+
+            assertThat(header.typeName()).isEqualTo("java.util.ArrayList");
+            assertThat(header.supertypes()).containsExactly("java.util.AbstractList", "java.util.List",
+                    "java.util.RandomAccess", "java.lang.Cloneable", "java.io.Serializable");
+        }
+    }
+
+    @Test
+    void signatureOfGenericClassIsRead() throws IOException {
+        try (var in = ClassLoader.getSystemResourceAsStream("java/util/EnumMap.class")) {
+            var header = ClasspathTypeIndex.readHeader(in).get();
+
+            assertThat(header.signature()).isEqualTo(new Signature(List.of("K", "V"),
+                    List.of("java.util.AbstractMap<K, V>", "java.io.Serializable", "java.lang.Cloneable")));
+        }
+    }
+
+    @Test
+    void nonClassContentIsIgnored() throws IOException {
+        assertThat(ClasspathTypeIndex.readHeader(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 }))).isEmpty();
+    }
+
+    @Test
+    void typesOfJarAreIndexed() throws IOException {
+        var index = new ClasspathTypeIndex(null);
+
+        index.add(jar());
+
+        assertThat(index.contains("io.github.mletkin.numerobis.plugin.MojoFileIOException")).isTrue();
+        assertThat(index.supertypes("io.github.mletkin.numerobis.plugin.MojoFileIOException", null)) //
+                .contains(List.of("java.lang.RuntimeException"));
+    }
+
+    @Test
+    void directoriesAreIgnored() {
+        var index = new ClasspathTypeIndex(null);
+
+        index.add(dir);
+
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void storedIndexIsReused() throws IOException {
+        var jar = jar();
+        var cache = dir.resolve("cache");
+        new ClasspathTypeIndex(cache).add(jar);
+        var indexFile = cache.resolve(Manifest.hash(jar) + ".signatures.properties");
+        assertThat(indexFile).exists();
+
+        Files.writeString(indexFile, "foo.Bar=T;java.util.ArrayList<T>\n");
+        var index = new ClasspathTypeIndex(cache);
+        index.add(jar);
+
+        assertThat(index.contains("foo.Bar")).isTrue();
+        assertThat(index.signature("foo.Bar", null)) //
+                .contains(new Signature(List.of("T"), List.of("java.util.ArrayList<T>")));
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void checksumIsOnlyComputedForChangedJars() throws IOException {
+        var jar = jar();
+        var cache = dir.resolve("cache");
+        var first = new ClasspathTypeIndex(cache);
+        first.add(jar);
+        first.store();
+        var checksumFile = cache.resolve("jars.properties");
+        Files.writeString(checksumFile, Files.readString(checksumFile).replace(Manifest.hash(jar), "stored"));
+        Files.writeString(cache.resolve("stored.signatures.properties"), "foo.Bar=\n");
+
+        var unchanged = new ClasspathTypeIndex(cache);
+        unchanged.add(jar);
+        assertThat(unchanged.contains("foo.Bar")).isTrue();
+
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 2000));
+        var touched = new ClasspathTypeIndex(cache);
+        touched.add(jar);
+        assertThat(touched.contains("foo.Bar")).isFalse();
+    }
+
+    @Test
+    void fingerprintListsNameAndSizeOfJars() throws IOException {
+        var jar = jar();
+        var index = new ClasspathTypeIndex(null);
+
+        index.add(jar);
+        index.add(dir);
+
+        assertThat(index.fingerprint()).isEqualTo("test.jar:" + Files.size(jar));
+    }
+
+    private Path jar() throws IOException {
+        var jar = dir.resolve("test.jar");
+        var name = MojoFileIOException.class.getName().replace('.', '/') + ".class";
+        try (var out = new ZipOutputStream(Files.newOutputStream(jar));
+                var in = MojoFileIOException.class.getClassLoader().getResourceAsStream(name)) {
+            out.putNextEntry(new ZipEntry(name));
+            in.transferTo(out);
+            out.closeEntry();
+        }
+        return jar;
+    }
+}
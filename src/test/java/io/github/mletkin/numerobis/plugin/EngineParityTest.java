@@ -0,0 +1,199 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.Processor;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+
+import io.github.mletkin.numerobis.annotation.GenerateAdder;
+import io.github.mletkin.numerobis.annotation.GenerateListMutator;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
+import io.github.mletkin.numerobis.plugin.AbstractGeneratorMojo.Creation;
+import io.github.mletkin.numerobis.plugin.AbstractGeneratorMojo.Location;
+import io.github.mletkin.numerobis.processor.BuilderProcessor;
+
+/*
+ * Generates separate builders for the same products with the source-rewriting
+ * processor of the plugin and with the annotation processor. Both outputs must
+ * compile and offer the same public API.
+ */
+class EngineParityTest {
+
+    @TempDir
+    Path dir;
+
+    static Stream<Arguments> products() {
+        return Stream.of( //
+                Arguments.of("Foo", "package foo;\n" //
+                        + "import java.util.List;\n" //
+                        + "import io.github.mletkin.numerobis.annotation.*;\n" //
+                        + "@GenerateBuilder\n" //
+                        + "public class Foo {\n" //
+                        + "    int x;\n" //
+                        + "    String name;\n" //
+                        + "    List<String> lines;\n" //
+                        + "    @Ignore int ignored;\n" //
+                        + "}\n"), //
+                Arguments.of("Point", "package foo;\n" //
+                        + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                        + "public record Point(int x, int y) {\n" //
+                        + "}\n"), //
+                Arguments.of("Order", "package foo;\n" //
+                        + "import java.util.ArrayList;\n" //
+                        + "import java.util.Set;\n" //
+                        + "import io.github.mletkin.numerobis.annotation.*;\n" //
+                        + "@GenerateBuilder\n" //
+                        + "@Mutable\n" //
+                        + "public class Order {\n" //
+                        + "    ArrayList<Integer> amounts;\n" //
+                        + "    @GenerateAdder(variants = GenerateAdder.Variant.VARARG)\n" //
+                        + "    Set<String> tags;\n" //
+                        + "    Order() {}\n" //
+                        + "    Order(int amount) {}\n" //
+                        + "}\n"), //
+                Arguments.of("Index", "package foo;\n" //
+                        + "import java.util.List;\n" //
+                        + "import java.util.Map;\n" //
+                        + "import io.github.mletkin.numerobis.annotation.*;\n" //
+                        + "@GenerateBuilder\n" //
+                        + "public class Index {\n" //
+                        + "    Map<String, List<Integer>> entries;\n" //
+                        + "    List<? extends Number> numbers;\n" //
+                        + "    @GenerateListMutator(variants = GenerateListMutator.Variant.NONE)\n" //
+                        + "    List<String> keys;\n" //
+                        + "    public Index(String name, long size) {}\n" //
+                        + "}\n"), //
+                Arguments.of("Ledger", "package foo;\n" //
+                        + "import java.util.ArrayList;\n" //
+                        + "import io.github.mletkin.numerobis.annotation.*;\n" //
+                        + "@GenerateBuilder\n" //
+                        + "public class Ledger {\n" //
+                        + "    Lines lines;\n" //
+                        + "}\n" //
+                        + "class Lines extends ArrayList<Line> {}\n" //
+                        + "class Line {}\n"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("products")
+    void bothEnginesGenerateTheSameBuilder(String name, String source) throws Exception {
+        var pluginRoot = dir.resolve("plugin");
+        var product = write(pluginRoot, name, source);
+        var index = new SourceTypeIndex();
+        index.add(product);
+        processor().withTypeResolver(new TypeResolver(List.of(index))).process(product);
+        var processorRoot = dir.resolve("processor");
+        write(processorRoot, name, source);
+
+        assertThat(compile(pluginRoot, List.of())).isEmpty();
+        assertThat(compile(processorRoot, List.of(new BuilderProcessor()))).isEmpty();
+        assertThat(api(processorRoot, "foo." + name + "Builder")) //
+                .isEqualTo(api(pluginRoot, "foo." + name + "Builder"));
+    }
+
+    private static io.github.mletkin.numerobis.plugin.Processor processor() {
+        return new io.github.mletkin.numerobis.plugin.Processor(new MojoSettings.Builder() //
+                .withBuilderCreation(Creation.FACTORY) //
+                .withBuilderLocation(Location.SEPARATE) //
+                .withJavaVersion(LanguageLevel.JAVA_17) //
+                .withListAdderVariants(new GenerateAdder.Variant[] { GenerateAdder.Variant.ITEM }) //
+                .withListMutatorVariants(new GenerateListMutator.Variant[] { GenerateListMutator.Variant.OBJECT }) //
+                .withNamingSettings(Naming.DEFAULT) //
+                .build());
+    }
+
+    private static Path write(Path root, String name, String source) throws IOException {
+        var file = root.resolve("src").resolve("foo").resolve(name + ".java");
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, source);
+    }
+
+    /**
+     * Compiles the sources of the root directory.
+     *
+     * @return the messages of the compiler
+     */
+    private static String compile(Path root, List<Processor> processors) throws IOException {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var output = new StringWriter();
+        try (var fileManager = compiler.getStandardFileManager(null, null, null)) {
+            List<File> files;
+            try (var walk = Files.walk(root.resolve("src"))) {
+                files = walk.filter(Files::isRegularFile).map(Path::toFile).collect(Collectors.toList());
+            }
+            Files.createDirectories(root.resolve("classes"));
+            Files.createDirectories(root.resolve("generated"));
+            var arguments = new ArrayList<>(List.of("-classpath", System.getProperty("java.class.path"), //
+                    "-d", root.resolve("classes").toString(), //
+                    "-s", root.resolve("generated").toString(), //
+                    "-Anumerobis.builderCreation=FACTORY", //
+                    "-Anumerobis.listAdderVariants=ITEM", //
+                    "-Anumerobis.listMutatorVariants=OBJECT"));
+            if (processors.isEmpty()) {
+                arguments.add("-proc:none");
+            }
+            var task = compiler.getTask(output, fileManager, null, arguments, null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(processors);
+            return task.call() ? "" : output.toString();
+        }
+    }
+
+    /**
+     * Describes the public constructors and methods of a compiled class.
+     */
+    private static Set<String> api(Path root, String className) throws Exception {
+        try (var loader = new URLClassLoader(new URL[] { root.resolve("classes").toUri().toURL() })) {
+            var type = loader.loadClass(className);
+            return Stream.concat(Stream.of(type.getDeclaredConstructors()), Stream.of(type.getDeclaredMethods())) //
+                    .filter(m -> Modifier.isPublic(m.getModifiers())) //
+                    .map(EngineParityTest::signature) //
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private static String signature(Executable executable) {
+        return Modifier.toString(executable.getModifiers()) + " " + executable.getName() //
+                + Stream.of(executable.getGenericParameterTypes()) //
+                        .map(Type::getTypeName) //
+                        .collect(Collectors.joining(", ", "(", ")"));
+    }
+}
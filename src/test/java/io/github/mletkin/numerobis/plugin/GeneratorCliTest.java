@@ -0,0 +1,171 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GeneratorCliTest {
+
+    private static final String PRODUCT = "package foo;\n" //
+            + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+            + "public class Foo {\n" //
+            + "    int x;\n" //
+            + "}\n";
+
+    @TempDir
+    Path dir;
+
+    private ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private Path product;
+
+    @BeforeEach
+    void writeProduct() throws IOException {
+        product = dir.resolve("src/foo/Foo.java");
+        Files.createDirectories(product.getParent());
+        Files.writeString(product, PRODUCT);
+    }
+
+    @Test
+    void generatesSeparateBuilder() throws IOException {
+        var exitCode = run("--builder-location", "separate", "--naming.mutatorPrefix", "set");
+
+        assertThat(exitCode).isZero();
+        assertThat(output(out)).contains("2 files written");
+        assertThat(Files.readString(dir.resolve("src/foo/FooBuilder.java"))).contains("setX(int x)");
+    }
+
+    @Test
+    void checkFailsBeforeAndSucceedsAfterGeneration() {
+        assertThat(run("--check")).isEqualTo(1);
+        assertThat(output(out)).contains("missing class Foo.Builder", "1 product(s) not up to date");
+
+        assertThat(run()).isZero();
+        assertThat(run("--check")).isZero();
+        assertThat(output(out)).endsWith("all builders are up to date" + System.lineSeparator());
+    }
+
+    @Test
+    void processesOnlyGivenFiles() throws IOException {
+        var other = dir.resolve("src/foo/Bar.java");
+        Files.writeString(other, PRODUCT.replace("Foo", "Bar"));
+
+        assertThat(run(other.toString())).isZero();
+        assertThat(Files.readString(other)).contains("class Builder");
+        assertThat(Files.readString(product)).isEqualTo(PRODUCT);
+    }
+
+    @Test
+    void skipsUnchangedProducts() {
+        run();
+        out.reset();
+        run();
+
+        assertThat(output(out)).startsWith("0 files written");
+    }
+
+    @Test
+    void changedSupertypeInvalidatesManifest() throws IOException {
+        var list = dir.resolve("src/foo/OrderLineList.java");
+        Files.writeString(list, "package foo;\npublic class OrderLineList<T> {\n}\n");
+        Files.writeString(product, PRODUCT.replace("int x;", "OrderLineList<String> lines;"));
+        run();
+        assertThat(Files.readString(product)).doesNotContain("addLine");
+
+        Files.writeString(list, "package foo;\npublic class OrderLineList<T> extends java.util.ArrayList<T> {\n}\n");
+        out.reset();
+
+        assertThat(run()).isZero();
+        assertThat(output(out)).startsWith("1 files written");
+        assertThat(Files.readString(product)).contains("addLine(String item)");
+    }
+
+    @Test
+    void excludedFilesAreIndexedButNotProcessed() throws IOException {
+        var lines = dir.resolve("src/gen/Lines.java");
+        Files.createDirectories(lines.getParent());
+        var source = "package gen;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Lines extends java.util.ArrayList<String> {\n" //
+                + "}\n";
+        Files.writeString(lines, source);
+        Files.writeString(product, PRODUCT.replace("int x;", "gen.Lines lines;"));
+
+        assertThat(run("--exclude", "gen/**")).isZero();
+        assertThat(Files.readString(product)).contains("addLine(java.lang.String item)");
+        assertThat(Files.readString(lines)).isEqualTo(source);
+    }
+
+    @Test
+    void verboseReportListsIndexPhase() {
+        assertThat(run("--verbose")).isZero();
+        assertThat(output(out)).contains("build report:", "  INDEX ");
+    }
+
+    @Test
+    void reportsUnparsableFile() throws IOException {
+        Files.writeString(product, PRODUCT.replace("int x;", "int x"));
+
+        assertThat(run()).isEqualTo(3);
+        assertThat(output(err)).contains("Parse error");
+    }
+
+    @Test
+    void reportsGeneratorError() throws IOException {
+        Files.writeString(product, PRODUCT.replace("int x;", "int x;\n    public static class Builder { String product; }"));
+
+        assertThat(run()).isEqualTo(3);
+        assertThat(output(err)).startsWith("The product field has the wrong type String.");
+    }
+
+    @Test
+    void rejectsUnknownOption() {
+        assertThat(run("--frobnicate", "x")).isEqualTo(2);
+        assertThat(output(err)).startsWith("unknown option --frobnicate");
+    }
+
+    @Test
+    void rejectsInvalidValue() {
+        assertThat(run("--builder-creation", "magic")).isEqualTo(2);
+        assertThat(output(err)).startsWith("invalid value magic for Creation");
+    }
+
+    private int run(String... options) {
+        var args = new String[options.length + 4];
+        args[0] = "--source";
+        args[1] = dir.resolve("src").toString();
+        args[2] = "--work-directory";
+        args[3] = dir.resolve("work").toString();
+        System.arraycopy(options, 0, args, 4, options.length);
+        return GeneratorCli.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    private static String output(ByteArrayOutputStream stream) {
+        return stream.toString(StandardCharsets.UTF_8);
+    }
+}
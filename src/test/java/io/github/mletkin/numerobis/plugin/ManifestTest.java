@@ -0,0 +1,117 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ManifestTest {
+
+    @TempDir
+    Path dir;
+
+    private Path manifestFile;
+    private Path product;
+    private Path builder;
+
+    @BeforeEach
+    void setup() throws IOException {
+        manifestFile = dir.resolve("target/manifest.properties");
+        product = Files.writeString(dir.resolve("Foo.java"), "class Foo {}");
+        builder = Files.writeString(dir.resolve("FooBuilder.java"), "class FooBuilder {}");
+    }
+
+    @Test
+    void unknownProductIsNotUpToDate() {
+        assertThat(Manifest.load(manifestFile, "x").isUpToDate(product)).isFalse();
+    }
+
+    @Test
+    void recordedProductIsUpToDate() {
+        store("x", builder);
+
+        assertThat(Manifest.load(manifestFile, "x").isUpToDate(product)).isTrue();
+    }
+
+    @Test
+    void changedProductIsNotUpToDate() throws IOException {
+        store("x", null);
+        Files.writeString(product, "class Foo { int x; }");
+
+        assertThat(Manifest.load(manifestFile, "x").isUpToDate(product)).isFalse();
+    }
+
+    @Test
+    void changedBuilderInvalidatesProduct() throws IOException {
+        store("x", builder);
+        Files.writeString(builder, "class FooBuilder { int x; }");
+
+        assertThat(Manifest.load(manifestFile, "x").isUpToDate(product)).isFalse();
+    }
+
+    @Test
+    void deletedBuilderInvalidatesProduct() throws IOException {
+        store("x", builder);
+        Files.delete(builder);
+
+        assertThat(Manifest.load(manifestFile, "x").isUpToDate(product)).isFalse();
+    }
+
+    @Test
+    void changedFingerprintInvalidatesEverything() {
+        store("x", builder);
+
+        assertThat(Manifest.load(manifestFile, "y").isUpToDate(product)).isFalse();
+    }
+
+    @Test
+    void disabledManifestConsidersNothingUpToDate() {
+        var manifest = Manifest.disabled();
+        manifest.record(product, null);
+
+        assertThat(manifest.isUpToDate(product)).isFalse();
+    }
+
+    @Test
+    void recordedProductIsUpToDateInTheSameBuild() {
+        var manifest = Manifest.load(manifestFile, "x");
+        manifest.record(product, builder);
+
+        assertThat(manifest.isUpToDate(product)).isTrue();
+    }
+
+    @Test
+    void productOfBuilderIsFound() {
+        store("x", builder);
+        var manifest = Manifest.load(manifestFile, "x");
+
+        assertThat(manifest.productOf(builder)).contains(product.toAbsolutePath().normalize());
+        assertThat(manifest.productOf(product)).isEmpty();
+    }
+
+    private void store(String fingerprint, Path builderFile) {
+        var manifest = Manifest.load(manifestFile, fingerprint);
+        manifest.record(product, builderFile);
+        manifest.store();
+    }
+}
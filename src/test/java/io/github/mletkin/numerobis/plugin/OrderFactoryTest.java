@@ -25,8 +25,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import io.github.mletkin.numerobis.plugin.BuilderMojo.Creation;
-import io.github.mletkin.numerobis.plugin.BuilderMojo.Location;
+import io.github.mletkin.numerobis.plugin.AbstractGeneratorMojo.Creation;
+import io.github.mletkin.numerobis.plugin.AbstractGeneratorMojo.Location;
 
 class OrderFactoryTest {
 
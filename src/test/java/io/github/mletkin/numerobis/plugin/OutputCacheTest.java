@@ -0,0 +1,145 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.mletkin.numerobis.plugin.OutputCache.Output;
+
+class OutputCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void disabledCacheHasNoKey() throws IOException {
+        var product = Files.writeString(dir.resolve("Foo.java"), "class Foo {}");
+
+        assertThat(OutputCache.disabled().key(product, Optional.empty())).isEmpty();
+    }
+
+    @Test
+    void keyDependsOnFingerprintProductAndBuilder() throws IOException {
+        var product = Files.writeString(dir.resolve("Foo.java"), "class Foo {}");
+        var builder = dir.resolve("FooBuilder.java");
+        var cache = OutputCache.open(dir.resolve("cache"), "a");
+
+        var key = cache.key(product, Optional.of(builder));
+        assertThat(cache.key(product, Optional.of(builder))).isEqualTo(key);
+        assertThat(OutputCache.open(dir.resolve("cache"), "b").key(product, Optional.of(builder))).isNotEqualTo(key);
+
+        Files.writeString(builder, "");
+        assertThat(cache.key(product, Optional.of(builder))).isNotEqualTo(key);
+
+        Files.delete(builder);
+        Files.writeString(product, "class Foo { }");
+        assertThat(cache.key(product, Optional.of(builder))).isNotEqualTo(key);
+    }
+
+    @Test
+    void storedEntryIsFound() {
+        var cache = OutputCache.open(dir, "a");
+        cache.put("abcd", new Output("product".getBytes(), null));
+
+        var output = cache.get("abcd");
+
+        assertThat(output).isPresent();
+        assertThat(output.get().product()).isEqualTo("product".getBytes());
+        assertThat(output.get().builder()).isNull();
+        assertThat(cache.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void missingEntryIsNotFound() {
+        var cache = OutputCache.open(dir, "a");
+
+        assertThat(cache.get("abcd")).isEmpty();
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void storedEntryIsReplaced() {
+        var cache = OutputCache.open(dir, "a");
+        cache.put("abcd", new Output("old".getBytes(), null));
+        cache.put("abcd", new Output("new".getBytes(), "builder".getBytes()));
+
+        var output = cache.get("abcd").get();
+
+        assertThat(output.product()).isEqualTo("new".getBytes());
+        assertThat(output.builder()).isEqualTo("builder".getBytes());
+        assertThat(dir.resolve("ab")).isDirectoryContaining(p -> p.getFileName().toString().equals("abcd"));
+        assertThat(dir.resolve("ab").toFile().list()).hasSize(1);
+    }
+
+    @Test
+    void oldEntriesAreEvicted() throws IOException {
+        var cache = OutputCache.open(dir, "a");
+        cache.put("aa01", new Output(new byte[10], null));
+        cache.put("aa02", new Output(new byte[10], null));
+        age(cache.entry("aa01"), Duration.ofDays(2));
+
+        cache.evict(Long.MAX_VALUE, Duration.ofDays(1));
+
+        assertThat(cache.entry("aa01")).doesNotExist();
+        assertThat(cache.entry("aa02")).exists();
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedBeyondSize() throws IOException {
+        var cache = OutputCache.open(dir, "a");
+        cache.put("aa01", new Output(new byte[100], null));
+        cache.put("aa02", new Output(new byte[100], null));
+        cache.put("aa03", new Output(new byte[100], null));
+        age(cache.entry("aa01"), Duration.ofMinutes(3));
+        age(cache.entry("aa02"), Duration.ofMinutes(2));
+        age(cache.entry("aa03"), Duration.ofMinutes(1));
+        cache.get("aa01");
+
+        cache.evict(250, Duration.ofDays(1));
+
+        assertThat(cache.entry("aa01")).exists();
+        assertThat(cache.entry("aa02")).doesNotExist();
+        assertThat(cache.entry("aa03")).exists();
+    }
+
+    @Test
+    void staleTemporaryFilesAreDeleted() throws IOException {
+        var cache = OutputCache.open(dir, "a");
+        var stale = Files.writeString(Files.createDirectories(dir.resolve("aa")).resolve("aa01.x.tmp"), "");
+        var fresh = Files.writeString(dir.resolve("aa/aa02.x.tmp"), "");
+        age(stale, Duration.ofHours(2));
+
+        cache.evict(0, Duration.ofDays(1));
+
+        assertThat(stale).doesNotExist();
+        assertThat(fresh).exists();
+    }
+
+    private static void age(Path file, Duration age) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.javaparser.JavaParser;
+
+class ParseCacheTest {
+
+    private static final long ENOUGH = 1024 * 1024;
+
+    @TempDir
+    Path dir;
+
+    private JavaParser parser = new JavaParser();
+
+    @Test
+    void unchangedFileIsTakenFromTheCache() throws IOException {
+        var cache = new ParseCache(ENOUGH);
+        var file = Files.writeString(dir.resolve("Foo.java"), "class Foo { int x; }");
+
+        var first = cache.parse(file, parser);
+        var second = cache.parse(file, parser);
+
+        assertThat(cache.misses()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(second).isNotSameAs(first).isEqualTo(first);
+        assertThat(second.getPrimaryTypeName()).contains("Foo");
+        assertThat(PreservingPrinter.isAvailableOn(second)).isTrue();
+    }
+
+    @Test
+    void changesOfTheHandedOutUnitDoNotReachTheCache() throws IOException {
+        var cache = new ParseCache(ENOUGH);
+        var file = Files.writeString(dir.resolve("Foo.java"), "class Foo { int x; }");
+
+        cache.parse(file, parser).getType(0).addField("int", "y");
+
+        assertThat(cache.parse(file, parser).getType(0).getFields()).hasSize(1);
+    }
+
+    @Test
+    void changedFileIsParsedAgain() throws IOException {
+        var cache = new ParseCache(ENOUGH);
+        var file = Files.writeString(dir.resolve("Foo.java"), "class Foo { int x; }");
+        cache.parse(file, parser);
+
+        Files.writeString(file, "class Foo { int x; int y; }");
+
+        assertThat(cache.parse(file, parser).getType(0).getFields()).hasSize(2);
+        assertThat(cache.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void leastRecentlyUsedUnitIsEvicted() throws IOException {
+        var source = "class Foo { int x; }";
+        var cache = new ParseCache(2L * source.length() * ParseCache.BYTES_PER_CHAR);
+        var foo = Files.writeString(dir.resolve("Foo.java"), source);
+        var bar = Files.writeString(dir.resolve("Bar.java"), source.replace("Foo", "Bar"));
+        var baz = Files.writeString(dir.resolve("Baz.java"), source.replace("Foo", "Baz"));
+
+        cache.parse(foo, parser);
+        cache.parse(bar, parser);
+        cache.parse(foo, parser);
+        cache.parse(baz, parser);
+
+        assertThat(cache.size()).isEqualTo(2);
+        cache.parse(foo, parser);
+        assertThat(cache.hits()).isEqualTo(2);
+        cache.parse(bar, parser);
+        assertThat(cache.misses()).isEqualTo(4);
+    }
+
+    @Test
+    void disabledCacheParsesEveryTime() throws IOException {
+        var cache = ParseCache.disabled();
+        var file = Files.writeString(dir.resolve("Foo.java"), "class Foo { int x; }");
+
+        cache.parse(file, parser);
+        cache.parse(file, parser);
+
+        assertThat(cache.misses()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+}
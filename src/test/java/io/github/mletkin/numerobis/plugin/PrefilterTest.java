@@ -0,0 +1,65 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PrefilterTest {
+
+    private Prefilter prefilter = new Prefilter();
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest
+    @ValueSource(strings = { //
+            "import io.github.mletkin.numerobis.annotation.GenerateBuilder; @GenerateBuilder class Foo {}",
+            "import io.github.mletkin.numerobis.annotation.*; @GenerateAccessors class Foo {}",
+            "@io.github.mletkin.numerobis.annotation.GenerateBuilder class Foo {}" })
+    void annotatedFileNeedsProcessing(String content) throws IOException {
+        assertThat(prefilter.mayNeedProcessing(file(content))).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { //
+            "class Foo {}", //
+            "import io.github.mletkin.numerobis.annotation.Ignore; class Foo {}", //
+            "@GenerateBuilder class Foo {}" })
+    void fileWithoutAnnotationIsSkipped(String content) throws IOException {
+        assertThat(prefilter.mayNeedProcessing(file(content))).isFalse();
+    }
+
+    @Test
+    void tokenOnChunkBorderIsFound() throws IOException {
+        var content = " ".repeat(8180) //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder class Foo {}";
+
+        assertThat(prefilter.mayNeedProcessing(file(content))).isTrue();
+    }
+
+    private Path file(String content) throws IOException {
+        return Files.writeString(dir.resolve("Foo.java"), content);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Modifier.Keyword;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.stmt.BlockStmt;
+
+import io.github.mletkin.numerobis.generator.Facade;
+
+class PreservingPrinterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void unitWithoutSourceIsPrettyPrinted() {
+        var unit = StaticJavaParser.parse("class Foo {  int x;  }");
+
+        assertThat(PreservingPrinter.print(unit)).isEqualTo(unit.toString());
+    }
+
+    @Test
+    void unchangedUnitIsCopied() {
+        var source = "package foo;\n\nclass Foo {  int x;  // comment\n}\n";
+
+        assertThat(PreservingPrinter.print(parse(source))).isEqualTo(source);
+    }
+
+    @Test
+    void generatedMemberIsInsertedBeforeClosingBrace() {
+        var unit = parse("class Foo {\n\tint  x;\n}\n");
+        unit.getClassByName("Foo").get().addMethod("foo", Keyword.PUBLIC).setBody(new BlockStmt());
+
+        assertThat(PreservingPrinter.print(unit)).isEqualTo( //
+                "class Foo {\n\tint  x;\n\n\tpublic void foo() {\n\t}\n}\n");
+    }
+
+    @Test
+    void memberOfEmptyClassIsIndentedOneLevel() {
+        var unit = parse("class Foo {}");
+        unit.getClassByName("Foo").get().addField("int", "x");
+
+        assertThat(PreservingPrinter.print(unit)).isEqualTo("class Foo {\n\n    int x;\n}");
+    }
+
+    @Test
+    void generatedImportFollowsLastImport() {
+        var unit = parse("package foo;\nimport java.util.List;\n\nclass Foo {}\n");
+        unit.addImport("java.util.Set");
+
+        assertThat(PreservingPrinter.print(unit)).isEqualTo( //
+                "package foo;\nimport java.util.List;\nimport java.util.Set;\n\nclass Foo {}\n");
+    }
+
+    @Test
+    void lineSeparatorOfSourceIsUsed() {
+        var unit = parse("class Foo {\r\n    int x;\r\n}\r\n");
+        unit.getClassByName("Foo").get().addField("int", "y");
+
+        assertThat(PreservingPrinter.print(unit)).isEqualTo("class Foo {\r\n    int x;\r\n\r\n    int y;\r\n}\r\n");
+    }
+
+    @Test
+    void embeddedBuilderKeepsProductLayout() throws IOException {
+        var source = "import io.github.mletkin.numerobis.annotation.GenerateBuilder;\n\n" //
+                + "@GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "  int   x;   // keep me\n" //
+                + "}\n";
+        var order = new Order(Files.writeString(dir.resolve("Foo.java"), source), Naming.DEFAULT, true, true, false);
+
+        var result = PreservingPrinter.print(new Facade().embeddedWithFactoryMethods(order).execute());
+
+        assertThat(result).startsWith(source.substring(0, source.lastIndexOf('}')));
+        assertThat(result).contains("\n  public static class Builder {\n");
+        assertThat(result).contains("\n      public Foo build() {\n          return product;\n      }\n");
+        assertThat(result).endsWith("  }\n}\n");
+    }
+
+    @Test
+    void memberOfNestedClassIsInsertedIntoNestedClass() {
+        var unit = parse("class Foo {\n    class Bar {\n    }\n}\n");
+        unit.findFirst(ClassOrInterfaceDeclaration.class, c -> c.getNameAsString().equals("Bar")).get()
+                .addField("int", "x");
+
+        assertThat(PreservingPrinter.print(unit)).isEqualTo( //
+                "class Foo {\n    class Bar {\n\n        int x;\n    }\n}\n");
+    }
+
+    private static CompilationUnit parse(String source) {
+        var unit = StaticJavaParser.parse(source);
+        PreservingPrinter.attachSource(unit, source);
+        return unit;
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+
+import io.github.mletkin.numerobis.annotation.GenerateAdder;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
+import io.github.mletkin.numerobis.plugin.AbstractGeneratorMojo.Creation;
+import io.github.mletkin.numerobis.plugin.AbstractGeneratorMojo.Location;
+
+class ProcessorTest {
+
+    private static final String PRODUCT = "package foo;\n" //
+            + "import java.util.List;\n" //
+            + "import io.github.mletkin.numerobis.annotation.GenerateBuilder;\n" //
+            + "@GenerateBuilder\n" //
+            + "public class Foo {\n" //
+            + "    int x;\n" //
+            + "    List<String> y;\n" //
+            + "}\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void generatedProductIsUpToDate() throws IOException {
+        var file = Files.writeString(dir.resolve("Foo.java"), PRODUCT);
+        var processor = processor(Location.EMBEDDED);
+        processor.process(file);
+        var generated = Files.readString(file);
+
+        assertThat(processor.check(file)).isEmpty();
+        assertThat(Files.readString(file)).isEqualTo(generated);
+    }
+
+    @Test
+    void missingMethodsAreReported() throws IOException {
+        var file = Files.writeString(dir.resolve("Foo.java"), PRODUCT);
+        var processor = processor(Location.EMBEDDED);
+        processor.process(file);
+        removeMethod(file, "withX");
+
+        assertThat(processor.check(file)).containsExactly("method Foo.Builder.withX(int)");
+    }
+
+    @Test
+    void missingBuilderClassIsReported() throws IOException {
+        var file = Files.writeString(dir.resolve("Foo.java"), PRODUCT);
+
+        assertThat(processor(Location.EMBEDDED).check(file)).containsExactly("class Foo.Builder");
+        assertThat(Files.readString(file)).isEqualTo(PRODUCT);
+    }
+
+    @Test
+    void missingBuilderFileIsReported() throws IOException {
+        var file = Files.writeString(dir.resolve("Foo.java"), PRODUCT);
+
+        assertThat(processor(Location.SEPARATE).check(file)) //
+                .containsExactly("builder file " + dir.resolve("FooBuilder.java") + " is missing");
+    }
+
+    @Test
+    void missingMethodOfSeparateBuilderIsReported() throws IOException {
+        var file = Files.writeString(dir.resolve("Foo.java"), PRODUCT);
+        var processor = processor(Location.SEPARATE);
+        processor.process(file);
+        removeMethod(dir.resolve("FooBuilder.java"), "addY");
+
+        assertThat(processor.check(file)).containsExactly("method FooBuilder.addY(String)");
+    }
+
+    @Test
+    void accessorOnlyProductWithSeparateBuilderIsChecked() throws IOException {
+        var file = Files.writeString(dir.resolve("Foo.java"), "package foo;\n" //
+                + "import io.github.mletkin.numerobis.annotation.GenerateAccessors;\n" //
+                + "@GenerateAccessors\n" //
+                + "public class Foo {\n" //
+                + "    int x;\n" //
+                + "}\n");
+        var processor = processor(Location.SEPARATE);
+
+        assertThat(processor.check(file)).containsExactly("method Foo.x()");
+        processor.process(file);
+        assertThat(processor.check(file)).isEmpty();
+        assertThat(dir.resolve("FooBuilder.java")).doesNotExist();
+    }
+
+    @Test
+    void fileWithoutProductIsUpToDate() throws IOException {
+        var file = Files.writeString(dir.resolve("Bar.java"), "class Bar {}");
+
+        assertThat(processor(Location.EMBEDDED).check(file)).isEmpty();
+    }
+
+    @Test
+    void cachedOutputIsCopiedToOtherWorkspace() throws IOException {
+        var first = Files.writeString(Files.createDirectories(dir.resolve("a")).resolve("Foo.java"), PRODUCT);
+        var second = Files.writeString(Files.createDirectories(dir.resolve("b")).resolve("Foo.java"), PRODUCT);
+        var cache = OutputCache.open(dir.resolve("cache"), "test");
+        processor(Location.SEPARATE).withOutputCache(cache).process(first);
+
+        processor(Location.SEPARATE).withOutputCache(cache).process(second);
+
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(Files.readString(second)).isEqualTo(Files.readString(first));
+        assertThat(Files.readString(dir.resolve("b/FooBuilder.java"))) //
+                .isEqualTo(Files.readString(dir.resolve("a/FooBuilder.java")));
+    }
+
+    @Test
+    void cachedAccessorOnlyProductWritesNoBuilder() throws IOException {
+        var product = "package foo;\n" //
+                + "import io.github.mletkin.numerobis.annotation.GenerateAccessors;\n" //
+                + "@GenerateAccessors\n" //
+                + "public class Foo {\n" //
+                + "    int x;\n" //
+                + "}\n";
+        var first = Files.writeString(Files.createDirectories(dir.resolve("a")).resolve("Foo.java"), product);
+        var second = Files.writeString(Files.createDirectories(dir.resolve("b")).resolve("Foo.java"), product);
+        var cache = OutputCache.open(dir.resolve("cache"), "test");
+        processor(Location.SEPARATE).withOutputCache(cache).process(first);
+
+        processor(Location.SEPARATE).withOutputCache(cache).process(second);
+
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(Files.readString(second)).isEqualTo(Files.readString(first)).contains("public int x()");
+        assertThat(dir.resolve("a/FooBuilder.java")).doesNotExist();
+        assertThat(dir.resolve("b/FooBuilder.java")).doesNotExist();
+    }
+
+    @Test
+    void fileWithoutProductIsNotCached() throws IOException {
+        var file = Files.writeString(dir.resolve("Bar.java"), "class Bar {}");
+        var cache = OutputCache.open(dir.resolve("cache"), "test");
+
+        processor(Location.EMBEDDED).withOutputCache(cache).process(file);
+
+        assertThat(cache.misses()).isZero();
+        assertThat(dir.resolve("cache")).doesNotExist();
+    }
+
+    @Test
+    void filesAreReadAndWrittenInConfiguredEncoding() throws IOException {
+        var product = PRODUCT.replace("int x;", "int x; // gr\u00f6\u00dfe");
+        var file = Files.write(dir.resolve("Foo.java"), product.getBytes(StandardCharsets.ISO_8859_1));
+        var processor = new Processor(new MojoSettings.Builder() //
+                .withBuilderCreation(Creation.FACTORY) //
+                .withBuilderLocation(Location.EMBEDDED) //
+                .withEncoding("ISO-8859-1") //
+                .withNamingSettings(Naming.DEFAULT) //
+                .build());
+
+        processor.process(file);
+
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1)).contains("// gr\u00f6\u00dfe");
+    }
+
+    @Test
+    void concurrentWriterStoresFilesOnFlush() throws IOException {
+        var file = Files.writeString(dir.resolve("Foo.java"), PRODUCT);
+        try (var writer = UnitWriter.concurrent(1)) {
+            var processor = processor(Location.SEPARATE).withWriter(writer);
+
+            processor.process(file);
+            processor.flush();
+
+            assertThat(processor.writtenFiles()).isEqualTo(2);
+            assertThat(dir.resolve("FooBuilder.java")).exists();
+        }
+    }
+
+    @Test
+    void givenTypeResolverRecognizesSourceCollections() throws IOException {
+        var product = PRODUCT.replace("List<String> y;", "Lines<String> y;\n    Names z;");
+        var index = new SourceTypeIndex();
+        index.add("package foo;\nimport java.util.ArrayList;\npublic class Lines<T> extends ArrayList<T> {}\n");
+        index.add("package foo;\nimport java.util.ArrayList;\npublic class Names extends ArrayList<String> {}\n");
+        var plain = Files.writeString(dir.resolve("Foo.java"), product);
+        var resolved = Files.writeString(Files.createDirectory(dir.resolve("bar")).resolve("Foo.java"), product);
+
+        processor(Location.EMBEDDED).process(plain);
+        processor(Location.EMBEDDED).withTypeResolver(new TypeResolver(List.of(index))).process(resolved);
+
+        assertThat(Files.readString(plain)).doesNotContain("addY(String item)");
+        assertThat(Files.readString(resolved)) //
+                .contains("addY(String item)", "withZ(Names z)", "addZ(java.lang.String item)");
+    }
+
+    private static void removeMethod(Path file, String name) throws IOException {
+        var unit = StaticJavaParser.parse(file);
+        unit.findAll(MethodDeclaration.class, m -> m.getNameAsString().equals(name)).forEach(Node::remove);
+        Files.writeString(file, unit.toString());
+    }
+
+    private static Processor processor(Location location) {
+        return new Processor(new MojoSettings.Builder() //
+                .withBuilderCreation(Creation.FACTORY) //
+                .withBuilderLocation(location) //
+                .withListAdderVariants(new GenerateAdder.Variant[] { GenerateAdder.Variant.ITEM }) //
+                .withNamingSettings(Naming.DEFAULT) //
+                .build());
+    }
+}
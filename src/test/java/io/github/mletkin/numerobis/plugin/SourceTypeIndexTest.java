@@ -0,0 +1,223 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.javaparser.StaticJavaParser;
+
+import io.github.mletkin.numerobis.generator.common.HierarchySource.Signature;
+import io.github.mletkin.numerobis.generator.common.TypeResolver;
+
+class SourceTypeIndexTest {
+
+    private SourceTypeIndex index = new SourceTypeIndex();
+    private TypeResolver resolver = new TypeResolver(List.of(index));
+
+    @Test
+    void indexesTopLevelAndNestedTypes() {
+        index.add("package foo;\n" //
+                + "public class Outer<T extends Comparable<T>> {\n" //
+                + "    void x() { class Local {} }\n" //
+                + "    static class Inner {}\n" //
+                + "    enum Kind { A { void y() {} }, B }\n" //
+                + "    record Point(int x, int y) {}\n" //
+                + "    @interface Marker {}\n" //
+                + "}\n" //
+                + "interface Other {}\n");
+
+        assertThat(index.contains("foo.Outer")).isTrue();
+        assertThat(index.contains("foo.Outer$Inner")).isTrue();
+        assertThat(index.contains("foo.Outer$Kind")).isTrue();
+        assertThat(index.contains("foo.Outer$Point")).isTrue();
+        assertThat(index.contains("foo.Outer$Marker")).isTrue();
+        assertThat(index.contains("foo.Other")).isTrue();
+        assertThat(index.contains("foo.Outer$Local")).isFalse();
+        assertThat(index.size()).isEqualTo(6);
+    }
+
+    @Test
+    void resolvesSupertypesThroughImports() {
+        index.add("package foo;\n" //
+                + "import java.util.ArrayList;\n" //
+                + "public class OrderLineList extends ArrayList<OrderLine> implements Marker {}\n");
+        index.add("package foo; interface Marker {}");
+
+        assertThat(index.supertypes("foo.OrderLineList", resolver)) //
+                .contains(List.of("java.util.ArrayList", "foo.Marker"));
+    }
+
+    @Test
+    void projectCollectionIsRecognized() {
+        index.add("package foo;\n" //
+                + "import java.util.*;\n" //
+                + "class Base<T> extends AbstractList<T> {\n" //
+                + "    public T get(int n) { return null; }\n" //
+                + "    public int size() { return 0; }\n" //
+                + "}\n");
+        index.add("package foo.bar; import foo.Base; public class Lines extends Base<String> {}");
+        var unit = StaticJavaParser.parse("package foo.bar; class Foo { Lines lines; }");
+
+        var type = unit.getType(0).getFields().get(0).getElementType();
+
+        assertThat(resolver.isSubtype(type, Collection.class, unit)).isTrue();
+    }
+
+    @Test
+    void signatureKeepsTypeArgumentsOfSupertypes() {
+        index.add("package foo;\n" //
+                + "import java.util.*;\n" //
+                + "class Table<K extends Comparable<K>, V> extends AbstractMap<K, List<? extends V>>\n" //
+                + "        implements Lines<@Deprecated V> {}\n");
+        index.add("package foo; interface Lines<T> {}");
+
+        assertThat(index.signature("foo.Table", resolver)).contains(new Signature(List.of("K", "V"),
+                List.of("java.util.AbstractMap<K, java.util.List<? extends V>>", "foo.Lines<V>")));
+    }
+
+    @Test
+    void itemTypeOfProjectCollectionIsDerived() {
+        index.add("package foo;\n" //
+                + "import java.util.*;\n" //
+                + "class Base<T> extends AbstractList<T> {\n" //
+                + "    public T get(int n) { return null; }\n" //
+                + "    public int size() { return 0; }\n" //
+                + "}\n");
+        index.add("package foo.bar; import foo.Base; public class Lines extends Base<String> {}");
+        var unit = StaticJavaParser.parse("package foo.bar; import foo.Base; class Foo { Lines a; Base b; }");
+
+        var fields = unit.getType(0).getFields();
+
+        assertThat(resolver.itemType(fields.get(0).getElementType(), unit)).contains("java.lang.String");
+        assertThat(resolver.itemType(fields.get(1).getElementType(), unit)).isEmpty();
+    }
+
+    @Test
+    void nestedSupertypeIsResolvedInEnclosingType() {
+        index.add("package foo; class Outer { static class A {} static class B extends A {} }");
+
+        assertThat(index.supertypes("foo.Outer$B", resolver)).contains(List.of("foo.Outer$A"));
+    }
+
+    @Test
+    void commentsAndLiteralsAreIgnored() {
+        index.add("package foo;\n" //
+                + "// class Fake extends java.util.ArrayList {}\n" //
+                + "/* interface Hidden {} */\n" //
+                + "class Real { String s = \"class Text {\"; char c = '{'; }\n");
+
+        assertThat(index.contains("foo.Real")).isTrue();
+        assertThat(index.contains("foo.Fake")).isFalse();
+        assertThat(index.contains("foo.Hidden")).isFalse();
+        assertThat(index.contains("foo.Text")).isFalse();
+    }
+
+    @Test
+    void interfaceSupertypesAreCollected() {
+        index.add("package foo; import java.util.List; interface Lines<T> extends List<T>, Comparable<Lines<T>> {}");
+
+        assertThat(index.supertypes("foo.Lines", resolver)) //
+                .contains(List.of("java.util.List", "java.lang.Comparable"));
+    }
+
+    @Test
+    void typesAfterSkippedBodiesAreFound() {
+        index.add("package foo;\n" //
+                + "class Outer {\n" //
+                + "    void x() { String s = \"}\"; char c = '}'; /* } */ if (s != null) { class Local {} } }\n" //
+                + "    int[] values = { 1, 2 };\n" //
+                + "    static class Late extends Outer {}\n" //
+                + "}\n");
+
+        assertThat(index.contains("foo.Outer$Late")).isTrue();
+        assertThat(index.contains("foo.Outer$Local")).isFalse();
+        assertThat(index.supertypes("foo.Outer$Late", resolver)).contains(List.of("foo.Outer"));
+    }
+
+    @Test
+    void fileIsReadWithConfiguredEncoding(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("Size.java");
+        Files.write(file, "package foo; class Gr\u00f6\u00dfe {}".getBytes(StandardCharsets.ISO_8859_1));
+        var latin = new SourceTypeIndex(null, StandardCharsets.ISO_8859_1);
+
+        latin.add(file);
+
+        assertThat(latin.contains("foo.Gr\u00f6\u00dfe")).isTrue();
+    }
+
+    @Test
+    void unchangedFileIsTakenFromCache(@TempDir Path dir) throws IOException {
+        var cacheFile = dir.resolve("cache").resolve("sources.properties");
+        var file = dir.resolve("Aa.java");
+        Files.writeString(file, "package foo; class Aa extends Base {}");
+        var modified = Files.getLastModifiedTime(file);
+        var first = new SourceTypeIndex(cacheFile, StandardCharsets.UTF_8);
+        first.add(file);
+        first.store();
+
+        Files.writeString(file, "package foo; class Bb extends Base {}");
+        Files.setLastModifiedTime(file, modified);
+        var second = new SourceTypeIndex(cacheFile, StandardCharsets.UTF_8);
+        second.add(file);
+
+        assertThat(second.contains("foo.Aa")).isTrue();
+        assertThat(second.contains("foo.Bb")).isFalse();
+        assertThat(second.fingerprint()).isEqualTo(first.fingerprint());
+    }
+
+    @Test
+    void cachedSignatureIsRestored(@TempDir Path dir) throws IOException {
+        var cacheFile = dir.resolve("sources.properties");
+        var file = Files.writeString(dir.resolve("Aa.java"),
+                "package foo; class Aa<T> extends java.util.HashMap<T, int[]> {}");
+        var first = new SourceTypeIndex(cacheFile, StandardCharsets.UTF_8);
+        first.add(file);
+        first.store();
+
+        var second = new SourceTypeIndex(cacheFile, StandardCharsets.UTF_8);
+        second.add(file);
+
+        assertThat(second.signature("foo.Aa", new TypeResolver(List.of(second)))) //
+                .contains(new Signature(List.of("T"), List.of("java.util.HashMap<T, int[]>")));
+    }
+
+    @Test
+    void changedFileIsScannedAgain(@TempDir Path dir) throws IOException {
+        var cacheFile = dir.resolve("sources.properties");
+        var file = dir.resolve("Aa.java");
+        Files.writeString(file, "package foo; class Aa {}");
+        var first = new SourceTypeIndex(cacheFile, StandardCharsets.UTF_8);
+        first.add(file);
+        first.store();
+
+        Files.writeString(file, "package foo; class Bbb {}");
+        var second = new SourceTypeIndex(cacheFile, StandardCharsets.UTF_8);
+        second.add(file);
+
+        assertThat(second.contains("foo.Bbb")).isTrue();
+        assertThat(second.contains("foo.Aa")).isFalse();
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SourceWalkerTest {
+
+    @TempDir
+    Path root;
+
+    @BeforeEach
+    void createTree() throws IOException {
+        for (var file : List.of("a/Foo.java", "a/readme.txt", "a/b/Bar.java", "a/generated/Gen.java",
+                "generated/Top.java", "proto/x/Msg.java", "Root.java")) {
+            Files.createDirectories(root.resolve(file).getParent());
+            Files.writeString(root.resolve(file), "");
+        }
+    }
+
+    @Test
+    void allJavaFilesAreCollectedByDefault() {
+        var walker = new SourceWalker(null, null, 1);
+
+        assertThat(relative(walker.walk(root))).containsExactly("Root.java", "a/Foo.java", "a/b/Bar.java",
+                "a/generated/Gen.java", "generated/Top.java", "proto/x/Msg.java");
+    }
+
+    @Test
+    void excludedSubtreesAreSkipped() {
+        var walker = new SourceWalker(null, List.of("**/generated/**", "**/proto/**"), 1);
+
+        assertThat(relative(walker.walk(root))).containsExactly("Root.java", "a/Foo.java", "a/b/Bar.java");
+    }
+
+    @Test
+    void excludedDirectoriesAreNotEntered() {
+        var walker = new SourceWalker(null, List.of("**/generated/**"), 1);
+
+        assertThat(walker.isPruned(Path.of("generated"))).isTrue();
+        assertThat(walker.isPruned(Path.of("a/generated"))).isTrue();
+        assertThat(walker.isPruned(Path.of("a/generator"))).isFalse();
+    }
+
+    @Test
+    void filesAreFilteredByPattern() {
+        var walker = new SourceWalker(List.of("a/**/*.java"), List.of("**/Bar.java"), 1);
+
+        assertThat(relative(walker.walk(root))).containsExactly("a/Foo.java", "a/generated/Gen.java");
+    }
+
+    @Test
+    void parallelListingFindsTheSameFiles() {
+        var excludes = List.of("**/proto/**");
+
+        assertThat(new SourceWalker(null, excludes, 4).walk(root)) //
+                .isEqualTo(new SourceWalker(null, excludes, 1).walk(root));
+    }
+
+    @Test
+    void missingRootIsEmpty() {
+        assertThat(new SourceWalker(null, null, 1).walk(root.resolve("missing"))).isEmpty();
+    }
+
+    @Test
+    void acceptsTheFilesOfTheWalk() {
+        var walker = new SourceWalker(null, List.of("**/generated/**"), 1);
+
+        assertThat(walker.accepts(root, root.resolve("a/b/Bar.java"))).isTrue();
+        assertThat(walker.accepts(root, root.resolve("a/generated/Gen.java"))).isFalse();
+        assertThat(walker.accepts(root, root.resolve("a/readme.txt"))).isFalse();
+        assertThat(walker.accepts(root.resolve("a"), root.resolve("Root.java"))).isFalse();
+    }
+
+    @Test
+    void selectionMatchesTheWalk() {
+        var all = new SourceWalker(null, null, 1).walk(root);
+        var walker = new SourceWalker(List.of("a/**/*.java"), List.of("**/generated/**"), 1);
+
+        assertThat(walker.select(List.of(root), all)).isEqualTo(walker.walk(root));
+    }
+
+    private List<String> relative(List<Path> files) {
+        return files.stream().map(root::relativize).map(p -> p.toString().replace('\\', '/')).toList();
+    }
+}
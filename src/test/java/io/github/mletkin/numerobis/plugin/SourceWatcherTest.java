@@ -0,0 +1,86 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SourceWatcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path root;
+
+    private SourceWatcher watcher;
+
+    @BeforeEach
+    void watch() throws IOException {
+        Files.createDirectories(root.resolve("a"));
+        Files.writeString(root.resolve("a/Foo.java"), "class Foo {}");
+        watcher = new SourceWatcher(List.of(root, root.resolve("missing")), Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        watcher.close();
+    }
+
+    @Test
+    void reportsChangedJavaFile() throws Exception {
+        Files.writeString(root.resolve("a/Foo.java"), "class Foo { int x; }");
+        Files.writeString(root.resolve("a/readme.txt"), "text");
+
+        assertThat(watcher.next(TIMEOUT)).containsExactly(root.resolve("a/Foo.java"));
+    }
+
+    @Test
+    void burstIsReportedOnce() throws Exception {
+        for (var n = 0; n < 5; n++) {
+            Files.writeString(root.resolve("a/Foo.java"), "class Foo { int x" + n + "; }");
+        }
+        Files.writeString(root.resolve("Bar.java"), "class Bar {}");
+
+        assertThat(watcher.next(TIMEOUT)).containsExactlyInAnyOrder(root.resolve("a/Foo.java"),
+                root.resolve("Bar.java"));
+        assertThat(watcher.next(Duration.ofMillis(200))).isEmpty();
+    }
+
+    @Test
+    void watchesNewDirectories() throws Exception {
+        Files.createDirectories(root.resolve("b/c"));
+        Files.writeString(root.resolve("b/c/Baz.java"), "class Baz {}");
+        assertThat(watcher.next(TIMEOUT)).contains(root.resolve("b/c/Baz.java"));
+
+        Files.writeString(root.resolve("b/c/Baz.java"), "class Baz { int x; }");
+        assertThat(watcher.next(TIMEOUT)).containsExactly(root.resolve("b/c/Baz.java"));
+    }
+
+    @Test
+    void timeoutWithoutChangeIsEmpty() throws Exception {
+        assertThat(watcher.next(Duration.ofMillis(50))).isEmpty();
+    }
+}
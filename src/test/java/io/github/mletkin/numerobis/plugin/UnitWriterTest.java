@@ -0,0 +1,153 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+class UnitWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void fileIsWrittenWithParentDirectories() throws IOException {
+        var writer = UnitWriter.synchronous();
+        var file = dir.resolve("foo/bar/Foo.java");
+
+        writer.write(file, "foo".getBytes());
+
+        assertThat(file).hasContent("foo");
+        assertThat(file.getParent().toFile().list()).containsExactly("Foo.java");
+        assertThat(writer.writtenFiles()).isEqualTo(1);
+    }
+
+    @Test
+    void existingFileIsReplaced() throws IOException {
+        var writer = UnitWriter.synchronous();
+        var file = Files.writeString(dir.resolve("Foo.java"), "old");
+
+        writer.write(file, "new".getBytes());
+
+        assertThat(file).hasContent("new");
+        assertThat(dir.toFile().list()).containsExactly("Foo.java");
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void symbolicLinkIsFollowed() throws IOException {
+        var writer = UnitWriter.synchronous();
+        var file = Files.writeString(dir.resolve("Foo.txt"), "old");
+        var link = Files.createSymbolicLink(dir.resolve("Foo.java"), file.getFileName());
+
+        writer.write(link, "new".getBytes());
+
+        assertThat(Files.isSymbolicLink(link)).isTrue();
+        assertThat(file).hasContent("new");
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void permissionsAreKept() throws IOException {
+        var writer = UnitWriter.synchronous();
+        var file = Files.writeString(dir.resolve("Foo.java"), "old");
+        var permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(file, permissions);
+
+        writer.write(file, "new".getBytes());
+
+        assertThat(file).hasContent("new");
+        assertThat(Files.getPosixFilePermissions(file)).isEqualTo(permissions);
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void hardLinkIsKept() throws IOException {
+        var writer = UnitWriter.synchronous();
+        var file = Files.writeString(dir.resolve("Foo.java"), "old");
+        var link = Files.createLink(dir.resolve("Bar.java"), file);
+
+        writer.write(file, "new".getBytes());
+
+        assertThat(link).hasContent("new");
+        assertThat(dir.toFile().list()).containsExactlyInAnyOrder("Foo.java", "Bar.java");
+    }
+
+    @Test
+    void unchangedFileIsNotTouched() throws IOException {
+        var writer = UnitWriter.synchronous();
+        var file = Files.writeString(dir.resolve("Foo.java"), "foo");
+        var modified = FileTime.fromMillis(1_000_000);
+        Files.setLastModifiedTime(file, modified);
+
+        writer.write(file, "foo".getBytes());
+
+        assertThat(Files.getLastModifiedTime(file)).isEqualTo(modified);
+        assertThat(writer.unchangedFiles()).isEqualTo(1);
+        assertThat(writer.writtenFiles()).isZero();
+    }
+
+    @Test
+    void flushWaitsForConcurrentTasks() {
+        var count = new AtomicInteger();
+        try (var writer = UnitWriter.concurrent(2)) {
+            for (int n = 0; n < 1000; n++) {
+                writer.submit(() -> {
+                    writer.write(dir.resolve("d" + count.get() % 7).resolve("F" + count.incrementAndGet()), //
+                            "x".getBytes());
+                });
+            }
+            writer.flush();
+
+            assertThat(count).hasValue(1000);
+            assertThat(writer.writtenFiles()).isEqualTo(1000);
+        }
+    }
+
+    @Test
+    void flushThrowsExceptionOfTask() {
+        var writer = UnitWriter.concurrent(1);
+        writer.submit(() -> {
+            throw new IllegalStateException("failed");
+        });
+
+        assertThatThrownBy(writer::flush).isInstanceOf(IllegalStateException.class).hasMessage("failed");
+        writer.close();
+    }
+
+    @Test
+    void flushThrowsErrorOfTask() {
+        var writer = UnitWriter.concurrent(1);
+        writer.submit(() -> {
+            throw new AssertionError("failed");
+        });
+
+        assertThatThrownBy(writer::flush).isInstanceOf(AssertionError.class).hasMessage("failed");
+        writer.close();
+    }
+}
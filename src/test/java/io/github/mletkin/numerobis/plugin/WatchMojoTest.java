@@ -0,0 +1,79 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.mletkin.numerobis.plugin.AbstractGeneratorMojo.Creation;
+import io.github.mletkin.numerobis.plugin.AbstractGeneratorMojo.Location;
+
+class WatchMojoTest {
+
+    private static final String PRODUCT = "package foo;\n" //
+            + "import io.github.mletkin.numerobis.annotation.GenerateBuilder;\n" //
+            + "@GenerateBuilder\n" //
+            + "public class Foo {\n" //
+            + "    int x;\n" //
+            + "}\n";
+
+    @TempDir
+    Path dir;
+
+    private WatchMojo mojo = new WatchMojo();
+    private Processor processor = new Processor(new MojoSettings.Builder() //
+            .withBuilderCreation(Creation.FACTORY) //
+            .withBuilderLocation(Location.EMBEDDED) //
+            .withNamingSettings(Naming.DEFAULT) //
+            .build());
+
+    @Test
+    void invalidFileIsSkippedAndProcessedAfterTheNextChange() throws IOException {
+        var file = Files.writeString(dir.resolve("Foo.java"), PRODUCT.replace("int x;", "int x"));
+
+        assertThat(mojo.process(processor, List.of(file))).isEqualTo(1);
+
+        Files.writeString(file, PRODUCT);
+
+        assertThat(mojo.process(processor, List.of(file))).isZero();
+        assertThat(Files.readString(file)).contains("public Builder withX(int x)");
+    }
+
+    @Test
+    void otherFilesOfTheChangeAreProcessed() throws IOException {
+        var invalid = Files.writeString(dir.resolve("Bar.java"), //
+                PRODUCT.replace("Foo", "Bar").replace("int x;", "int x"));
+        var valid = Files.writeString(dir.resolve("Foo.java"), PRODUCT);
+
+        assertThat(mojo.process(processor, List.of(invalid, valid))).isEqualTo(1);
+        assertThat(Files.readString(valid)).contains("public static Builder of()");
+    }
+
+    @Test
+    void generatorErrorIsSkipped() throws IOException {
+        var file = Files.writeString(dir.resolve("Foo.java"),
+                PRODUCT.replace("int x;", "int x;\n    public static class Builder { String product; }"));
+
+        assertThat(mojo.process(processor, List.of(file))).isEqualTo(1);
+    }
+}
@@ -0,0 +1,410 @@
+/**
+ * (c) 2026 by Ullrich Rieger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.mletkin.numerobis.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BuilderProcessorTest {
+
+    @TempDir
+    Path dir;
+
+    private String messages;
+
+    @Test
+    void generatesFactoryMethods() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "import io.github.mletkin.numerobis.annotation.GenerateBuilder;\n" //
+                + "import io.github.mletkin.numerobis.annotation.Ignore;\n" //
+                + "@GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    int x;\n" //
+                + "    @Ignore int y;\n" //
+                + "    private int z;\n" //
+                + "    public int x() { return x; }\n" //
+                + "}\n");
+
+        assertThat(compile()).as(messages).isTrue();
+        var builder = generated("foo/FooBuilder.java");
+        assertThat(builder).contains("public static FooBuilder of()", "public FooBuilder withX(int x)") //
+                .doesNotContain("withY", "withZ", "public FooBuilder(");
+        assertThat(build("foo.FooBuilder", "of", "withX", 5)).extracting("x").isEqualTo(5);
+    }
+
+    @Test
+    void generatesConstructorsWithNamingSettings() throws Exception {
+        source("Foo.java", "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "@io.github.mletkin.numerobis.annotation.Mutable\n" //
+                + "public class Foo {\n" //
+                + "    int x;\n" //
+                + "    public int x() { return x; }\n" //
+                + "}\n");
+
+        assertThat(compile("-Anumerobis.builderCreation=CONSTRUCTOR", "-Anumerobis.naming.mutatorPrefix=set",
+                "-Anumerobis.naming.builderClassPostfix=Maker")).as(messages).isTrue();
+        assertThat(generated("FooMaker.java")) //
+                .contains("public FooMaker()", "public FooMaker(Foo product)", "public FooMaker setX(int x)") //
+                .doesNotContain("static");
+    }
+
+    @Test
+    void generatesRecordBuilder() throws Exception {
+        source("foo/Point.java", "package foo;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public record Point(int x, int y) {\n" //
+                + "}\n");
+
+        assertThat(compile()).as(messages).isTrue();
+        assertThat(build("foo.PointBuilder", null, "withY", 7)).hasToString("Point[x=0, y=7]");
+    }
+
+    @Test
+    void generatesListAdderAndMutatorVariants() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "import java.util.ArrayList;\n" //
+                + "import java.util.List;\n" //
+                + "import io.github.mletkin.numerobis.annotation.*;\n" //
+                + "@GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    List<String> names = new ArrayList<>();\n" //
+                + "    @GenerateAdder(variants = GenerateAdder.Variant.VARARG)\n" //
+                + "    @GenerateListMutator(variants = GenerateListMutator.Variant.NONE)\n" //
+                + "    List<Integer> values = new ArrayList<>();\n" //
+                + "}\n");
+
+        assertThat(compile("-Anumerobis.listMutatorVariants=OBJECT,STREAM")).as(messages).isTrue();
+        assertThat(generated("foo/FooBuilder.java")).contains( //
+                "withNames(java.util.List<java.lang.String> names)", //
+                "withNames(java.util.stream.Stream<java.lang.String> items)", //
+                "addName(java.lang.String item)", //
+                "addValue(java.lang.Integer... items)") //
+                .doesNotContain("withValues", "addValue(java.lang.Integer item)");
+        assertThat(build("foo.FooBuilder", "of", "addName", "a")).extracting("names").asList().containsExactly("a");
+    }
+
+    @Test
+    void generatesDirectCopies() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "import java.util.List;\n" //
+                + "import io.github.mletkin.numerobis.annotation.*;\n" //
+                + "@GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    List<String> names;\n" //
+                + "}\n");
+
+        assertThat(compile("-Anumerobis.listMutatorVariants=VARARG", "-Anumerobis.listMutatorCopy=direct")) //
+                .as(messages).isTrue();
+        assertThat(generated("foo/FooBuilder.java")) //
+                .contains("names = new java.util.ArrayList<>(items.length);", //
+                        "java.util.Collections.addAll(product.names, items);");
+        assertThat(build("foo.FooBuilder", "of", "withNames", new String[] { "a", "b" })).extracting("names")
+                .asList().containsExactly("a", "b");
+    }
+
+    @Test
+    void generatesBulkAdders() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "import java.util.ArrayList;\n" //
+                + "import java.util.List;\n" //
+                + "import io.github.mletkin.numerobis.annotation.*;\n" //
+                + "@GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    ArrayList<String> names = new ArrayList<>();\n" //
+                + "    @GenerateAdder(variants = GenerateAdder.Variant.VARARG, style = GenerateAdder.Style.STREAM)\n" //
+                + "    List<String> keys = new ArrayList<>();\n" //
+                + "}\n");
+
+        assertThat(compile("-Anumerobis.listAdderVariants=VARARG", "-Anumerobis.listAdderStyle=bulk")) //
+                .as(messages).isTrue();
+        assertThat(generated("foo/FooBuilder.java")).contains( //
+                "product.names.ensureCapacity(product.names.size() + items.length);", //
+                "java.util.Collections.addAll(product.names, items);", //
+                "java.util.stream.Stream.of(items).forEach(product.keys::add);");
+        assertThat(build("foo.FooBuilder", "of", "addName", new String[] { "a", "b" })).extracting("names")
+                .asList().containsExactly("a", "b");
+    }
+
+    @Test
+    void adderStyleUsesConfiguredVariants() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "import java.util.ArrayList;\n" //
+                + "import java.util.List;\n" //
+                + "import io.github.mletkin.numerobis.annotation.*;\n" //
+                + "@GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    @GenerateAdder(style = GenerateAdder.Style.BULK)\n" //
+                + "    List<String> keys = new ArrayList<>();\n" //
+                + "}\n");
+
+        assertThat(compile("-Anumerobis.listAdderVariants=VARARG")).as(messages).isTrue();
+        assertThat(generated("foo/FooBuilder.java")) //
+                .contains("java.util.Collections.addAll(product.keys, items);") //
+                .doesNotContain("addKey(java.lang.String item)");
+    }
+
+    @Test
+    void generatesFreezingBuildMethod() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "import java.util.List;\n" //
+                + "import java.util.Set;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    List<String> names;\n" //
+                + "    Set<String> keys;\n" //
+                + "}\n");
+
+        assertThat(compile("-Anumerobis.freezeImmutableProducts=true", "-Anumerobis.naming.productField=result")) //
+                .as(messages).isTrue();
+        assertThat(generated("foo/FooBuilder.java")).contains( //
+                "result.names = result.names != null ? "
+                        + "java.util.Collections.unmodifiableList(new java.util.ArrayList<>(result.names)) : null;", //
+                "result.keys = result.keys != null ? "
+                        + "java.util.Collections.unmodifiableSet(new java.util.LinkedHashSet<>(result.keys)) : null;", //
+                "Foo builtResult = result;", //
+                "result = null;");
+        assertThat(build("foo.FooBuilder", "of", "withNames", new ArrayList<>(Arrays.asList("a", null))))
+                .extracting("names").isEqualTo(Arrays.asList("a", null)).isNotInstanceOf(ArrayList.class);
+        try (var loader = new URLClassLoader(new java.net.URL[] { dir.resolve("classes").toUri().toURL() })) {
+            var type = loader.loadClass("foo.FooBuilder");
+            var builder = type.getMethod("of").invoke(null);
+            type.getMethod("build").invoke(builder);
+
+            assertThatThrownBy(() -> type.getMethod("build").invoke(builder)) //
+                    .extracting(Throwable::getCause) //
+                    .isInstanceOf(IllegalStateException.class) //
+                    .extracting(Throwable::getMessage) //
+                    .isEqualTo("product already built");
+            assertThatThrownBy(() -> type.getMethod("withNames", List.class).invoke(builder, List.of())) //
+                    .extracting(Throwable::getCause) //
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void generatesPooledBuilders() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    String name;\n" //
+                + "}\n");
+        source("foo/Bar.java", "package foo;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public record Bar(int x, String y) {}\n");
+
+        assertThat(compile("-Anumerobis.pooledBuilders=true", "-Anumerobis.naming.poolField=BUILDERS")) //
+                .as(messages).isTrue();
+        assertThat(generated("foo/FooBuilder.java")).contains( //
+                "private static final ThreadLocal<FooBuilder> BUILDERS = new ThreadLocal<>();", //
+                "FooBuilder builder = BUILDERS.get();", //
+                "public FooBuilder reset() {", //
+                "return builder.reset();");
+        assertThat(generated("foo/BarBuilder.java")).contains("this.x = 0;", "this.y = null;");
+        try (var loader = new URLClassLoader(new java.net.URL[] { dir.resolve("classes").toUri().toURL() })) {
+            var type = loader.loadClass("foo.FooBuilder");
+            var builder = type.getMethod("pooled").invoke(null);
+            type.getMethod("withName", String.class).invoke(builder, "a");
+            var first = type.getMethod("build").invoke(builder);
+
+            assertThat(type.getMethod("pooled").invoke(null)).isSameAs(builder);
+            assertThat(type.getMethod("build").invoke(builder)).isNotSameAs(first).extracting("name").isNull();
+            assertThat(first).extracting("name").isEqualTo("a");
+        }
+    }
+
+    @Test
+    void generatesArrayAdders() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    int[] values = { 1 };\n" //
+                + "}\n");
+
+        assertThat(compile("-Anumerobis.arrayAdders=true", "-Anumerobis.listAdderVariants=ITEM,VARARG")) //
+                .as(messages).isTrue();
+        assertThat(generated("foo/FooBuilder.java")).contains( //
+                "valuesBuffer[valuesCount++] = item;", //
+                "System.arraycopy(items, 0, valuesBuffer, valuesCount, items.length);", //
+                "flushValues();");
+        try (var loader = new URLClassLoader(new java.net.URL[] { dir.resolve("classes").toUri().toURL() })) {
+            var type = loader.loadClass("foo.FooBuilder");
+            var builder = type.getMethod("of").invoke(null);
+            for (int n = 2; n <= 10; n++) {
+                type.getMethod("addValue", int.class).invoke(builder, n);
+            }
+            type.getMethod("addValue", int[].class).invoke(builder, new int[] { 11, 12 });
+
+            assertThat(type.getMethod("build").invoke(builder)).extracting("values")
+                    .isEqualTo(new int[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 });
+        }
+    }
+
+    @Test
+    void skipsArrayAddersForGenericComponents() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "import java.util.List;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    String[] names;\n" //
+                + "    List<String>[] lists;\n" //
+                + "}\n");
+
+        assertThat(compile("-Anumerobis.arrayAdders=true")).as(messages).isTrue();
+        assertThat(generated("foo/FooBuilder.java")).contains("addName(java.lang.String item)") //
+                .doesNotContain("addList", "listsBuffer");
+    }
+
+    @Test
+    void keepsHandWrittenBuilder() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    int x;\n" //
+                + "}\n");
+        source("foo/FooBuilder.java", "package foo;\n" //
+                + "public class FooBuilder {\n" //
+                + "}\n");
+
+        assertThat(compile()).as(messages).isTrue();
+        assertThat(messages).contains("builder foo.FooBuilder exists and is not generated");
+        assertThat(dir.resolve("generated/foo/FooBuilder.java")).doesNotExist();
+    }
+
+    @Test
+    void replacesBuilderOfEarlierCompilation() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    int x;\n" //
+                + "}\n");
+        assertThat(compile()).as(messages).isTrue();
+        source("foo/Foo.java", "package foo;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    int y;\n" //
+                + "}\n");
+
+        assertThat(compile()).as(messages).isTrue();
+        assertThat(messages).doesNotContain("exists and is not generated");
+        assertThat(generated("foo/FooBuilder.java")).contains("withY").doesNotContain("withX");
+    }
+
+    @Test
+    void replacesGeneratedBuilderOnSourcePath() throws Exception {
+        source("foo/Foo.java", "package foo;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    int x;\n" //
+                + "}\n");
+        assertThat(compile()).as(messages).isTrue();
+        source("foo/Foo.java", "package foo;\n" //
+                + "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    int y;\n" //
+                + "}\n");
+
+        assertThat(compile("-sourcepath", dir.resolve("generated").toString(), "-Xprefer:source")).as(messages)
+                .isTrue();
+        assertThat(messages).doesNotContain("exists and is not generated");
+        assertThat(generated("foo/FooBuilder.java")).contains("withY").doesNotContain("withX");
+    }
+
+    @Test
+    void reportsProductWithoutUsableConstructor() throws IOException {
+        source("Foo.java", "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "    private Foo() {}\n" //
+                + "}\n");
+
+        assertThat(compile()).isFalse();
+        assertThat(messages).contains("No suitable constructor found.");
+    }
+
+    @Test
+    void reportsInvalidOption() throws IOException {
+        source("Foo.java", "@io.github.mletkin.numerobis.annotation.GenerateBuilder\n" //
+                + "public class Foo {\n" //
+                + "}\n");
+
+        assertThat(compile("-Anumerobis.builderCreation=MAGIC")).isFalse();
+        assertThat(messages).contains("invalid builder option: unknown builder creation MAGIC");
+    }
+
+    private void source(String name, String content) throws IOException {
+        var file = dir.resolve("src").resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private boolean compile(String... options) throws IOException {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var output = new StringWriter();
+        try (var fileManager = compiler.getStandardFileManager(null, null, null)) {
+            List<File> files;
+            try (var walk = Files.walk(dir.resolve("src"))) {
+                files = walk.filter(Files::isRegularFile).map(Path::toFile).toList();
+            }
+            Files.createDirectories(dir.resolve("classes"));
+            Files.createDirectories(dir.resolve("generated"));
+            var arguments = new ArrayList<>(List.of(options));
+            var classpath = System.getProperty("java.class.path") + File.pathSeparator + dir.resolve("classes");
+            arguments.addAll(List.of("-classpath", classpath, //
+                    "-d", dir.resolve("classes").toString(), //
+                    "-s", dir.resolve("generated").toString()));
+            var task = compiler.getTask(output, fileManager, null, arguments, null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(List.of(new BuilderProcessor()));
+            var success = task.call();
+            messages = output.toString();
+            return success;
+        }
+    }
+
+    private String generated(String name) throws IOException {
+        return Files.readString(dir.resolve("generated").resolve(name));
+    }
+
+    /**
+     * Creates a builder, calls one mutator and builds the product.
+     */
+    private Object build(String builderClass, String factoryMethod, String mutator, Object value) throws Exception {
+        try (var loader = new URLClassLoader(new java.net.URL[] { dir.resolve("classes").toUri().toURL() })) {
+            var type = loader.loadClass(builderClass);
+            var builder = factoryMethod != null ? type.getMethod(factoryMethod).invoke(null)
+                    : type.getConstructor().newInstance();
+            var method = List.of(type.getMethods()).stream() //
+                    .filter(m -> m.getName().equals(mutator) && m.getParameterCount() == 1) //
+                    .findFirst().orElseThrow();
+            method.invoke(builder, value);
+            return type.getMethod("build").invoke(builder);
+        }
+    }
+}
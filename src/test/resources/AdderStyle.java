@@ -0,0 +1,11 @@
+import java.util.ArrayList;
+import java.util.List;
+public class AdderStyle {
+    @GenerateAdder(variants = {Variant.VARARG}, style = Style.BULK)
+    List<String> names;
+    ArrayList<String> values;
+    @GenerateAdder(variants = {Variant.VARARG}, style = Style.STREAM)
+    List<String> keys;
+    @GenerateAdder(style = Style.BULK)
+    List<String> tags;
+}
@@ -0,0 +1,7 @@
+public class ArrayAdder {
+    int[] values;
+    String[] names;
+    @GenerateAdder(variants = {Variant.NONE})
+    long[] ignored;
+    int[][] matrix;
+}
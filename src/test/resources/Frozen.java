@@ -0,0 +1,12 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+public class Frozen {
+    List<String> names;
+    Set<String> keys;
+    Collection<String> values;
+    ArrayList<String> items;
+    final List<String> fixed = new ArrayList<>();
+    String name;
+}
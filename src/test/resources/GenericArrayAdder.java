@@ -0,0 +1,7 @@
+import java.util.List;
+
+public class GenericArrayAdder<T> {
+    String[] names;
+    List<String>[] lists;
+    T[] items;
+}
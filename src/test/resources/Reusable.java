@@ -0,0 +1,7 @@
+public class Reusable {
+    int x;
+
+    public Reusable() { }
+
+    public Reusable(int x) { this.x = x; }
+}
@@ -0,0 +1,2 @@
+public record ReusableRecord(int x, boolean flag, String name) {
+}